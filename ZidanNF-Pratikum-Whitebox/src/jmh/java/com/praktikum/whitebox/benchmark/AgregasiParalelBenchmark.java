@@ -0,0 +1,92 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Skala agregasi paralel ServiceInventaris terhadap jumlah thread pool.
+// Repository dibungkus tanpa AgregatInventaris agar service benar-benar
+// memindai katalog (jalur yang dipakai repository tanpa agregat bertahap).
+// jumlahThread = 0 berarti jalur sekuensial.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class AgregasiParalelBenchmark {
+    @Param({"1000000", "10000000"})
+    public int ukuranKatalog;
+
+    @Param({"0", "2", "4", "8", "16"})
+    public int jumlahThread;
+
+    private ServiceInventaris service;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void siapkanKatalog() {
+        RepositoryProdukMemori memori = new RepositoryProdukMemori();
+        for (int i = 0; i < ukuranKatalog; i++) {
+            Produk produk = new Produk(String.format("SKU%08d", i), "Produk Benchmark", "Umum",
+                    1000 + (i % 100), i % 50, 10);
+            produk.setAktif(i % 10 != 0);
+            memori.simpan(produk);
+        }
+        service = new ServiceInventaris(new TanpaAgregat(memori));
+        if (jumlahThread > 0) {
+            pool = new ForkJoinPool(jumlahThread);
+            service.setPoolAgregasi(pool);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tutupPool() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public long hitungTotalNilaiInventarisMinor() {
+        return service.hitungTotalNilaiInventarisMinor();
+    }
+
+    @Benchmark
+    public int hitungTotalStok() {
+        return service.hitungTotalStok();
+    }
+
+    private record TanpaAgregat(RepositoryProdukMemori memori) implements RepositoryProduk {
+        public boolean simpan(Produk produk) { return memori.simpan(produk); }
+        public Optional<Produk> cariByKode(String kode) { return memori.cariByKode(kode); }
+        public List<Produk> cariByNama(String nama) { return memori.cariByNama(nama); }
+        public List<Produk> cariByKategori(String kategori) { return memori.cariByKategori(kategori); }
+        public List<Produk> cariProdukStokMenipis() { return memori.cariProdukStokMenipis(); }
+        public List<Produk> cariProdukStokHabis() { return memori.cariProdukStokHabis(); }
+        public boolean hapus(String kode) { return memori.hapus(kode); }
+        public boolean updateStok(String kode, int stokBaru) { return memori.updateStok(kode, stokBaru); }
+        public List<Produk> cariSemua() { return memori.cariSemua(); }
+        public Stream<Produk> streamSemua() { return memori.streamSemua(); }
+    }
+}
@@ -0,0 +1,77 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProdukKolom;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import com.praktikum.whitebox.util.Uang;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Pemindaian penuh total nilai dan total stok: objek Produk di heap
+// (stream RepositoryProdukMemori) dibanding kolom primitif RepositoryProdukKolom.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+@State(Scope.Benchmark)
+public class AgregatKolomBenchmark {
+    @Param({"1000000", "5000000"})
+    public int ukuranKatalog;
+
+    private RepositoryProdukMemori memori;
+    private RepositoryProdukKolom kolom;
+
+    @Setup(Level.Trial)
+    public void siapkanKatalog() {
+        memori = new RepositoryProdukMemori();
+        kolom = new RepositoryProdukKolom();
+        for (int i = 0; i < ukuranKatalog; i++) {
+            String kode = String.format("SKU%07d", i);
+            Produk produk = new Produk(kode, "Produk Benchmark", "Umum", 1000 + (i % 100), i % 50, 10);
+            // Sekitar 1 dari 10 produk non-aktif
+            produk.setAktif(i % 10 != 0);
+            memori.simpan(produk);
+            kolom.simpan(produk);
+        }
+    }
+
+    @Benchmark
+    public long totalNilaiObjek() {
+        try (Stream<Produk> semua = memori.streamSemua()) {
+            return semua.filter(Produk::isAktif)
+                    .mapToLong(p -> Uang.kali(p.getHargaMinor(), p.getStok()))
+                    .reduce(0L, Uang::tambah);
+        }
+    }
+
+    @Benchmark
+    public long totalNilaiKolom() {
+        return kolom.totalNilaiAktifMinor();
+    }
+
+    @Benchmark
+    public long totalStokObjek() {
+        try (Stream<Produk> semua = memori.streamSemua()) {
+            return semua.filter(Produk::isAktif).mapToLong(Produk::getStok).sum();
+        }
+    }
+
+    @Benchmark
+    public long totalStokKolom() {
+        return kolom.totalStokAktif();
+    }
+}
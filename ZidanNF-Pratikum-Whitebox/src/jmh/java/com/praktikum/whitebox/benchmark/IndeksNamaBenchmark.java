@@ -0,0 +1,65 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.IndeksNama;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Latensi pencarian nama (substring dan awalan, batas 20 hasil) pada katalog
+// hingga 5M produk. Nama dibentuk dari kombinasi kata + nomor seri agar
+// ada query yang umum (banyak cocok) maupun yang jarang.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class IndeksNamaBenchmark {
+    private static final String[] JENIS = {"Mouse", "Laptop", "Keyboard", "Monitor", "Meja", "Kursi", "Lampu", "Kabel"};
+    private static final String[] SIFAT = {"Wireless", "Gaming", "Kantor", "Kayu", "Mini", "Pro", "Lipat", "Hemat"};
+    private static final int BATAS = 20;
+
+    @Param({"100000", "5000000"})
+    public int ukuranKatalog;
+
+    private IndeksNama indeks;
+
+    @Setup(Level.Trial)
+    public void siapkanIndeks() {
+        indeks = new IndeksNama();
+        for (int i = 0; i < ukuranKatalog; i++) {
+            String nama = JENIS[i % JENIS.length] + " " + SIFAT[(i / JENIS.length) % SIFAT.length] + " " + i;
+            indeks.tambah(new Produk(String.format("SKU%07d", i), nama, "Umum", 1000, 10, 5));
+        }
+    }
+
+    @Benchmark
+    public List<Produk> substringUmum() {
+        return indeks.cariSubstring("wireless", BATAS);
+    }
+
+    @Benchmark
+    public List<Produk> substringJarang() {
+        // Nomor seri acak: hanya sedikit nama yang cocok
+        return indeks.cariSubstring(" " + ThreadLocalRandom.current().nextInt(ukuranKatalog), BATAS);
+    }
+
+    @Benchmark
+    public List<Produk> awalan() {
+        return indeks.cariAwalan("keyboard ga", BATAS);
+    }
+}
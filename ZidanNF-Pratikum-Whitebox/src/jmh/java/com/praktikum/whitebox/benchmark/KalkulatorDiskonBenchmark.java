@@ -0,0 +1,43 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.service.KalkulatorDiskon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class KalkulatorDiskonBenchmark {
+    private final KalkulatorDiskon kalkulator = new KalkulatorDiskon();
+
+    @Param({"PREMIUM", "reguler", "LAINNYA"})
+    public String tipePelanggan;
+
+    @Param({"3", "60"})
+    public int kuantitas;
+
+    public double harga = 125000.0;
+
+    @Benchmark
+    public double hitungDiskon() {
+        return kalkulator.hitungDiskon(harga, kuantitas, tipePelanggan);
+    }
+
+    @Benchmark
+    public double hitungHargaSetelahDiskon() {
+        return kalkulator.hitungHargaSetelahDiskon(harga, kuantitas, tipePelanggan);
+    }
+}
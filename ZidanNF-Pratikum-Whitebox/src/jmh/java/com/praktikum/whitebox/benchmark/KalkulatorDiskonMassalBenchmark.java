@@ -0,0 +1,69 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.service.KalkulatorDiskon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Reprice satu batch: hitungDiskon per baris vs hitungDiskonMassal
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class KalkulatorDiskonMassalBenchmark {
+    private static final String[] TIPE = {"PREMIUM", "REGULER", "BARU", "LAINNYA"};
+
+    @Param({"1000", "100000"})
+    public int jumlahBaris;
+
+    private final KalkulatorDiskon kalkulator = new KalkulatorDiskon();
+    private double[] harga;
+    private int[] kuantitas;
+    private int[] kodeTipe;
+    private String[] namaTipe;
+    private double[] keluaran;
+
+    @Setup(Level.Trial)
+    public void siapkanData() {
+        Random random = new Random(7);
+        harga = new double[jumlahBaris];
+        kuantitas = new int[jumlahBaris];
+        kodeTipe = new int[jumlahBaris];
+        namaTipe = new String[jumlahBaris];
+        keluaran = new double[jumlahBaris];
+        for (int i = 0; i < jumlahBaris; i++) {
+            harga[i] = 1000 + random.nextInt(100_000);
+            kuantitas[i] = 1 + random.nextInt(150);
+            namaTipe[i] = TIPE[random.nextInt(TIPE.length)];
+            kodeTipe[i] = kalkulator.getAturan().kodeTipe(namaTipe[i]);
+        }
+    }
+
+    @Benchmark
+    public double[] skalarPerBaris() {
+        for (int i = 0; i < jumlahBaris; i++) {
+            keluaran[i] = kalkulator.hitungDiskon(harga[i], kuantitas[i], namaTipe[i]);
+        }
+        return keluaran;
+    }
+
+    @Benchmark
+    public double[] massal() {
+        kalkulator.hitungDiskonMassal(harga, kuantitas, kodeTipe, keluaran);
+        return keluaran;
+    }
+}
@@ -0,0 +1,66 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import com.praktikum.whitebox.repository.RepositoryProdukTerukur;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import com.praktikum.whitebox.util.MetrikInventarisHistogram;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Biaya instrumentasi pada keluarStok: tanpa metrik (NOOP), metrik dengan
+// periode sampel bawaan (~1/256) dan metrik yang mengukur setiap panggilan.
+// Selisih terhadap "mati" adalah overhead per panggilan (service + repository).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetrikInventarisBenchmark {
+    private static final int JUMLAH_PRODUK = 10_000;
+
+    @Param({"mati", "bawaan", "semua"})
+    public String mode;
+
+    private ServiceInventaris service;
+    private String[] daftarKode;
+
+    @Setup(Level.Trial)
+    public void siapkan() {
+        RepositoryProdukMemori memori = new RepositoryProdukMemori();
+        daftarKode = new String[JUMLAH_PRODUK];
+        for (int i = 0; i < JUMLAH_PRODUK; i++) {
+            daftarKode[i] = String.format("SKU%07d", i);
+            memori.simpan(new Produk(daftarKode[i], "Produk Benchmark", "Umum", 1000, 1_000_000_000, 10));
+        }
+        if (mode.equals("mati")) {
+            service = new ServiceInventaris(memori);
+            return;
+        }
+        MetrikInventarisHistogram metrik = mode.equals("semua") ? new MetrikInventarisHistogram(1) : new MetrikInventarisHistogram();
+        RepositoryProduk repository = new RepositoryProdukTerukur(memori, metrik);
+        service = new ServiceInventaris(repository);
+        service.setMetrik(metrik);
+    }
+
+    @Benchmark
+    public boolean keluarStok() {
+        String kode = daftarKode[ThreadLocalRandom.current().nextInt(JUMLAH_PRODUK)];
+        return service.keluarStok(kode, 1);
+    }
+}
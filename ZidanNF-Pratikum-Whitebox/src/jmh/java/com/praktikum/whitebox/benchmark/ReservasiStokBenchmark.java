@@ -0,0 +1,65 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.Reservasi;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import com.praktikum.whitebox.service.ReservasiStok;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Throughput reservasi + lepas pada 1000 produk dengan roda kedaluwarsa aktif.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ReservasiStokBenchmark {
+    private static final int JUMLAH_PRODUK = 1000;
+    private static final Duration TTL = Duration.ofMinutes(15);
+
+    private ReservasiStok reservasi;
+    private String[] daftarKode;
+
+    @Setup(Level.Trial)
+    public void siapkan() {
+        ServiceInventaris service = ServiceInventaris.konkuren(new RepositoryProdukMemori());
+        daftarKode = new String[JUMLAH_PRODUK];
+        for (int i = 0; i < JUMLAH_PRODUK; i++) {
+            daftarKode[i] = String.format("SKU%04d", i);
+            service.tambahProduk(new Produk(daftarKode[i], "Produk", "Umum", 1000, 1_000_000_000, 10));
+        }
+        reservasi = new ReservasiStok(service, Duration.ofMillis(100));
+        reservasi.mulai();
+    }
+
+    @TearDown(Level.Trial)
+    public void tutup() {
+        reservasi.close();
+    }
+
+    @Benchmark
+    public boolean reservasiLaluLepas() {
+        String kode = daftarKode[ThreadLocalRandom.current().nextInt(JUMLAH_PRODUK)];
+        Optional<Reservasi> hasil = reservasi.reservasi(kode, 1, TTL);
+        return hasil.isPresent() && reservasi.lepas(hasil.get().id());
+    }
+}
@@ -0,0 +1,62 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Jalur panas ServiceInventaris di atas RepositoryProdukMemori untuk
+// berbagai ukuran katalog. Katalog 10M butuh heap besar, lihat jvmArgsAppend.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+@State(Scope.Benchmark)
+public class ServiceInventarisBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int ukuranKatalog;
+
+    private ServiceInventaris service;
+    private String[] daftarKode;
+
+    @Setup(Level.Trial)
+    public void siapkanKatalog() {
+        RepositoryProdukMemori repository = new RepositoryProdukMemori();
+        daftarKode = new String[ukuranKatalog];
+        for (int i = 0; i < ukuranKatalog; i++) {
+            daftarKode[i] = String.format("SKU%07d", i);
+            // Stok besar agar keluarStok tidak pernah kehabisan selama pengukuran
+            repository.simpan(new Produk(daftarKode[i], "Produk Benchmark", "Umum",
+                    1000 + (i % 100), 1_000_000_000, 10));
+        }
+        service = new ServiceInventaris(repository);
+    }
+
+    @Benchmark
+    public boolean keluarStok() {
+        String kode = daftarKode[ThreadLocalRandom.current().nextInt(daftarKode.length)];
+        return service.keluarStok(kode, 1);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double hitungTotalNilaiInventaris() {
+        return service.hitungTotalNilaiInventaris();
+    }
+}
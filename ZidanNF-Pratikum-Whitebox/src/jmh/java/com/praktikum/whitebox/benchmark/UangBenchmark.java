@@ -0,0 +1,86 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.util.Uang;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Total harga x stok dan diskon 15% untuk satu katalog, dalam tiga representasi:
+// double (cepat, bergeser), long fixed-point (Uang) dan BigDecimal (eksak, lambat)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UangBenchmark {
+    private static final BigDecimal DISKON = new BigDecimal("0.15");
+
+    @Param({"10000"})
+    public int jumlahProduk;
+
+    private double[] hargaDouble;
+    private long[] hargaMinor;
+    private BigDecimal[] hargaBigDecimal;
+    private int[] stok;
+
+    @Setup(Level.Trial)
+    public void siapkanData() {
+        Random random = new Random(3);
+        hargaDouble = new double[jumlahProduk];
+        hargaMinor = new long[jumlahProduk];
+        hargaBigDecimal = new BigDecimal[jumlahProduk];
+        stok = new int[jumlahProduk];
+        for (int i = 0; i < jumlahProduk; i++) {
+            hargaMinor[i] = 1 + random.nextInt(10_000_000);
+            hargaDouble[i] = Uang.keMayor(hargaMinor[i]);
+            hargaBigDecimal[i] = BigDecimal.valueOf(hargaMinor[i], Uang.SKALA);
+            stok[i] = random.nextInt(1000);
+        }
+    }
+
+    @Benchmark
+    public double totalDouble() {
+        double total = 0;
+        for (int i = 0; i < jumlahProduk; i++) {
+            double nilai = hargaDouble[i] * stok[i];
+            total += nilai - nilai * 0.15;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long totalFixedPoint() {
+        long total = 0;
+        for (int i = 0; i < jumlahProduk; i++) {
+            long nilai = Uang.kali(hargaMinor[i], stok[i]);
+            total = Uang.tambah(total, nilai - Uang.persen(nilai, 1500));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal totalBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < jumlahProduk; i++) {
+            BigDecimal nilai = hargaBigDecimal[i].multiply(BigDecimal.valueOf(stok[i]));
+            BigDecimal diskon = nilai.multiply(DISKON).setScale(Uang.SKALA, RoundingMode.HALF_UP);
+            total = total.add(nilai.subtract(diskon));
+        }
+        return total;
+    }
+}
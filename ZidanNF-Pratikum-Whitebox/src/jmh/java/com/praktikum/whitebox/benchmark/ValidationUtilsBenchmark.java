@@ -0,0 +1,60 @@
+package com.praktikum.whitebox.benchmark;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.ValidationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// Membandingkan isValidKodeProduk (pindai karakter) dengan versi regex lama.
+// Jalankan dengan -prof gc untuk melihat alokasi per operasi.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidationUtilsBenchmark {
+    private static final Pattern POLA_KODE = Pattern.compile("^[A-Za-z0-9]{3,10}$");
+
+    @Param({"PROD001", "  PROD001  ", "PROD-01"})
+    public String kode;
+
+    private final Produk produk = new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5);
+
+    @Benchmark
+    public boolean pindaiKarakter() {
+        return ValidationUtils.isValidKodeProduk(kode);
+    }
+
+    @Benchmark
+    public boolean regexLama() {
+        if (kode == null || kode.trim().isEmpty()) {
+            return false;
+        }
+        return kode.trim().matches("^[A-Za-z0-9]{3,10}$");
+    }
+
+    @Benchmark
+    public boolean regexTerkompilasi() {
+        if (kode == null || kode.trim().isEmpty()) {
+            return false;
+        }
+        return POLA_KODE.matcher(kode.trim()).matches();
+    }
+
+    @Benchmark
+    public boolean isValidProduk() {
+        return ValidationUtils.isValidProduk(produk);
+    }
+}
@@ -0,0 +1,6 @@
+package com.praktikum.whitebox.model;
+public record HasilMutasiStok(MutasiStok mutasi, StatusMutasi status) {
+    public boolean isBerhasil() {
+        return status == StatusMutasi.BERHASIL;
+    }
+}
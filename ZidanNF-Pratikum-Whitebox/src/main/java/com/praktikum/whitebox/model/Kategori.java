@@ -2,19 +2,25 @@ package com.praktikum.whitebox.model;
 import java.util.Objects;
 public class Kategori {
     private String kode;
+    // Sama seperti Produk: kode terkemas untuk equals/hashCode
+    private long kunciKode;
     private String nama;
     private String deskripsi;
     private boolean aktif;
     public Kategori() {}
     public Kategori(String kode, String nama, String deskripsi) {
         this.kode = kode;
+        this.kunciKode = KodeProduk.kemas(kode);
         this.nama = nama;
         this.deskripsi = deskripsi;
         this.aktif = true;
     }
     // Getters and Setters
     public String getKode() { return kode; }
-    public void setKode(String kode) { this.kode = kode; }
+    public void setKode(String kode) {
+        this.kode = kode;
+        this.kunciKode = KodeProduk.kemas(kode);
+    }
     public String getNama() { return nama; }
     public void setNama(String nama) { this.nama = nama; }
     public String getDeskripsi() { return deskripsi; }
@@ -27,11 +33,14 @@ public class Kategori {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Kategori kategori = (Kategori) o;
+        if (kunciKode != KodeProduk.TIDAK_SAH || kategori.kunciKode != KodeProduk.TIDAK_SAH) {
+            return kunciKode == kategori.kunciKode;
+        }
         return Objects.equals(kode, kategori.kode);
     }
     @Override
     public int hashCode() {
-        return Objects.hash(kode);
+        return kunciKode != KodeProduk.TIDAK_SAH ? Long.hashCode(kunciKode) : Objects.hashCode(kode);
     }
     @Override
     public String toString() {
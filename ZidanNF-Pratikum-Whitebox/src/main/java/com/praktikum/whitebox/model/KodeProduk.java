@@ -0,0 +1,78 @@
+package com.praktikum.whitebox.model;
+// Kode produk/kategori (3-10 karakter ASCII alfanumerik, lihat ValidationUtils)
+// dikemas ke satu long: tiap posisi satu digit basis 63 (0 = akhir kode,
+// 1..62 = '0'-'9', 'A'-'Z', 'a'-'z' sesuai urutan ASCII), karakter pertama
+// paling signifikan. 63^10 < 2^64 sehingga nilainya dibaca sebagai unsigned;
+// urutan unsigned sama dengan urutan String kode, dan kode dengan panjang
+// berbeda tidak pernah bertabrakan. 0 bukan kode yang sah (TIDAK_SAH).
+public record KodeProduk(long nilai) implements Comparable<KodeProduk> {
+    public static final long TIDAK_SAH = 0L;
+    private static final int BASIS = 63;
+    private static final int PANJANG_MAKS = 10;
+    private static final char[] SIMBOL =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+    public KodeProduk {
+        if (nilai == TIDAK_SAH) {
+            throw new IllegalArgumentException("Kode produk tidak valid");
+        }
+    }
+    public static KodeProduk dari(String kode) {
+        return new KodeProduk(kemas(kode));
+    }
+    // Tanpa alokasi; TIDAK_SAH jika kode null, di luar 3-10 karakter atau
+    // memuat karakter selain alfanumerik (termasuk spasi di tepi)
+    public static long kemas(String kode) {
+        if (kode == null || kode.length() < 3 || kode.length() > PANJANG_MAKS) {
+            return TIDAK_SAH;
+        }
+        long nilai = 0;
+        for (int i = 0; i < PANJANG_MAKS; i++) {
+            int digit = 0;
+            if (i < kode.length()) {
+                digit = digit(kode.charAt(i));
+                if (digit == 0) {
+                    return TIDAK_SAH;
+                }
+            }
+            nilai = nilai * BASIS + digit;
+        }
+        return nilai;
+    }
+    public static String buka(long nilai) {
+        char[] hasil = new char[PANJANG_MAKS];
+        int panjang = 0;
+        long pembagi = 1;
+        for (int i = 1; i < PANJANG_MAKS; i++) {
+            pembagi *= BASIS;
+        }
+        for (int i = 0; i < PANJANG_MAKS; i++) {
+            int digit = (int) Long.remainderUnsigned(Long.divideUnsigned(nilai, pembagi), BASIS);
+            if (digit == 0) {
+                break;
+            }
+            hasil[panjang++] = SIMBOL[digit - 1];
+            pembagi /= BASIS;
+        }
+        return new String(hasil, 0, panjang);
+    }
+    private static int digit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 1;
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 11;
+        }
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 37;
+        }
+        return 0;
+    }
+    @Override
+    public int compareTo(KodeProduk lain) {
+        return Long.compareUnsigned(nilai, lain.nilai);
+    }
+    @Override
+    public String toString() {
+        return buka(nilai);
+    }
+}
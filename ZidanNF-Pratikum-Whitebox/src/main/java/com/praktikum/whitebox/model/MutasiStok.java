@@ -0,0 +1,4 @@
+package com.praktikum.whitebox.model;
+// Satu baris pergerakan stok: delta positif = stok masuk, negatif = stok keluar
+public record MutasiStok(String kode, int delta) {
+}
@@ -0,0 +1,5 @@
+package com.praktikum.whitebox.model;
+// Event saat status stok produk berpindah (aman -> menipis -> habis, atau sebaliknya)
+public record PerubahanStatusStok(String kode, StatusStok sebelum, StatusStok sesudah,
+                                  int stokSebelum, int stokSesudah) {
+}
@@ -1,36 +1,64 @@
 package com.praktikum.whitebox.model;
+import com.praktikum.whitebox.util.Uang;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 public class Produk {
     private String kode;
+    // Kode terkemas (lihat KodeProduk) untuk equals/hashCode tanpa
+    // membandingkan String; TIDAK_SAH jika kode tidak bisa dikemas
+    private long kunciKode;
     private String nama;
     private String kategori;
-    private double harga;
+    // Harga disimpan fixed-point (lihat Uang) agar total tidak bergeser
+    private long hargaMinor;
     private int stok;
     private int stokMinimum;
     private boolean aktif;
+    // Opsional: stok per gudang. Jika ada, stok di atas selalu = total semua gudang
+    private StokGudang stokGudang;
     public Produk() {}
     public Produk(String kode, String nama, String kategori, double
             harga, int stok, int stokMinimum) {
         this.kode = kode;
+        this.kunciKode = KodeProduk.kemas(kode);
         this.nama = nama;
         this.kategori = kategori;
-        this.harga = harga;
+        // Harga tak terwakili tidak melempar; ValidationUtils menolaknya
+        this.hargaMinor = Uang.dariMayorAtauTidakSah(harga);
         this.stok = stok;
         this.stokMinimum = stokMinimum;
         this.aktif = true;
     }
     // Getters and Setters
     public String getKode() { return kode; }
-    public void setKode(String kode) { this.kode = kode; }
+    public void setKode(String kode) {
+        this.kode = kode;
+        this.kunciKode = KodeProduk.kemas(kode);
+    }
+    public long getKunciKode() { return kunciKode; }
     public String getNama() { return nama; }
     public void setNama(String nama) { this.nama = nama; }
     public String getKategori() { return kategori; }
     public void setKategori(String kategori) { this.kategori = kategori;
     }
-    public double getHarga() { return harga; }
-    public void setHarga(double harga) { this.harga = harga; }
+    public double getHarga() { return Uang.keMayor(hargaMinor); }
+    public void setHarga(double harga) { this.hargaMinor = Uang.dariMayorAtauTidakSah(harga); }
+    public long getHargaMinor() { return hargaMinor; }
+    public void setHargaMinor(long hargaMinor) { this.hargaMinor = hargaMinor; }
     public int getStok() { return stok; }
-    public void setStok(int stok) { this.stok = stok; }
+    // Dengan gudang: kenaikan masuk gudang terdekat, penurunan dialokasikan
+    // dari gudang terdekat yang berisi (lihat alokasikanStok)
+    public void setStok(int stok) {
+        if (stokGudang != null && stok != this.stok) {
+            if (stok > this.stok) {
+                stokGudang.tambahTerdekat(stok - this.stok);
+            } else {
+                stokGudang.alokasikan(this.stok - stok);
+            }
+        }
+        this.stok = stok;
+    }
     public int getStokMinimum() { return stokMinimum; }
     public void setStokMinimum(int stokMinimum) { this.stokMinimum =
             stokMinimum; }
@@ -46,6 +74,16 @@ public class Produk {
     public boolean isStokAman() {
         return stok > stokMinimum;
     }
+    public boolean isStokHabis(String gudang) {
+        return getStok(gudang) == 0;
+    }
+    public boolean isStokMenipis(String gudang) {
+        int stokGudangIni = getStok(gudang);
+        return stokGudangIni > 0 && stokGudangIni <= stokMinimum;
+    }
+    public boolean isStokAman(String gudang) {
+        return getStok(gudang) > stokMinimum;
+    }
     public void kurangiStok(int jumlah) {
         if (jumlah <= 0) {
             throw new IllegalArgumentException("Jumlah harus positif");
@@ -53,30 +91,102 @@ public class Produk {
         if (jumlah > stok) {
             throw new IllegalArgumentException("Stok tidak mencukupi");
         }
+        if (stokGudang != null) {
+            stokGudang.alokasikan(jumlah);
+        }
         this.stok -= jumlah;
     }
     public void tambahStok(int jumlah) {
         if (jumlah <= 0) {
             throw new IllegalArgumentException("Jumlah harus positif");
         }
+        if (stokGudang != null) {
+            stokGudang.tambahTerdekat(jumlah);
+        }
         this.stok += jumlah;
     }
+    // Multi gudang. Gudang pertama yang didaftarkan menampung stok yang sudah ada
+    public void tambahGudang(String gudang, int jarak) {
+        if (stokGudang == null) {
+            StokGudang baru = new StokGudang();
+            baru.tambahGudang(gudang, jarak);
+            if (stok > 0) {
+                baru.tambah(gudang, stok);
+            }
+            stokGudang = baru;
+        } else {
+            stokGudang.tambahGudang(gudang, jarak);
+        }
+    }
+    public boolean isMultiGudang() { return stokGudang != null; }
+    public boolean memilikiGudang(String gudang) { return stokGudang != null && stokGudang.memilikiGudang(gudang); }
+    public List<String> getDaftarGudang() { return stokGudang == null ? List.of() : stokGudang.getDaftarGudang(); }
+    public int getStok(String gudang) { return gudangTerdaftar().getStok(gudang); }
+    public int getJarakGudang(String gudang) { return gudangTerdaftar().getJarak(gudang); }
+    public void kurangiStok(String gudang, int jumlah) {
+        gudangTerdaftar().kurangi(gudang, jumlah);
+        this.stok -= jumlah;
+    }
+    public void tambahStok(String gudang, int jumlah) {
+        gudangTerdaftar().tambah(gudang, jumlah);
+        this.stok += jumlah;
+    }
+    // Seperti kurangiStok, tetapi mengembalikan gudang -> jumlah yang diambil
+    public Map<String, Integer> alokasikanStok(int jumlah) {
+        Map<String, Integer> alokasi = gudangTerdaftar().alokasikan(jumlah);
+        this.stok -= jumlah;
+        return alokasi;
+    }
+    // Salinan lepas (termasuk stok per gudang) untuk diubah lalu disimpan ulang
+    public Produk salin() {
+        Produk salinan = new Produk();
+        salinan.kode = kode;
+        salinan.kunciKode = kunciKode;
+        salinan.nama = nama;
+        salinan.kategori = kategori;
+        salinan.hargaMinor = hargaMinor;
+        salinan.stok = stok;
+        salinan.stokMinimum = stokMinimum;
+        salinan.aktif = aktif;
+        salinan.stokGudang = stokGudang == null ? null : stokGudang.salin();
+        return salinan;
+    }
+    private StokGudang gudangTerdaftar() {
+        if (stokGudang == null) {
+            throw new IllegalStateException("Produk tidak memiliki gudang");
+        }
+        return stokGudang;
+    }
     public double hitungTotalHarga(int jumlah) {
         if (jumlah <= 0) {
             throw new IllegalArgumentException("Jumlah harus positif");
         }
-        return harga * jumlah;
+        if (hargaMinor == Uang.TIDAK_SAH) {
+            return Double.NaN;
+        }
+        return Uang.keMayor(hitungTotalHargaMinor(jumlah));
+    }
+    public long hitungTotalHargaMinor(int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah harus positif");
+        }
+        return Uang.kali(hargaMinor, jumlah);
     }
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Produk produk = (Produk) o;
+        // Kode terkemas sama <=> String kode sama; kode yang tidak bisa
+        // dikemas tidak mungkin sama dengan kode yang bisa
+        if (kunciKode != KodeProduk.TIDAK_SAH || produk.kunciKode != KodeProduk.TIDAK_SAH) {
+            return kunciKode == produk.kunciKode;
+        }
         return Objects.equals(kode, produk.kode);
     }
     @Override
     public int hashCode() {
-        return Objects.hash(kode);
+        return kunciKode != KodeProduk.TIDAK_SAH ? Long.hashCode(kunciKode) : Objects.hashCode(kode);
     }
     @Override
     public String toString() {
@@ -84,7 +194,7 @@ public class Produk {
                 "kode='" + kode + '\'' +
                 ", nama='" + nama + '\'' +
                 ", kategori='" + kategori + '\'' +
-                ", harga=" + harga +
+                ", harga=" + getHarga() +
                 ", stok=" + stok +
                 ", stokMinimum=" + stokMinimum +
                 ", aktif=" + aktif +
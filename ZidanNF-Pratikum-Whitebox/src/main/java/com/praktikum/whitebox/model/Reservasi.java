@@ -0,0 +1,4 @@
+package com.praktikum.whitebox.model;
+// Tahanan stok yang belum dikomit; id dipakai untuk komit atau lepas
+public record Reservasi(long id, String kode, int jumlah) {
+}
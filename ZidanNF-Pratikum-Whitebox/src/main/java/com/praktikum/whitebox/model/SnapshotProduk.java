@@ -0,0 +1,36 @@
+package com.praktikum.whitebox.model;
+import com.praktikum.whitebox.util.Uang;
+// Keadaan produk yang tidak bisa diubah; perubahan menghasilkan snapshot baru.
+// Stok per gudang tidak ikut, hanya totalnya
+public record SnapshotProduk(String kode, String nama, String kategori, long hargaMinor,
+                             int stok, int stokMinimum, boolean aktif) {
+    public static SnapshotProduk dari(Produk produk) {
+        return new SnapshotProduk(produk.getKode(), produk.getNama(), produk.getKategori(),
+                produk.getHargaMinor(), produk.getStok(), produk.getStokMinimum(), produk.isAktif());
+    }
+    // Salinan Produk biasa; mengubahnya tidak mengubah snapshot
+    public Produk keProduk() {
+        Produk produk = new Produk();
+        produk.setKode(kode);
+        produk.setNama(nama);
+        produk.setKategori(kategori);
+        produk.setHargaMinor(hargaMinor);
+        produk.setStok(stok);
+        produk.setStokMinimum(stokMinimum);
+        produk.setAktif(aktif);
+        return produk;
+    }
+    public SnapshotProduk denganStok(int stokBaru) {
+        return new SnapshotProduk(kode, nama, kategori, hargaMinor, stokBaru, stokMinimum, aktif);
+    }
+    public SnapshotProduk denganAktif(boolean aktifBaru) {
+        return new SnapshotProduk(kode, nama, kategori, hargaMinor, stok, stokMinimum, aktifBaru);
+    }
+    public StatusStok statusStok() {
+        return StatusStok.dari(stok, stokMinimum);
+    }
+    // Harga x stok dalam satuan terkecil
+    public long nilaiMinor() {
+        return Uang.kali(hargaMinor, stok);
+    }
+}
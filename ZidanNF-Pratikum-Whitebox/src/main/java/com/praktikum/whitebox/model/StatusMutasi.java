@@ -0,0 +1,10 @@
+package com.praktikum.whitebox.model;
+public enum StatusMutasi {
+    BERHASIL,
+    KODE_TIDAK_VALID,
+    JUMLAH_TIDAK_VALID,
+    TIDAK_DITEMUKAN,
+    TIDAK_AKTIF,
+    STOK_TIDAK_CUKUP,
+    GAGAL_DISIMPAN
+}
@@ -0,0 +1,135 @@
+package com.praktikum.whitebox.model;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+// Stok satu produk per gudang. Gudang diurutkan dari jarak terdekat; total
+// dipelihara bertahap (O(1)) dan bitset "berisi" menandai peringkat gudang
+// yang stoknya > 0, sehingga alokasi langsung melompat ke gudang terdekat
+// yang masih punya stok tanpa memeriksa semua gudang.
+public class StokGudang {
+    private String[] nama = new String[4];
+    private int[] jarak = new int[4];
+    private int[] stok = new int[4];
+    private int jumlahGudang;
+    private final Map<String, Integer> peringkat = new HashMap<>();
+    private final BitSet berisi = new BitSet();
+    private int total;
+    public void tambahGudang(String gudang, int jarakGudang) {
+        if (gudang == null || gudang.trim().isEmpty()) {
+            throw new IllegalArgumentException("Nama gudang tidak valid");
+        }
+        if (jarakGudang < 0) {
+            throw new IllegalArgumentException("Jarak gudang tidak boleh negatif");
+        }
+        if (peringkat.containsKey(gudang)) {
+            throw new IllegalArgumentException("Gudang sudah terdaftar");
+        }
+        if (jumlahGudang == nama.length) {
+            nama = Arrays.copyOf(nama, jumlahGudang * 2);
+            jarak = Arrays.copyOf(jarak, jumlahGudang * 2);
+            stok = Arrays.copyOf(stok, jumlahGudang * 2);
+        }
+        // Sisip terurut (jarak sama: yang didaftarkan lebih dulu tetap di depan);
+        // jarang terjadi sehingga geser larik + bangun ulang peringkat cukup
+        int posisi = jumlahGudang;
+        while (posisi > 0 && jarak[posisi - 1] > jarakGudang) {
+            nama[posisi] = nama[posisi - 1];
+            jarak[posisi] = jarak[posisi - 1];
+            stok[posisi] = stok[posisi - 1];
+            posisi--;
+        }
+        nama[posisi] = gudang;
+        jarak[posisi] = jarakGudang;
+        stok[posisi] = 0;
+        jumlahGudang++;
+        berisi.clear();
+        for (int i = 0; i < jumlahGudang; i++) {
+            peringkat.put(nama[i], i);
+            berisi.set(i, stok[i] > 0);
+        }
+    }
+    public boolean memilikiGudang(String gudang) { return gudang != null && peringkat.containsKey(gudang); }
+    public List<String> getDaftarGudang() { return List.of(Arrays.copyOf(nama, jumlahGudang)); }
+    public int getTotal() { return total; }
+    public int getStok(String gudang) { return stok[peringkatDari(gudang)]; }
+    public int getJarak(String gudang) { return jarak[peringkatDari(gudang)]; }
+    public void tambah(String gudang, int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah harus positif");
+        }
+        ubah(peringkatDari(gudang), jumlah);
+    }
+    public void kurangi(String gudang, int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah harus positif");
+        }
+        int i = peringkatDari(gudang);
+        if (jumlah > stok[i]) {
+            throw new IllegalArgumentException("Stok tidak mencukupi");
+        }
+        ubah(i, -jumlah);
+    }
+    // Barang masuk tanpa gudang tujuan diterima gudang terdekat
+    public void tambahTerdekat(int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah harus positif");
+        }
+        if (jumlahGudang == 0) {
+            throw new IllegalStateException("Belum ada gudang");
+        }
+        ubah(0, jumlah);
+    }
+    // Mengambil jumlah dari gudang terdekat yang berisi, lanjut ke gudang
+    // berikutnya bila kurang. Hasil: gudang -> jumlah diambil, urut jarak
+    public Map<String, Integer> alokasikan(int jumlah) {
+        if (jumlah <= 0) {
+            throw new IllegalArgumentException("Jumlah harus positif");
+        }
+        if (jumlah > total) {
+            throw new IllegalArgumentException("Stok tidak mencukupi");
+        }
+        Map<String, Integer> alokasi = new LinkedHashMap<>();
+        int sisa = jumlah;
+        for (int i = berisi.nextSetBit(0); sisa > 0; i = berisi.nextSetBit(i + 1)) {
+            int diambil = Math.min(sisa, stok[i]);
+            alokasi.put(nama[i], diambil);
+            ubah(i, -diambil);
+            sisa -= diambil;
+        }
+        return alokasi;
+    }
+    public StokGudang salin() {
+        StokGudang salinan = new StokGudang();
+        salinan.nama = nama.clone();
+        salinan.jarak = jarak.clone();
+        salinan.stok = stok.clone();
+        salinan.jumlahGudang = jumlahGudang;
+        salinan.peringkat.putAll(peringkat);
+        salinan.berisi.or(berisi);
+        salinan.total = total;
+        return salinan;
+    }
+    private void ubah(int i, int delta) {
+        stok[i] += delta;
+        total += delta;
+        berisi.set(i, stok[i] > 0);
+    }
+    private int peringkatDari(String gudang) {
+        Integer i = gudang == null ? null : peringkat.get(gudang);
+        if (i == null) {
+            throw new IllegalArgumentException("Gudang tidak dikenal");
+        }
+        return i;
+    }
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("StokGudang{");
+        for (int i = 0; i < jumlahGudang; i++) {
+            sb.append(i == 0 ? "" : ", ").append(nama[i]).append('=').append(stok[i]);
+        }
+        return sb.append('}').toString();
+    }
+}
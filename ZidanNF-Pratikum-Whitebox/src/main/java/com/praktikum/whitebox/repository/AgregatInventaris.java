@@ -0,0 +1,35 @@
+package com.praktikum.whitebox.repository;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.Uang;
+import java.util.stream.Stream;
+// Kemampuan opsional repository: agregat produk aktif yang dipelihara
+// bertahap sehingga laporan dashboard tidak perlu memindai seluruh katalog
+public interface AgregatInventaris {
+    long totalStokAktif();
+    // Total harga x stok dalam satuan terkecil (eksak)
+    long totalNilaiAktifMinor();
+    default double totalNilaiAktif() {
+        return Uang.keMayor(totalNilaiAktifMinor());
+    }
+    // Agregat repository sembarang, dipakai dekorator untuk meneruskan
+    // agregat delegate: O(1) jika delegate punya agregat bertahap, jika tidak
+    // dipindai lewat stream (nilai dijumlah dengan cek overflow seperti Uang)
+    static long totalStokAktifDari(RepositoryProduk repository) {
+        if (repository instanceof AgregatInventaris agregat) {
+            return agregat.totalStokAktif();
+        }
+        try (Stream<Produk> semua = repository.streamSemua()) {
+            return semua.filter(Produk::isAktif).mapToLong(Produk::getStok).sum();
+        }
+    }
+    static long totalNilaiAktifMinorDari(RepositoryProduk repository) {
+        if (repository instanceof AgregatInventaris agregat) {
+            return agregat.totalNilaiAktifMinor();
+        }
+        try (Stream<Produk> semua = repository.streamSemua()) {
+            return semua.filter(Produk::isAktif)
+                    .mapToLong(p -> Uang.kali(p.getHargaMinor(), p.getStok()))
+                    .reduce(0L, Uang::tambah);
+        }
+    }
+}
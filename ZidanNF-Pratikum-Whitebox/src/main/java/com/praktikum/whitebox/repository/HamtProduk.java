@@ -0,0 +1,242 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.SnapshotProduk;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+// Peta persisten kode -> SnapshotProduk (hash array mapped trie).
+// Setiap simpul memakai bitmap 32 bit dan array padat berisi snapshot atau
+// simpul anak; 5 bit hash per tingkat. Perubahan menyalin hanya jalur dari
+// akar ke entri (paling banyak 7 simpul kecil), sisanya dibagi dengan versi
+// lama, sehingga versi lama tetap utuh dan aman dibaca tanpa kunci.
+// Kode dengan hash 32 bit sama persis disimpan di simpul tabrakan.
+final class HamtProduk {
+    static final HamtProduk KOSONG = new HamtProduk(new Simpul(0, new Object[0]), 0);
+
+    private final Simpul akar;
+    private final int ukuran;
+
+    private HamtProduk(Simpul akar, int ukuran) {
+        this.akar = akar;
+        this.ukuran = ukuran;
+    }
+
+    int ukuran() {
+        return ukuran;
+    }
+
+    SnapshotProduk get(String kode) {
+        if (kode == null) {
+            return null;
+        }
+        int hash = hash(kode);
+        Object simpul = akar;
+        for (int geser = 0; ; geser += 5) {
+            if (simpul instanceof Simpul s) {
+                int bit = 1 << ((hash >>> geser) & 31);
+                if ((s.bitmap & bit) == 0) {
+                    return null;
+                }
+                simpul = s.isi[s.indeks(bit)];
+            } else if (simpul instanceof Tabrakan t) {
+                return t.hash == hash ? t.get(kode) : null;
+            } else {
+                SnapshotProduk produk = (SnapshotProduk) simpul;
+                return produk.kode().equals(kode) ? produk : null;
+            }
+        }
+    }
+
+    // Versi baru dengan produk ditambahkan atau diganti
+    HamtProduk dengan(SnapshotProduk produk) {
+        int[] bertambah = new int[1];
+        Simpul akarBaru = (Simpul) dengan(akar, produk, hash(produk.kode()), 0, bertambah);
+        return new HamtProduk(akarBaru, ukuran + bertambah[0]);
+    }
+
+    // Versi baru tanpa kode; this jika kode tidak ada
+    HamtProduk tanpa(String kode) {
+        if (kode == null) {
+            return this;
+        }
+        Object akarBaru = tanpa(akar, kode, hash(kode), 0);
+        if (akarBaru == akar) {
+            return this;
+        }
+        if (!(akarBaru instanceof Simpul)) {
+            // Akar tidak pernah diciutkan menjadi entri tunggal
+            akarBaru = akarBaru == null ? KOSONG.akar : bungkus(akarBaru, hashObjek(akarBaru), 0);
+        }
+        return new HamtProduk((Simpul) akarBaru, ukuran - 1);
+    }
+
+    Stream<SnapshotProduk> stream() {
+        return stream(akar);
+    }
+
+    private static Stream<SnapshotProduk> stream(Object simpul) {
+        if (simpul instanceof Simpul s) {
+            return Arrays.stream(s.isi).flatMap(HamtProduk::stream);
+        }
+        if (simpul instanceof Tabrakan t) {
+            return Arrays.stream(t.isi);
+        }
+        return Stream.of((SnapshotProduk) simpul);
+    }
+
+    private static Object dengan(Object simpul, SnapshotProduk produk, int hash, int geser, int[] bertambah) {
+        if (simpul instanceof Simpul s) {
+            int bit = 1 << ((hash >>> geser) & 31);
+            int indeks = s.indeks(bit);
+            if ((s.bitmap & bit) == 0) {
+                bertambah[0] = 1;
+                Object[] isi = new Object[s.isi.length + 1];
+                System.arraycopy(s.isi, 0, isi, 0, indeks);
+                isi[indeks] = produk;
+                System.arraycopy(s.isi, indeks, isi, indeks + 1, s.isi.length - indeks);
+                return new Simpul(s.bitmap | bit, isi);
+            }
+            Object[] isi = s.isi.clone();
+            isi[indeks] = dengan(s.isi[indeks], produk, hash, geser + 5, bertambah);
+            return new Simpul(s.bitmap, isi);
+        }
+        if (simpul instanceof Tabrakan t && t.hash == hash) {
+            return t.dengan(produk, bertambah);
+        }
+        if (simpul instanceof SnapshotProduk lama && lama.kode().equals(produk.kode())) {
+            return produk;
+        }
+        // Entri tunggal atau simpul tabrakan lain di slot ini: pisah ke tingkat berikutnya
+        bertambah[0] = 1;
+        return gabung(simpul, hashObjek(simpul), produk, hash, geser);
+    }
+
+    private static Object gabung(Object a, int hashA, SnapshotProduk b, int hashB, int geser) {
+        if (hashA == hashB) {
+            return new Tabrakan(hashA, new SnapshotProduk[] {(SnapshotProduk) a, b});
+        }
+        int indeksA = (hashA >>> geser) & 31;
+        int indeksB = (hashB >>> geser) & 31;
+        if (indeksA == indeksB) {
+            return new Simpul(1 << indeksA, new Object[] {gabung(a, hashA, b, hashB, geser + 5)});
+        }
+        Object[] isi = indeksA < indeksB ? new Object[] {a, b} : new Object[] {b, a};
+        return new Simpul((1 << indeksA) | (1 << indeksB), isi);
+    }
+
+    // Mengembalikan simpul yang sama jika kode tidak ada, null jika simpul
+    // menjadi kosong, atau entri/tabrakan tunggal agar diciutkan ke induknya
+    private static Object tanpa(Object simpul, String kode, int hash, int geser) {
+        if (simpul instanceof Simpul s) {
+            int bit = 1 << ((hash >>> geser) & 31);
+            if ((s.bitmap & bit) == 0) {
+                return s;
+            }
+            int indeks = s.indeks(bit);
+            Object anak = s.isi[indeks];
+            Object anakBaru = tanpa(anak, kode, hash, geser + 5);
+            if (anakBaru == anak) {
+                return s;
+            }
+            if (anakBaru == null) {
+                if (s.isi.length == 1) {
+                    return null;
+                }
+                Object[] isi = new Object[s.isi.length - 1];
+                System.arraycopy(s.isi, 0, isi, 0, indeks);
+                System.arraycopy(s.isi, indeks + 1, isi, indeks, isi.length - indeks);
+                if (isi.length == 1 && !(isi[0] instanceof Simpul)) {
+                    return isi[0];
+                }
+                return new Simpul(s.bitmap & ~bit, isi);
+            }
+            if (s.isi.length == 1 && !(anakBaru instanceof Simpul)) {
+                return anakBaru;
+            }
+            Object[] isi = s.isi.clone();
+            isi[indeks] = anakBaru;
+            return new Simpul(s.bitmap, isi);
+        }
+        if (simpul instanceof Tabrakan t) {
+            return t.hash == hash ? t.tanpa(kode) : t;
+        }
+        return ((SnapshotProduk) simpul).kode().equals(kode) ? null : simpul;
+    }
+
+    // Entri yang naik ke akar dibungkus lagi dalam simpul satu anak
+    private static Simpul bungkus(Object entri, int hash, int geser) {
+        return new Simpul(1 << ((hash >>> geser) & 31), new Object[] {entri});
+    }
+
+    private static int hashObjek(Object entri) {
+        return entri instanceof Tabrakan t ? t.hash : hash(((SnapshotProduk) entri).kode());
+    }
+
+    private static int hash(String kode) {
+        int h = kode.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Simpul {
+        final int bitmap;
+        final Object[] isi;
+
+        Simpul(int bitmap, Object[] isi) {
+            this.bitmap = bitmap;
+            this.isi = isi;
+        }
+
+        int indeks(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+    }
+
+    private static final class Tabrakan {
+        final int hash;
+        final SnapshotProduk[] isi;
+
+        Tabrakan(int hash, SnapshotProduk[] isi) {
+            this.hash = hash;
+            this.isi = isi;
+        }
+
+        SnapshotProduk get(String kode) {
+            for (SnapshotProduk produk : isi) {
+                if (produk.kode().equals(kode)) {
+                    return produk;
+                }
+            }
+            return null;
+        }
+
+        Tabrakan dengan(SnapshotProduk produk, int[] bertambah) {
+            for (int i = 0; i < isi.length; i++) {
+                if (isi[i].kode().equals(produk.kode())) {
+                    SnapshotProduk[] baru = isi.clone();
+                    baru[i] = produk;
+                    return new Tabrakan(hash, baru);
+                }
+            }
+            bertambah[0] = 1;
+            SnapshotProduk[] baru = Arrays.copyOf(isi, isi.length + 1);
+            baru[isi.length] = produk;
+            return new Tabrakan(hash, baru);
+        }
+
+        Object tanpa(String kode) {
+            for (int i = 0; i < isi.length; i++) {
+                if (isi[i].kode().equals(kode)) {
+                    if (isi.length == 2) {
+                        return isi[1 - i];
+                    }
+                    SnapshotProduk[] baru = new SnapshotProduk[isi.length - 1];
+                    System.arraycopy(isi, 0, baru, 0, i);
+                    System.arraycopy(isi, i + 1, baru, i, baru.length - i);
+                    return new Tabrakan(hash, baru);
+                }
+            }
+            return this;
+        }
+    }
+}
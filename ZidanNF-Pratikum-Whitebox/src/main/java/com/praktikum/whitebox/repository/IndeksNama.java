@@ -0,0 +1,264 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+// Indeks pencarian nama produk, tanpa membedakan huruf besar/kecil.
+// - Substring: indeks terbalik trigram -> daftar id produk (int[] terurut).
+//   Kandidat diambil dari daftar trigram query yang paling pendek, disaring
+//   dengan irisan daftar lain lalu diverifikasi dengan contains, berhenti
+//   setelah batas hasil terpenuhi.
+//   Query < 3 karakter tidak punya trigram sehingga memindai semua nama.
+// - Awalan: TreeMap terurut berdasarkan nama (huruf kecil) + kode.
+// Update nama (simpan/hapus) memakai write lock; pencarian memakai read lock.
+public class IndeksNama {
+    private static final int PANJANG_GRAM = 3;
+
+    private final ReentrantReadWriteLock kunci = new ReentrantReadWriteLock();
+    private final Map<String, Integer> idByKode = new HashMap<>();
+    private final Map<Long, DaftarId> postingTrigram = new HashMap<>();
+    private final NavigableMap<String, Produk> urutNama = new TreeMap<>();
+    private Produk[] produkById = new Produk[64];
+    private String[] namaById = new String[64];
+    private int[] idBebas = new int[16];
+    private int jumlahIdBebas;
+    private int idBerikut;
+
+    public void tambah(Produk produk) {
+        kunci.writeLock().lock();
+        try {
+            tambahTanpaKunci(produk);
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    // Menyamakan entri kode dengan produk yang berlaku saat ini menurut
+    // sumber (null = hapus), dibaca di bawah write lock. Pemanggil yang
+    // mengubah sumbernya lalu memanggil sinkronkan tidak perlu memegang kunci
+    // sendiri: urutan sinkronkan boleh tertukar antar thread, entri akhirnya
+    // tetap sama dengan isi sumber yang terakhir
+    public void sinkronkan(String kode, Function<String, Produk> sumber) {
+        kunci.writeLock().lock();
+        try {
+            Produk produk = sumber.apply(kode);
+            if (produk == null) {
+                hapusTanpaKunci(kode);
+            } else {
+                tambahTanpaKunci(produk);
+            }
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    public void hapus(String kode) {
+        kunci.writeLock().lock();
+        try {
+            hapusTanpaKunci(kode);
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    public List<Produk> cariSubstring(String query, int batas) {
+        List<Produk> hasil = new ArrayList<>();
+        if (query == null || batas <= 0) {
+            return hasil;
+        }
+        String q = normalisasi(query);
+        kunci.readLock().lock();
+        try {
+            if (q.length() < PANJANG_GRAM) {
+                for (int id = 0; id < idBerikut && hasil.size() < batas; id++) {
+                    if (namaById[id] != null && namaById[id].contains(q)) {
+                        hasil.add(produkById[id]);
+                    }
+                }
+                return hasil;
+            }
+            long[] gram = trigramUnik(q);
+            DaftarId[] daftar = new DaftarId[gram.length];
+            for (int i = 0; i < gram.length; i++) {
+                daftar[i] = postingTrigram.get(gram[i]);
+                if (daftar[i] == null) {
+                    return hasil;
+                }
+            }
+            // Daftar terpendek menjadi sumber kandidat; daftar lain hanya dicek
+            // keanggotaannya dengan galloping search (id terurut naik, posisi
+            // per daftar hanya maju) sebelum nama diverifikasi
+            Arrays.sort(daftar, (a, b) -> Integer.compare(a.ukuran, b.ukuran));
+            int[] posisi = new int[daftar.length];
+            DaftarId sumber = daftar[0];
+            kandidat:
+            for (int i = 0; i < sumber.ukuran && hasil.size() < batas; i++) {
+                int id = sumber.id[i];
+                for (int j = 1; j < daftar.length; j++) {
+                    posisi[j] = daftar[j].cariMulai(id, posisi[j]);
+                    if (posisi[j] == daftar[j].ukuran) {
+                        break kandidat;
+                    }
+                    if (daftar[j].id[posisi[j]] != id) {
+                        continue kandidat;
+                    }
+                }
+                if (namaById[id].contains(q)) {
+                    hasil.add(produkById[id]);
+                }
+            }
+            return hasil;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    public List<Produk> cariAwalan(String awalan, int batas) {
+        List<Produk> hasil = new ArrayList<>();
+        if (awalan == null || batas <= 0) {
+            return hasil;
+        }
+        String a = normalisasi(awalan);
+        kunci.readLock().lock();
+        try {
+            for (Produk produk : urutNama.subMap(a, true, a + Character.MAX_VALUE, false).values()) {
+                if (hasil.size() >= batas) {
+                    break;
+                }
+                hasil.add(produk);
+            }
+            return hasil;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    public int ukuran() {
+        kunci.readLock().lock();
+        try {
+            return idByKode.size();
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    private void tambahTanpaKunci(Produk produk) {
+        hapusTanpaKunci(produk.getKode());
+        String nama = normalisasi(produk.getNama());
+        int id = alokasiId();
+        produkById[id] = produk;
+        namaById[id] = nama;
+        idByKode.put(produk.getKode(), id);
+        for (long gram : trigramUnik(nama)) {
+            postingTrigram.computeIfAbsent(gram, g -> new DaftarId()).tambah(id);
+        }
+        urutNama.put(kunciUrut(nama, produk.getKode()), produk);
+    }
+
+    private void hapusTanpaKunci(String kode) {
+        Integer id = idByKode.remove(kode);
+        if (id == null) {
+            return;
+        }
+        String nama = namaById[id];
+        for (long gram : trigramUnik(nama)) {
+            DaftarId daftar = postingTrigram.get(gram);
+            daftar.hapus(id);
+            if (daftar.ukuran == 0) {
+                postingTrigram.remove(gram);
+            }
+        }
+        urutNama.remove(kunciUrut(nama, kode));
+        produkById[id] = null;
+        namaById[id] = null;
+        if (jumlahIdBebas == idBebas.length) {
+            idBebas = Arrays.copyOf(idBebas, idBebas.length * 2);
+        }
+        idBebas[jumlahIdBebas++] = id;
+    }
+
+    private int alokasiId() {
+        if (jumlahIdBebas > 0) {
+            return idBebas[--jumlahIdBebas];
+        }
+        if (idBerikut == produkById.length) {
+            produkById = Arrays.copyOf(produkById, produkById.length * 2);
+            namaById = Arrays.copyOf(namaById, namaById.length * 2);
+        }
+        return idBerikut++;
+    }
+
+    private static String normalisasi(String teks) {
+        return teks == null ? "" : teks.toLowerCase(Locale.ROOT);
+    }
+
+    // Kode ditambahkan agar nama yang sama tetap unik di TreeMap
+    private static String kunciUrut(String nama, String kode) {
+        return nama + '\u0000' + kode;
+    }
+
+    private static long[] trigramUnik(String teks) {
+        int jumlah = Math.max(0, teks.length() - PANJANG_GRAM + 1);
+        long[] gram = new long[jumlah];
+        for (int i = 0; i < jumlah; i++) {
+            gram[i] = ((long) teks.charAt(i) << 32) | ((long) teks.charAt(i + 1) << 16) | teks.charAt(i + 2);
+        }
+        Arrays.sort(gram);
+        int unik = 0;
+        for (int i = 0; i < jumlah; i++) {
+            if (i == 0 || gram[i] != gram[i - 1]) {
+                gram[unik++] = gram[i];
+            }
+        }
+        return Arrays.copyOf(gram, unik);
+    }
+
+    // Daftar id primitif yang selalu terurut naik. Id baru umumnya paling
+    // besar sehingga cukup di-append; id daur ulang disisipkan di tempatnya
+    private static final class DaftarId {
+        private int[] id = new int[4];
+        private int ukuran;
+
+        void tambah(int nilai) {
+            if (ukuran == id.length) {
+                id = Arrays.copyOf(id, ukuran * 2);
+            }
+            int posisi = ukuran == 0 || id[ukuran - 1] < nilai
+                    ? ukuran : -Arrays.binarySearch(id, 0, ukuran, nilai) - 1;
+            System.arraycopy(id, posisi, id, posisi + 1, ukuran - posisi);
+            id[posisi] = nilai;
+            ukuran++;
+        }
+
+        void hapus(int nilai) {
+            int posisi = Arrays.binarySearch(id, 0, ukuran, nilai);
+            if (posisi >= 0) {
+                System.arraycopy(id, posisi + 1, id, posisi, ukuran - posisi - 1);
+                ukuran--;
+            }
+        }
+
+        // Posisi pertama >= nilai, dicari dari mulai dengan langkah menggandakan
+        int cariMulai(int nilai, int mulai) {
+            int langkah = 1;
+            int atas = mulai;
+            while (atas < ukuran && id[atas] < nilai) {
+                mulai = atas + 1;
+                atas += langkah;
+                langkah <<= 1;
+            }
+            int posisi = Arrays.binarySearch(id, mulai, Math.min(atas + 1, ukuran), nilai);
+            return posisi >= 0 ? posisi : -posisi - 1;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.SnapshotProduk;
+import com.praktikum.whitebox.util.Uang;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Satu versi katalog yang tidak pernah berubah: isi produk beserta agregat
+// produk aktif yang dihitung bertahap saat versi dibentuk. Semua nilai yang
+// dibaca dari satu versi konsisten satu sama lain.
+public final class KatalogVersi {
+    static final KatalogVersi KOSONG = new KatalogVersi(0, HamtProduk.KOSONG, 0, 0);
+
+    private final long nomor;
+    private final HamtProduk produk;
+    private final long totalStokAktif;
+    private final long totalNilaiAktifMinor;
+
+    private KatalogVersi(long nomor, HamtProduk produk, long totalStokAktif, long totalNilaiAktifMinor) {
+        this.nomor = nomor;
+        this.produk = produk;
+        this.totalStokAktif = totalStokAktif;
+        this.totalNilaiAktifMinor = totalNilaiAktifMinor;
+    }
+
+    public long getNomor() {
+        return nomor;
+    }
+
+    public int jumlahProduk() {
+        return produk.ukuran();
+    }
+
+    public Optional<SnapshotProduk> cari(String kode) {
+        return Optional.ofNullable(produk.get(kode));
+    }
+
+    public Stream<SnapshotProduk> stream() {
+        return produk.stream();
+    }
+
+    public long getTotalStokAktif() {
+        return totalStokAktif;
+    }
+
+    public long getTotalNilaiAktifMinor() {
+        return totalNilaiAktifMinor;
+    }
+
+    public double getTotalNilaiAktif() {
+        return Uang.keMayor(totalNilaiAktifMinor);
+    }
+
+    SnapshotProduk get(String kode) {
+        return produk.get(kode);
+    }
+
+    // Versi berikutnya dengan produk baru/pengganti; lama = isi sebelumnya atau null
+    KatalogVersi dengan(SnapshotProduk lama, SnapshotProduk baru) {
+        long stok = totalStokAktif;
+        long nilai = totalNilaiAktifMinor;
+        if (lama != null && lama.aktif()) {
+            stok -= lama.stok();
+            nilai = Uang.tambah(nilai, -lama.nilaiMinor());
+        }
+        if (baru.aktif()) {
+            stok += baru.stok();
+            nilai = Uang.tambah(nilai, baru.nilaiMinor());
+        }
+        return new KatalogVersi(nomor + 1, produk.dengan(baru), stok, nilai);
+    }
+
+    KatalogVersi tanpa(SnapshotProduk lama) {
+        long stok = totalStokAktif;
+        long nilai = totalNilaiAktifMinor;
+        if (lama.aktif()) {
+            stok -= lama.stok();
+            nilai = Uang.tambah(nilai, -lama.nilaiMinor());
+        }
+        return new KatalogVersi(nomor + 1, produk.tanpa(lama.kode()), stok, nilai);
+    }
+}
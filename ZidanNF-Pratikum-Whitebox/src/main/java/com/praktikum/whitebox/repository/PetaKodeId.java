@@ -0,0 +1,152 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.KodeProduk;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Peta kode produk -> id padat (int) tanpa objek per entri.
+// Kode dikemas ke long (KodeProduk) lalu disimpan di tabel open addressing
+// long[]/int[] berpasangan dengan linear probing; hapus memakai backward
+// shift sehingga tidak ada tombstone dan probe tetap pendek. Slot kosong
+// ditandai 0 (= KodeProduk.TIDAK_SAH, tidak pernah menjadi kunci sah).
+// Sekitar 12 byte per slot pada load <= 0.75, dibanding node + Integer per
+// entri pada HashMap. Kode yang tidak bisa dikemas (jarang; repository tidak
+// memvalidasi kode) jatuh ke HashMap cadangan.
+// Tidak thread-safe; pemakai memegang kuncinya sendiri.
+final class PetaKodeId {
+    static final int TIDAK_ADA = -1;
+    private static final int KAPASITAS_AWAL = 16;
+
+    private long[] kunci = new long[KAPASITAS_AWAL];
+    private int[] nilai = new int[KAPASITAS_AWAL];
+    private int mask = KAPASITAS_AWAL - 1;
+    private int geserHash = 64 - Integer.numberOfTrailingZeros(KAPASITAS_AWAL);
+    private int ukuranTabel;
+    private final Map<String, Integer> cadangan = new HashMap<>();
+
+    int get(String kode) {
+        long k = KodeProduk.kemas(kode);
+        if (k == KodeProduk.TIDAK_SAH) {
+            Integer id = kode == null ? null : cadangan.get(kode);
+            return id == null ? TIDAK_ADA : id;
+        }
+        return get(k);
+    }
+
+    // TIDAK_SAH adalah penanda slot kosong, jadi tidak pernah ada di tabel
+    int get(long k) {
+        if (k == KodeProduk.TIDAK_SAH) {
+            return TIDAK_ADA;
+        }
+        for (int i = slotIdeal(k); ; i = (i + 1) & mask) {
+            long ada = kunci[i];
+            if (ada == k) {
+                return nilai[i];
+            }
+            if (ada == KodeProduk.TIDAK_SAH) {
+                return TIDAK_ADA;
+            }
+        }
+    }
+
+    // Mengembalikan id lama, atau TIDAK_ADA jika kode baru
+    int put(String kode, int id) {
+        long k = KodeProduk.kemas(kode);
+        if (k == KodeProduk.TIDAK_SAH) {
+            Integer lama = cadangan.put(kode, id);
+            return lama == null ? TIDAK_ADA : lama;
+        }
+        return put(k, id);
+    }
+
+    int put(long k, int id) {
+        if (k == KodeProduk.TIDAK_SAH) {
+            throw new IllegalArgumentException("Kode produk tidak valid");
+        }
+        for (int i = slotIdeal(k); ; i = (i + 1) & mask) {
+            long ada = kunci[i];
+            if (ada == k) {
+                int lama = nilai[i];
+                nilai[i] = id;
+                return lama;
+            }
+            if (ada == KodeProduk.TIDAK_SAH) {
+                kunci[i] = k;
+                nilai[i] = id;
+                if (++ukuranTabel > (kunci.length >>> 2) * 3) {
+                    perbesar();
+                }
+                return TIDAK_ADA;
+            }
+        }
+    }
+
+    // Mengembalikan id yang dihapus, atau TIDAK_ADA
+    int hapus(String kode) {
+        long k = KodeProduk.kemas(kode);
+        if (k == KodeProduk.TIDAK_SAH) {
+            Integer lama = kode == null ? null : cadangan.remove(kode);
+            return lama == null ? TIDAK_ADA : lama;
+        }
+        return hapus(k);
+    }
+
+    int hapus(long k) {
+        if (k == KodeProduk.TIDAK_SAH) {
+            return TIDAK_ADA;
+        }
+        int i = slotIdeal(k);
+        while (kunci[i] != k) {
+            if (kunci[i] == KodeProduk.TIDAK_SAH) {
+                return TIDAK_ADA;
+            }
+            i = (i + 1) & mask;
+        }
+        int lama = nilai[i];
+        // Backward shift: entri berikutnya dalam klaster yang slot idealnya
+        // tidak berada di antara (i, j] digeser mundur mengisi lubang
+        int lubang = i;
+        for (int j = (i + 1) & mask; kunci[j] != KodeProduk.TIDAK_SAH; j = (j + 1) & mask) {
+            int ideal = slotIdeal(kunci[j]);
+            if (((j - ideal) & mask) >= ((j - lubang) & mask)) {
+                kunci[lubang] = kunci[j];
+                nilai[lubang] = nilai[j];
+                lubang = j;
+            }
+        }
+        kunci[lubang] = KodeProduk.TIDAK_SAH;
+        ukuranTabel--;
+        return lama;
+    }
+
+    int ukuran() {
+        return ukuranTabel + cadangan.size();
+    }
+
+    private void perbesar() {
+        long[] kunciLama = kunci;
+        int[] nilaiLama = nilai;
+        kunci = new long[kunciLama.length * 2];
+        nilai = new int[kunciLama.length * 2];
+        mask = kunci.length - 1;
+        geserHash--;
+        for (int i = 0; i < kunciLama.length; i++) {
+            long k = kunciLama[i];
+            if (k != KodeProduk.TIDAK_SAH) {
+                int j = slotIdeal(k);
+                while (kunci[j] != KodeProduk.TIDAK_SAH) {
+                    j = (j + 1) & mask;
+                }
+                kunci[j] = k;
+                nilai[j] = nilaiLama[i];
+            }
+        }
+    }
+
+    // Fibonacci hashing: bit atas hasil kali menyebar kode berurutan
+    // (PROD0001, PROD0002, ...) yang digit terakhirnya berbeda sedikit
+    private int slotIdeal(long k) {
+        return (int) ((k * 0x9E3779B97F4A7C15L) >>> geserHash);
+    }
+}
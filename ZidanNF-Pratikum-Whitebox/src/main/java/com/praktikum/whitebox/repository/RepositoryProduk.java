@@ -1,7 +1,17 @@
 package com.praktikum.whitebox.repository;
 import com.praktikum.whitebox.model.Produk;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Stream;
 public interface RepositoryProduk {
     boolean simpan(Produk produk);
     Optional<Produk> cariByKode(String kode);
@@ -12,4 +22,85 @@ public interface RepositoryProduk {
     boolean hapus(String kode);
     boolean updateStok(String kode, int stokBaru);
     List<Produk> cariSemua();
+    default boolean updateAktif(String kode, boolean aktif) {
+        Optional<Produk> produk = cariByKode(kode);
+        produk.ifPresent(p -> p.setAktif(aktif));
+        return produk.isPresent();
+    }
+    // Pencarian nama tanpa membedakan huruf besar/kecil dengan batas hasil:
+    // substring (cariByNama) dan awalan. Implementasi bawaan memindai,
+    // repository dengan indeks nama sebaiknya meng-override
+    default List<Produk> cariByNama(String nama, int batas) {
+        List<Produk> hasil = cariByNama(nama);
+        return hasil.size() > batas ? new ArrayList<>(hasil.subList(0, Math.max(0, batas))) : hasil;
+    }
+    default List<Produk> cariByAwalanNama(String awalan, int batas) {
+        List<Produk> hasil = new ArrayList<>();
+        if (awalan == null) {
+            return hasil;
+        }
+        String kunci = awalan.toLowerCase(Locale.ROOT);
+        for (Produk produk : cariSemua()) {
+            if (hasil.size() >= batas) {
+                break;
+            }
+            if (produk.getNama() != null && produk.getNama().toLowerCase(Locale.ROOT).startsWith(kunci)) {
+                hasil.add(produk);
+            }
+        }
+        return hasil;
+    }
+    // Varian streaming: tidak membentuk List baru sehingga cocok untuk
+    // pemindaian katalog besar. Tutup stream setelah dipakai (try-with-resources)
+    default Stream<Produk> streamSemua() {
+        return cariSemua().stream();
+    }
+    default Stream<Produk> streamByKategori(String kategori) {
+        return cariByKategori(kategori).stream();
+    }
+    default Stream<Produk> streamStokMenipis() {
+        return cariProdukStokMenipis().stream();
+    }
+    // Paginasi keyset: maksimal ukuran produk dengan kode > setelahKode, urut
+    // kode naik. setelahKode null = halaman pertama; kode produk terakhir
+    // menjadi kursor halaman berikutnya. Bawaan memindai sekali dengan heap
+    // berbatas; repository dengan indeks kode terurut sebaiknya meng-override
+    default List<Produk> cariSemuaHalaman(String setelahKode, int ukuran) {
+        if (ukuran <= 0) {
+            return new ArrayList<>();
+        }
+        Comparator<Produk> urutKode = Comparator.comparing(Produk::getKode);
+        PriorityQueue<Produk> terkecil = new PriorityQueue<>(urutKode.reversed());
+        try (Stream<Produk> semua = streamSemua()) {
+            semua.filter(p -> setelahKode == null || p.getKode().compareTo(setelahKode) > 0)
+                    .forEach(p -> {
+                        terkecil.offer(p);
+                        if (terkecil.size() > ukuran) {
+                            terkecil.poll();
+                        }
+                    });
+        }
+        List<Produk> hasil = new ArrayList<>(terkecil);
+        hasil.sort(urutKode);
+        return hasil;
+    }
+    // Operasi massal; implementasi bawaan hanya mengulang operasi tunggal,
+    // repository yang punya jalur bulk sendiri sebaiknya meng-override
+    default Map<String, Produk> cariByKodeBatch(Collection<String> daftarKode) {
+        Map<String, Produk> hasil = new HashMap<>();
+        for (String kode : daftarKode) {
+            cariByKode(kode).ifPresent(produk -> hasil.put(kode, produk));
+        }
+        return hasil;
+    }
+    // Mengembalikan kode yang berhasil diperbarui
+    default Set<String> updateStokBatch(Map<String, Integer> stokBaruPerKode) {
+        Set<String> berhasil = new HashSet<>();
+        for (Map.Entry<String, Integer> entry : stokBaruPerKode.entrySet()) {
+            if (updateStok(entry.getKey(), entry.getValue())) {
+                berhasil.add(entry.getKey());
+            }
+        }
+        return berhasil;
+    }
 }
\ No newline at end of file
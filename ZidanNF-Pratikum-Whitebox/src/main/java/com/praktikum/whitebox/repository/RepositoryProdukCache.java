@@ -0,0 +1,317 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// Dekorator RepositoryProduk dengan cache read-through untuk cariByKode.
+// Kebijakan eviksi mengikuti W-TinyLFU (disederhanakan): entri baru masuk ke
+// jendela LRU kecil (1% kapasitas); entri yang keluar dari jendela hanya
+// menggantikan korban LRU di area utama jika frekuensinya menurut
+// SketsaFrekuensi lebih tinggi. Scan sekali lewat tidak menggusur produk
+// yang sering diakses.
+// Hasil "tidak ditemukan" ikut di-cache (Optional.empty). simpan, hapus,
+// updateStok dan updateAktif diteruskan ke delegate lalu entri kode itu
+// dibuang dari cache; pembacaan berikutnya memuat ulang dari delegate.
+// Entri tidak pernah diubah di tempat: Produk yang di-cache bisa jadi objek
+// hidup milik delegate, dan dua tulisan yang saling menyela bisa menulis
+// nilai yang lebih lama ke objek itu di luar kunci delegate.
+public class RepositoryProdukCache implements RepositoryProduk, AgregatInventaris, Closeable {
+    private final RepositoryProduk delegate;
+    private final int kapasitasJendela;
+    private final int kapasitasUtama;
+
+    // ReentrantLock agar virtual thread yang menunggu tidak mem-pin carrier
+    private final ReentrantLock kunci = new ReentrantLock();
+    private final LinkedHashMap<String, Optional<Produk>> jendela = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Optional<Produk>> utama = new LinkedHashMap<>(16, 0.75f, true);
+    private final SketsaFrekuensi sketsa;
+    // Naik setiap tulis; hasil baca dari delegate hanya di-cache jika tidak
+    // ada tulisan selama pembacaan berlangsung (mencegah entri basi)
+    private long versiTulis;
+    private long hit;
+    private long miss;
+    private long eviksi;
+
+    public RepositoryProdukCache(RepositoryProduk delegate, int kapasitas) {
+        if (kapasitas < 2) {
+            throw new IllegalArgumentException("Kapasitas cache minimal 2");
+        }
+        this.delegate = delegate;
+        this.kapasitasJendela = Math.max(1, kapasitas / 100);
+        this.kapasitasUtama = kapasitas - kapasitasJendela;
+        this.sketsa = new SketsaFrekuensi(kapasitas);
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        if (kode == null) {
+            return Optional.empty();
+        }
+        long versi;
+        kunci.lock();
+        try {
+            sketsa.tambah(kode);
+            Optional<Produk> tersimpan = ambil(kode);
+            if (tersimpan != null) {
+                hit++;
+                return tersimpan;
+            }
+            miss++;
+            versi = versiTulis;
+        } finally {
+            kunci.unlock();
+        }
+        // Delegate (penyimpanan lambat) dibaca di luar kunci
+        Optional<Produk> hasil = delegate.cariByKode(kode);
+        kunci.lock();
+        try {
+            if (versi == versiTulis) {
+                taruh(kode, hasil);
+            }
+        } finally {
+            kunci.unlock();
+        }
+        return hasil;
+    }
+
+    @Override
+    public Map<String, Produk> cariByKodeBatch(Collection<String> daftarKode) {
+        Map<String, Produk> hasil = new HashMap<>();
+        List<String> belumAda = new ArrayList<>();
+        long versi;
+        kunci.lock();
+        try {
+            for (String kode : daftarKode) {
+                sketsa.tambah(kode);
+                Optional<Produk> tersimpan = ambil(kode);
+                if (tersimpan == null) {
+                    miss++;
+                    belumAda.add(kode);
+                } else {
+                    hit++;
+                    tersimpan.ifPresent(produk -> hasil.put(kode, produk));
+                }
+            }
+            versi = versiTulis;
+        } finally {
+            kunci.unlock();
+        }
+        if (!belumAda.isEmpty()) {
+            Map<String, Produk> dimuat = delegate.cariByKodeBatch(belumAda);
+            hasil.putAll(dimuat);
+            kunci.lock();
+            try {
+                if (versi == versiTulis) {
+                    for (String kode : belumAda) {
+                        taruh(kode, Optional.ofNullable(dimuat.get(kode)));
+                    }
+                }
+            } finally {
+                kunci.unlock();
+            }
+        }
+        return hasil;
+    }
+
+    @Override
+    public boolean simpan(Produk produk) {
+        boolean berhasil = delegate.simpan(produk);
+        if (produk != null) {
+            buang(produk.getKode());
+        }
+        return berhasil;
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        boolean berhasil = delegate.hapus(kode);
+        buang(kode);
+        return berhasil;
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        boolean berhasil = delegate.updateStok(kode, stokBaru);
+        buang(kode);
+        return berhasil;
+    }
+
+    @Override
+    public Set<String> updateStokBatch(Map<String, Integer> stokBaruPerKode) {
+        Set<String> berhasil = delegate.updateStokBatch(stokBaruPerKode);
+        kunci.lock();
+        try {
+            versiTulis++;
+            for (String kode : stokBaruPerKode.keySet()) {
+                hapusEntri(kode);
+            }
+        } finally {
+            kunci.unlock();
+        }
+        return berhasil;
+    }
+
+    @Override
+    public boolean updateAktif(String kode, boolean aktif) {
+        boolean berhasil = delegate.updateAktif(kode, aktif);
+        buang(kode);
+        return berhasil;
+    }
+
+    public StatistikCache statistik() {
+        kunci.lock();
+        try {
+            return new StatistikCache(hit, miss, eviksi, jendela.size() + utama.size());
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    // Kosongkan cache, mis. setelah delegate diubah di luar dekorator ini
+    public void kosongkan() {
+        kunci.lock();
+        try {
+            versiTulis++;
+            jendela.clear();
+            utama.clear();
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return delegate.cariByNama(nama);
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama, int batas) {
+        return delegate.cariByNama(nama, batas);
+    }
+
+    @Override
+    public List<Produk> cariByAwalanNama(String awalan, int batas) {
+        return delegate.cariByAwalanNama(awalan, batas);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        return delegate.cariByKategori(kategori);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return delegate.cariProdukStokMenipis();
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return delegate.cariProdukStokHabis();
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        return delegate.cariSemua();
+    }
+
+    @Override
+    public Stream<Produk> streamSemua() {
+        return delegate.streamSemua();
+    }
+
+    @Override
+    public Stream<Produk> streamByKategori(String kategori) {
+        return delegate.streamByKategori(kategori);
+    }
+
+    @Override
+    public Stream<Produk> streamStokMenipis() {
+        return delegate.streamStokMenipis();
+    }
+
+    @Override
+    public List<Produk> cariSemuaHalaman(String setelahKode, int ukuran) {
+        return delegate.cariSemuaHalaman(setelahKode, ukuran);
+    }
+
+    @Override
+    public long totalStokAktif() {
+        return AgregatInventaris.totalStokAktifDari(delegate);
+    }
+
+    @Override
+    public long totalNilaiAktifMinor() {
+        return AgregatInventaris.totalNilaiAktifMinorDari(delegate);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    // null = tidak ada di cache; Optional.empty() = tercatat tidak ditemukan
+    private Optional<Produk> ambil(String kode) {
+        Optional<Produk> nilai = utama.get(kode);
+        return nilai != null ? nilai : jendela.get(kode);
+    }
+
+    // Dipanggil setelah delegate ditulis. versiTulis naik sehingga pembaca
+    // yang sedang memuat nilai lama dari delegate tidak menaruhnya; pembaca
+    // yang sudah sempat menaruhnya ikut terbuang di sini
+    private void buang(String kode) {
+        kunci.lock();
+        try {
+            versiTulis++;
+            hapusEntri(kode);
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    private void hapusEntri(String kode) {
+        if (utama.remove(kode) == null) {
+            jendela.remove(kode);
+        }
+    }
+
+    private void taruh(String kode, Optional<Produk> nilai) {
+        if (utama.containsKey(kode)) {
+            utama.put(kode, nilai);
+            return;
+        }
+        jendela.put(kode, nilai);
+        if (jendela.size() <= kapasitasJendela) {
+            return;
+        }
+        Iterator<Map.Entry<String, Optional<Produk>>> iterJendela = jendela.entrySet().iterator();
+        Map.Entry<String, Optional<Produk>> kandidat = iterJendela.next();
+        iterJendela.remove();
+        if (utama.size() < kapasitasUtama) {
+            utama.put(kandidat.getKey(), kandidat.getValue());
+            return;
+        }
+        // Filter admisi TinyLFU: kandidat vs korban LRU area utama
+        Iterator<Map.Entry<String, Optional<Produk>>> iterUtama = utama.entrySet().iterator();
+        Map.Entry<String, Optional<Produk>> korban = iterUtama.next();
+        if (sketsa.perkiraan(kandidat.getKey()) > sketsa.perkiraan(korban.getKey())) {
+            iterUtama.remove();
+            utama.put(kandidat.getKey(), kandidat.getValue());
+        }
+        eviksi++;
+    }
+}
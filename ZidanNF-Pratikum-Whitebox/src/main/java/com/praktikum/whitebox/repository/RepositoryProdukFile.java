@@ -0,0 +1,471 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.Uang;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+// RepositoryProduk persisten di atas file memory-mapped, tanpa server database.
+// Setiap produk menempati satu record lebar tetap; produk baru mengisi slot
+// bekas hapus lebih dulu dan baru di-append jika tidak ada, sedangkan simpan
+// ulang, updateStok, updateAktif dan hapus (tombstone) ditulis di tempat.
+// Saat dibuka, indeks kode -> slot, daftar slot bebas dan agregat produk aktif
+// dibangun ulang dengan memindai byte tiap record, tanpa membentuk objek Produk.
+// Tulisan ke mapping sudah aman dari crash proses; panggil force() untuk
+// menjamin data sampai ke disk (mis. sebelum mati listrik).
+public class RepositoryProdukFile implements RepositoryProduk, AgregatInventaris, Closeable {
+    private static final int MAGIC = 0x50524B31; // "PRK1"
+    private static final int VERSI = 1;
+    private static final int UKURAN_HEADER = 64;
+    private static final int HEADER_JUMLAH_SLOT = 8;
+
+    // Tata letak record (byte offset)
+    private static final int UKURAN_RECORD = 640;
+    private static final int OFF_STATUS = 0;
+    private static final int OFF_PANJANG_KODE = 1;
+    private static final int OFF_KODE = 2;
+    private static final int OFF_HARGA = 16;
+    private static final int OFF_STOK = 24;
+    private static final int OFF_STOK_MINIMUM = 28;
+    private static final int OFF_NAMA = 32;
+    private static final int OFF_KATEGORI = 334;
+    private static final int MAKS_KODE = 10;
+    private static final int MAKS_TEKS = 300;
+
+    private static final byte STATUS_AKTIF = 1;
+    private static final byte STATUS_TERHAPUS = 2;
+
+    private static final int RECORD_PER_SEGMEN = 16_384;
+    private static final long UKURAN_SEGMEN = (long) RECORD_PER_SEGMEN * UKURAN_RECORD;
+
+    // ReentrantLock, bukan synchronized: akses mapping bisa memicu page fault
+    // (I/O disk), dan virtual thread yang menunggu di sini tidak mem-pin carrier
+    private final ReentrantLock kunci = new ReentrantLock();
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final List<MappedByteBuffer> segmen = new ArrayList<>();
+    private final Map<String, Integer> slotByKode = new HashMap<>();
+    private int jumlahSlot;
+    // Slot tombstone yang dipakai ulang oleh simpan, agar file tidak terus
+    // membesar saat produk dihapus dan ditambah berulang kali
+    private int[] slotBebas = new int[16];
+    private int jumlahSlotBebas;
+    // Agregat bertahap; diubah bersama record di bawah kunci
+    private long totalStokAktif;
+    private long totalNilaiAktifMinor;
+
+    public RepositoryProdukFile(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean baru = channel.size() == 0;
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, UKURAN_HEADER);
+        if (baru) {
+            header.putInt(0, MAGIC);
+            header.putInt(4, VERSI);
+            header.putInt(HEADER_JUMLAH_SLOT, 0);
+        } else if (header.getInt(0) != MAGIC || header.getInt(4) != VERSI) {
+            channel.close();
+            throw new IOException("Format file repository tidak dikenal: " + file);
+        }
+        this.jumlahSlot = header.getInt(HEADER_JUMLAH_SLOT);
+        bangunIndeks();
+    }
+
+    private void bangunIndeks() throws IOException {
+        byte[] bufferKode = new byte[MAKS_KODE];
+        for (int slot = 0; slot < jumlahSlot; slot++) {
+            ByteBuffer seg = segmenUntuk(slot);
+            int dasar = offsetDalamSegmen(slot);
+            if ((seg.get(dasar + OFF_STATUS) & STATUS_TERHAPUS) != 0) {
+                bebaskan(slot);
+                continue;
+            }
+            int panjang = seg.get(dasar + OFF_PANJANG_KODE);
+            seg.get(dasar + OFF_KODE, bufferKode, 0, panjang);
+            slotByKode.put(new String(bufferKode, 0, panjang, StandardCharsets.US_ASCII), slot);
+            ubahAgregat(slot, 1);
+        }
+    }
+
+    @Override
+    public boolean simpan(Produk produk) {
+        kunci.lock();
+        try {
+            if (produk == null || !isMuat(produk)) {
+                return false;
+            }
+            // Overflow nilai dilempar sebelum ada yang ditulis
+            Uang.kali(produk.getHargaMinor(), produk.getStok());
+            try {
+                Integer slot = slotByKode.get(produk.getKode());
+                if (slot == null && jumlahSlotBebas > 0) {
+                    // Byte status ditulis terakhir, jadi record bekas hapus tetap
+                    // terbaca sebagai tombstone sampai seluruh isinya baru
+                    slot = slotBebas[--jumlahSlotBebas];
+                    tulisRecord(slot, produk);
+                    slotByKode.put(produk.getKode(), slot);
+                } else if (slot == null) {
+                    slot = jumlahSlot;
+                    segmenUntuk(slot);
+                    tulisRecord(slot, produk);
+                    jumlahSlot++;
+                    // Header diperbarui setelah record lengkap, sehingga record
+                    // setengah jadi tidak pernah terlihat saat file dibuka ulang
+                    header.putInt(HEADER_JUMLAH_SLOT, jumlahSlot);
+                    slotByKode.put(produk.getKode(), slot);
+                } else {
+                    ubahAgregat(slot, -1);
+                    tulisRecord(slot, produk);
+                }
+                ubahAgregat(slot, 1);
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        kunci.lock();
+        try {
+            Integer slot = kode == null ? null : slotByKode.get(kode);
+            return slot == null ? Optional.empty() : Optional.of(bacaRecord(slot));
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        kunci.lock();
+        try {
+            if (nama == null) {
+                return new ArrayList<>();
+            }
+            String kunci = nama.toLowerCase(Locale.ROOT);
+            return pindai(p -> p.getNama() != null && p.getNama().toLowerCase(Locale.ROOT).contains(kunci));
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        kunci.lock();
+        try {
+            if (kategori == null) {
+                return new ArrayList<>();
+            }
+            return pindai(p -> kategori.equals(p.getKategori()));
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        kunci.lock();
+        try {
+            return pindai(Produk::isStokMenipis);
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        kunci.lock();
+        try {
+            return pindai(Produk::isStokHabis);
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        kunci.lock();
+        try {
+            Integer slot = kode == null ? null : slotByKode.remove(kode);
+            if (slot == null) {
+                return false;
+            }
+            ubahAgregat(slot, -1);
+            ByteBuffer seg = segmen.get(slot / RECORD_PER_SEGMEN);
+            int dasar = offsetDalamSegmen(slot);
+            seg.put(dasar + OFF_STATUS, (byte) (seg.get(dasar + OFF_STATUS) | STATUS_TERHAPUS));
+            bebaskan(slot);
+            return true;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        kunci.lock();
+        try {
+            Integer slot = kode == null ? null : slotByKode.get(kode);
+            if (slot == null || stokBaru < 0) {
+                return false;
+            }
+            ByteBuffer seg = segmen.get(slot / RECORD_PER_SEGMEN);
+            int dasar = offsetDalamSegmen(slot);
+            Uang.kali(seg.getLong(dasar + OFF_HARGA), stokBaru);
+            ubahAgregat(slot, -1);
+            seg.putInt(dasar + OFF_STOK, stokBaru);
+            ubahAgregat(slot, 1);
+            return true;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    @Override
+    public boolean updateAktif(String kode, boolean aktif) {
+        kunci.lock();
+        try {
+            Integer slot = kode == null ? null : slotByKode.get(kode);
+            if (slot == null) {
+                return false;
+            }
+            ByteBuffer seg = segmen.get(slot / RECORD_PER_SEGMEN);
+            int dasar = offsetDalamSegmen(slot);
+            byte status = seg.get(dasar + OFF_STATUS);
+            ubahAgregat(slot, -1);
+            seg.put(dasar + OFF_STATUS, (byte) (aktif ? status | STATUS_AKTIF : status & ~STATUS_AKTIF));
+            ubahAgregat(slot, 1);
+            return true;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        kunci.lock();
+        try {
+            return pindai(p -> true);
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    // Hanya daftar slot (int) yang disalin; record dibaca satu per satu saat
+    // stream dikonsumsi, dan record yang terhapus di tengah jalan dilewati.
+    // Slot yang dipakai ulang di tengah jalan terbaca dengan isi barunya, jadi
+    // produk yang dihapus lalu disimpan ulang selama itu bisa muncul dua kali
+    @Override
+    public Stream<Produk> streamSemua() {
+        int[] daftarSlot;
+        kunci.lock();
+        try {
+            daftarSlot = slotByKode.values().stream().mapToInt(Integer::intValue).toArray();
+        } finally {
+            kunci.unlock();
+        }
+        return Arrays.stream(daftarSlot).mapToObj(this::bacaRecordJikaAda).filter(Objects::nonNull);
+    }
+
+    @Override
+    public long totalStokAktif() {
+        kunci.lock();
+        try {
+            return totalStokAktif;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    @Override
+    public long totalNilaiAktifMinor() {
+        kunci.lock();
+        try {
+            return totalNilaiAktifMinor;
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    public int jumlahProduk() {
+        kunci.lock();
+        try {
+            return slotByKode.size();
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    // Memaksa semua perubahan di mapping ditulis ke perangkat penyimpanan
+    public void force() {
+        kunci.lock();
+        try {
+            header.force();
+            for (MappedByteBuffer seg : segmen) {
+                seg.force();
+            }
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        kunci.lock();
+        try {
+            force();
+            channel.close();
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    private List<Produk> pindai(Predicate<Produk> filter) {
+        List<Produk> hasil = new ArrayList<>();
+        for (int slot : slotByKode.values()) {
+            Produk produk = bacaRecord(slot);
+            if (filter.test(produk)) {
+                hasil.add(produk);
+            }
+        }
+        return hasil;
+    }
+
+    // Menambah (tanda 1) atau mengurangi (tanda -1) kontribusi record ke
+    // agregat; record tidak aktif atau terhapus tidak dihitung
+    private void ubahAgregat(int slot, int tanda) {
+        ByteBuffer seg = segmen.get(slot / RECORD_PER_SEGMEN);
+        int dasar = offsetDalamSegmen(slot);
+        if (seg.get(dasar + OFF_STATUS) != STATUS_AKTIF) {
+            return;
+        }
+        int stok = seg.getInt(dasar + OFF_STOK);
+        totalStokAktif += tanda * (long) stok;
+        totalNilaiAktifMinor += tanda * Uang.kali(seg.getLong(dasar + OFF_HARGA), stok);
+    }
+
+    private void bebaskan(int slot) {
+        if (jumlahSlotBebas == slotBebas.length) {
+            slotBebas = Arrays.copyOf(slotBebas, slotBebas.length * 2);
+        }
+        slotBebas[jumlahSlotBebas++] = slot;
+    }
+
+    private Produk bacaRecordJikaAda(int slot) {
+        kunci.lock();
+        try {
+            ByteBuffer seg = segmen.get(slot / RECORD_PER_SEGMEN);
+            if ((seg.get(offsetDalamSegmen(slot) + OFF_STATUS) & STATUS_TERHAPUS) != 0) {
+                return null;
+            }
+            return bacaRecord(slot);
+        } finally {
+            kunci.unlock();
+        }
+    }
+
+    private boolean isMuat(Produk produk) {
+        String kode = produk.getKode();
+        if (kode == null || kode.isEmpty() || kode.length() > MAKS_KODE) {
+            return false;
+        }
+        for (int i = 0; i < kode.length(); i++) {
+            if (kode.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return panjangUtf8(produk.getNama()) <= MAKS_TEKS && panjangUtf8(produk.getKategori()) <= MAKS_TEKS;
+    }
+
+    private static int panjangUtf8(String teks) {
+        return teks == null ? 0 : teks.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private void tulisRecord(int slot, Produk produk) {
+        ByteBuffer seg = segmen.get(slot / RECORD_PER_SEGMEN);
+        int dasar = offsetDalamSegmen(slot);
+        byte[] kode = produk.getKode().getBytes(StandardCharsets.US_ASCII);
+        seg.put(dasar + OFF_PANJANG_KODE, (byte) kode.length);
+        seg.put(dasar + OFF_KODE, kode);
+        seg.putLong(dasar + OFF_HARGA, produk.getHargaMinor());
+        seg.putInt(dasar + OFF_STOK, produk.getStok());
+        seg.putInt(dasar + OFF_STOK_MINIMUM, produk.getStokMinimum());
+        tulisTeks(seg, dasar + OFF_NAMA, produk.getNama());
+        tulisTeks(seg, dasar + OFF_KATEGORI, produk.getKategori());
+        seg.put(dasar + OFF_STATUS, produk.isAktif() ? STATUS_AKTIF : 0);
+    }
+
+    private Produk bacaRecord(int slot) {
+        ByteBuffer seg = segmen.get(slot / RECORD_PER_SEGMEN);
+        int dasar = offsetDalamSegmen(slot);
+        int panjangKode = seg.get(dasar + OFF_PANJANG_KODE);
+        byte[] kode = new byte[panjangKode];
+        seg.get(dasar + OFF_KODE, kode);
+        Produk produk = new Produk();
+        produk.setKode(new String(kode, StandardCharsets.US_ASCII));
+        produk.setNama(bacaTeks(seg, dasar + OFF_NAMA));
+        produk.setKategori(bacaTeks(seg, dasar + OFF_KATEGORI));
+        produk.setHargaMinor(seg.getLong(dasar + OFF_HARGA));
+        produk.setStok(seg.getInt(dasar + OFF_STOK));
+        produk.setStokMinimum(seg.getInt(dasar + OFF_STOK_MINIMUM));
+        produk.setAktif((seg.get(dasar + OFF_STATUS) & STATUS_AKTIF) != 0);
+        return produk;
+    }
+
+    // Teks disimpan sebagai short panjang (-1 = null) diikuti byte UTF-8
+    private static void tulisTeks(ByteBuffer seg, int offset, String teks) {
+        if (teks == null) {
+            seg.putShort(offset, (short) -1);
+            return;
+        }
+        byte[] bytes = teks.getBytes(StandardCharsets.UTF_8);
+        seg.putShort(offset, (short) bytes.length);
+        seg.put(offset + 2, bytes);
+    }
+
+    private static String bacaTeks(ByteBuffer seg, int offset) {
+        short panjang = seg.getShort(offset);
+        if (panjang < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[panjang];
+        seg.get(offset + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private ByteBuffer segmenUntuk(int slot) throws IOException {
+        int indeks = slot / RECORD_PER_SEGMEN;
+        while (segmen.size() <= indeks) {
+            long posisi = UKURAN_HEADER + segmen.size() * UKURAN_SEGMEN;
+            // Mapping READ_WRITE di luar ukuran file otomatis memperbesar file
+            segmen.add(channel.map(FileChannel.MapMode.READ_WRITE, posisi, UKURAN_SEGMEN));
+        }
+        return segmen.get(indeks);
+    }
+
+    private static int offsetDalamSegmen(int slot) {
+        return (slot % RECORD_PER_SEGMEN) * UKURAN_RECORD;
+    }
+}
@@ -0,0 +1,606 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+// Dekorator RepositoryProduk dengan write-ahead log (WAL).
+// Setiap mutasi (simpan, hapus, updateStok, updateAktif) diterapkan ke delegate
+// dan dicatat ke log dalam satu critical section, lalu pemanggil menunggu
+// sampai entrinya di-fsync. Group commit: selama satu thread melakukan fsync,
+// entri dari thread lain menumpuk dan ikut di-fsync sekaligus oleh leader
+// berikutnya, sehingga ratusan keluarStok berbagi satu fsync.
+// Saat dibuka, snapshot terakhir dimuat lalu log diputar ulang; snapshot
+// berkala (lihat batasEntriSnapshot) membatasi panjang log yang perlu diputar.
+// Semua entri bersifat absolut (bukan delta), jadi memutar ulang log di atas
+// snapshot yang lebih baru tetap menghasilkan keadaan yang sama. Entri simpan
+// membawa rincian stok per gudang; updateStok pada produk multi gudang
+// diputar ulang lewat alokasi gudang terdekat yang deterministik, sama
+// seperti saat pertama diterapkan.
+// Entri dibentuk sebelum delegate diubah, jadi galat saat membentuknya
+// (mis. teks terlalu panjang) tidak meninggalkan perubahan apa pun.
+// Jika write/fsync log gagal, atau entri yang perubahannya sudah diterapkan
+// gagal masuk buffer, jurnal ditutup untuk tulisan: pemanggil yang menunggu
+// dan semua mutasi berikutnya mendapat UncheckedIOException, dan entri yang
+// belum tertulis tidak pernah dianggap durable.
+// Visibilitas: perubahan sudah terlihat oleh pembaca (cari*, stream*) sejak
+// diterapkan ke delegate, sebelum entrinya di-fsync; hanya pemanggil mutasi
+// yang menunggu durable. Setelah jurnal gagal, isi delegate bisa lebih maju
+// dari log. Yang berlaku adalah log: buka ulang jurnal di atas delegate
+// baru untuk kembali ke keadaan yang durable.
+public class RepositoryProdukJurnal implements RepositoryProduk, AgregatInventaris, Closeable {
+    static final String NAMA_LOG = "produk.wal";
+    static final String NAMA_SNAPSHOT = "produk.snapshot";
+
+    private static final byte OP_SIMPAN = 1;
+    private static final byte OP_HAPUS = 2;
+    private static final byte OP_UPDATE_STOK = 3;
+    private static final byte OP_UPDATE_AKTIF = 4;
+
+    private final RepositoryProduk delegate;
+    private final Path folder;
+    private final int batasEntriSnapshot;
+    // Package-private agar uji bisa mensimulasikan kegagalan tulis
+    final FileChannel log;
+
+    // Melindungi urutan terap-lalu-catat (dan snapshot)
+    private final ReentrantLock kunciTulis = new ReentrantLock();
+    // Melindungi buffer entri yang belum di-fsync; terpisah dari kunciTulis agar
+    // leader fsync tidak perlu menunggu pemegang kunciTulis (mis. snapshot)
+    private final Object kunciBuffer = new Object();
+    private ByteArrayOutputStream bufferTertunda = new ByteArrayOutputStream();
+    private long urutanTerakhir;
+    private volatile long entriSejakSnapshot;
+
+    // Melindungi status fsync untuk group commit
+    private final ReentrantLock kunciFlush = new ReentrantLock();
+    private final Condition flushSelesai = kunciFlush.newCondition();
+    private long urutanDurable;
+    private boolean sedangFlush;
+    // Sekali terisi tidak pernah dikosongkan lagi (jurnal gagal tertutup)
+    private volatile IOException galatFlush;
+    private long jumlahFsync;
+
+    // delegate harus kosong; isinya dipulihkan dari snapshot dan log di folder.
+    // batasEntriSnapshot <= 0 berarti snapshot hanya dibuat manual.
+    public RepositoryProdukJurnal(RepositoryProduk delegate, Path folder, int batasEntriSnapshot)
+            throws IOException {
+        this.delegate = delegate;
+        this.folder = folder;
+        this.batasEntriSnapshot = batasEntriSnapshot;
+        Files.createDirectories(folder);
+        Path fileSnapshot = folder.resolve(NAMA_SNAPSHOT);
+        if (Files.exists(fileSnapshot)) {
+            putarUlang(fileSnapshot, false);
+        }
+        Path fileLog = folder.resolve(NAMA_LOG);
+        this.entriSejakSnapshot = Files.exists(fileLog) ? putarUlang(fileLog, true) : 0;
+        this.log = FileChannel.open(fileLog, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public boolean simpan(Produk produk) {
+        // Sama dengan kontrak repository; entri tidak bisa dibentuk tanpa kode
+        if (produk == null || produk.getKode() == null) {
+            return false;
+        }
+        return catatDanTerapkan(() -> delegate.simpan(produk), () -> entriSimpan(produk));
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        return catatDanTerapkan(() -> delegate.hapus(kode), () -> entriKode(OP_HAPUS, kode, 0));
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        return catatDanTerapkan(() -> delegate.updateStok(kode, stokBaru),
+                () -> entriKode(OP_UPDATE_STOK, kode, stokBaru));
+    }
+
+    @Override
+    public boolean updateAktif(String kode, boolean aktif) {
+        return catatDanTerapkan(() -> delegate.updateAktif(kode, aktif),
+                () -> entriKode(OP_UPDATE_AKTIF, kode, aktif ? 1 : 0));
+    }
+
+    // Seluruh batch dicatat lalu menunggu satu fsync
+    @Override
+    public Set<String> updateStokBatch(Map<String, Integer> stokBaruPerKode) {
+        Set<String> berhasil = new HashSet<>();
+        long urutan;
+        kunciTulis.lock();
+        try {
+            tolakJikaGagal();
+            urutan = 0;
+            for (Map.Entry<String, Integer> entry : stokBaruPerKode.entrySet()) {
+                byte[] entri = bentukEntri(() -> entriKode(OP_UPDATE_STOK, entry.getKey(), entry.getValue()));
+                if (delegate.updateStok(entry.getKey(), entry.getValue())) {
+                    urutan = catatYangSudahDiterapkan(entri);
+                    berhasil.add(entry.getKey());
+                }
+            }
+        } finally {
+            kunciTulis.unlock();
+        }
+        tungguDurable(urutan);
+        return berhasil;
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        return delegate.cariByKode(kode);
+    }
+
+    @Override
+    public Map<String, Produk> cariByKodeBatch(Collection<String> daftarKode) {
+        return delegate.cariByKodeBatch(daftarKode);
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return delegate.cariByNama(nama);
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama, int batas) {
+        return delegate.cariByNama(nama, batas);
+    }
+
+    @Override
+    public List<Produk> cariByAwalanNama(String awalan, int batas) {
+        return delegate.cariByAwalanNama(awalan, batas);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        return delegate.cariByKategori(kategori);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return delegate.cariProdukStokMenipis();
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return delegate.cariProdukStokHabis();
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        return delegate.cariSemua();
+    }
+
+    @Override
+    public Stream<Produk> streamSemua() {
+        return delegate.streamSemua();
+    }
+
+    @Override
+    public Stream<Produk> streamByKategori(String kategori) {
+        return delegate.streamByKategori(kategori);
+    }
+
+    @Override
+    public Stream<Produk> streamStokMenipis() {
+        return delegate.streamStokMenipis();
+    }
+
+    @Override
+    public List<Produk> cariSemuaHalaman(String setelahKode, int ukuran) {
+        return delegate.cariSemuaHalaman(setelahKode, ukuran);
+    }
+
+    @Override
+    public long totalStokAktif() {
+        return AgregatInventaris.totalStokAktifDari(delegate);
+    }
+
+    @Override
+    public long totalNilaiAktifMinor() {
+        return AgregatInventaris.totalNilaiAktifMinorDari(delegate);
+    }
+
+    public long jumlahFsync() {
+        kunciFlush.lock();
+        try {
+            return jumlahFsync;
+        } finally {
+            kunciFlush.unlock();
+        }
+    }
+
+    // Menulis seluruh isi delegate ke snapshot baru lalu mengosongkan log.
+    // Mutasi ditahan selama snapshot ditulis.
+    public void buatSnapshot() throws IOException {
+        kunciTulis.lock();
+        try {
+            tungguDurable(urutanTerakhir());
+            Path sementara = folder.resolve(NAMA_SNAPSHOT + ".tmp");
+            try (FileChannel out = FileChannel.open(sementara, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteArrayOutputStream isi = new ByteArrayOutputStream();
+                for (Produk produk : delegate.cariSemua()) {
+                    isi.write(bingkai(entriSimpan(produk)));
+                }
+                tulisPenuh(out, ByteBuffer.wrap(isi.toByteArray()));
+                out.force(true);
+            }
+            Files.move(sementara, folder.resolve(NAMA_SNAPSHOT),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // Rename baru pasti bertahan setelah entri direktori di-fsync;
+            // tanpa ini log bisa kosong sementara snapshot lama yang kembali
+            fsyncFolder();
+            // Jika crash di antara rename dan truncate, log lama diputar di atas
+            // snapshot baru dan hasilnya tetap sama karena entri bersifat absolut
+            log.truncate(0);
+            log.force(true);
+            entriSejakSnapshot = 0;
+        } finally {
+            kunciTulis.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        kunciTulis.lock();
+        try {
+            try {
+                tungguDurable(urutanTerakhir());
+            } finally {
+                log.close();
+            }
+        } finally {
+            kunciTulis.unlock();
+        }
+    }
+
+    private interface Operasi {
+        boolean jalankan();
+    }
+
+    private interface PembuatEntri {
+        byte[] buat() throws IOException;
+    }
+
+    private boolean catatDanTerapkan(Operasi operasi, PembuatEntri pembuatEntri) {
+        long urutan;
+        kunciTulis.lock();
+        try {
+            // Diterapkan dan dicatat di bawah kunci yang sama agar urutan di log
+            // selalu sama dengan urutan perubahan pada delegate
+            tolakJikaGagal();
+            byte[] entri = bentukEntri(pembuatEntri);
+            if (!operasi.jalankan()) {
+                return false;
+            }
+            urutan = catatYangSudahDiterapkan(entri);
+        } finally {
+            kunciTulis.unlock();
+        }
+        tungguDurable(urutan);
+        if (batasEntriSnapshot > 0 && entriSejakSnapshot >= batasEntriSnapshot) {
+            snapshotOtomatis();
+        }
+        return true;
+    }
+
+    private void snapshotOtomatis() {
+        try {
+            kunciTulis.lock();
+            try {
+                // Dicek ulang: thread lain mungkin sudah membuat snapshot
+                if (entriSejakSnapshot >= batasEntriSnapshot) {
+                    buatSnapshot();
+                }
+            } finally {
+                kunciTulis.unlock();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] bentukEntri(PembuatEntri pembuatEntri) {
+        try {
+            return pembuatEntri.buat();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Delegate sudah berubah: jika entrinya tidak bisa dicatat, jurnal
+    // ditutup agar isi memori tidak diam-diam menyimpang dari log
+    private long catatYangSudahDiterapkan(byte[] entri) {
+        try {
+            return tulisEntri(entri);
+        } catch (RuntimeException | Error e) {
+            gagalkan(new IOException("Gagal mencatat perubahan yang sudah diterapkan", e));
+            throw e;
+        }
+    }
+
+    private void gagalkan(IOException galat) {
+        kunciFlush.lock();
+        try {
+            if (galatFlush == null) {
+                galatFlush = galat;
+            }
+            flushSelesai.signalAll();
+        } finally {
+            kunciFlush.unlock();
+        }
+    }
+
+    // Dipanggil di bawah kunciTulis; mengembalikan nomor urut entri
+    private long tulisEntri(byte[] entri) {
+        byte[] data = bingkai(entri);
+        entriSejakSnapshot++;
+        synchronized (kunciBuffer) {
+            bufferTertunda.write(data, 0, data.length);
+            return ++urutanTerakhir;
+        }
+    }
+
+    private long urutanTerakhir() {
+        synchronized (kunciBuffer) {
+            return urutanTerakhir;
+        }
+    }
+
+    // Setelah jurnal gagal, delegate tidak boleh diubah lagi karena perubahan
+    // itu tidak akan pernah sampai ke log
+    private void tolakJikaGagal() {
+        IOException galat = galatFlush;
+        if (galat != null) {
+            throw new UncheckedIOException("Jurnal tertutup karena gagal menulis", galat);
+        }
+    }
+
+    // Leader/follower: thread pertama yang menemukan data belum durable menjadi
+    // leader, mengambil seluruh buffer dan melakukan satu write + fsync;
+    // thread lain menunggu dan biasanya sudah tercakup oleh fsync tersebut.
+    // Jika leader gagal, urutanDurable tidak maju dan semua yang menunggu
+    // entri yang belum durable langsung menerima galatnya.
+    private void tungguDurable(long urutan) {
+        kunciFlush.lock();
+        try {
+            while (urutanDurable < urutan) {
+                if (galatFlush != null) {
+                    throw new UncheckedIOException("Gagal menulis jurnal", galatFlush);
+                }
+                if (sedangFlush) {
+                    flushSelesai.awaitUninterruptibly();
+                    continue;
+                }
+                sedangFlush = true;
+                kunciFlush.unlock();
+                byte[] data;
+                long sampaiUrutan;
+                synchronized (kunciBuffer) {
+                    data = bufferTertunda.toByteArray();
+                    bufferTertunda = new ByteArrayOutputStream();
+                    sampaiUrutan = urutanTerakhir;
+                }
+                IOException galat = null;
+                try {
+                    tulisPenuh(log, ByteBuffer.wrap(data));
+                    log.force(false);
+                } catch (IOException e) {
+                    galat = e;
+                }
+                kunciFlush.lock();
+                sedangFlush = false;
+                if (galat == null) {
+                    urutanDurable = sampaiUrutan;
+                    jumlahFsync++;
+                } else if (galatFlush == null) {
+                    galatFlush = galat;
+                }
+                flushSelesai.signalAll();
+            }
+        } finally {
+            kunciFlush.unlock();
+        }
+    }
+
+    // Memutar ulang file entri ke delegate. Untuk log, ekor yang terpotong atau
+    // rusak (crash di tengah penulisan) dibuang. Snapshot selalu di-fsync
+    // sebelum di-rename, jadi bingkai rusak di sana berarti korupsi sungguhan
+    // dan dilaporkan sebagai IOException. Mengembalikan jumlah entri valid.
+    private long putarUlang(Path file, boolean potongEkorRusak) throws IOException {
+        byte[] isi = Files.readAllBytes(file);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(isi));
+        long posisiValid = 0;
+        long jumlah = 0;
+        while (posisiValid < isi.length) {
+            try {
+                int panjang = in.readInt();
+                if (panjang <= 0 || panjang > isi.length) {
+                    break;
+                }
+                byte[] entri = new byte[panjang];
+                in.readFully(entri);
+                long crc = in.readLong();
+                if (crc != crc(entri)) {
+                    break;
+                }
+                terapkan(entri);
+                posisiValid += 4 + panjang + 8;
+                jumlah++;
+            } catch (EOFException e) {
+                break;
+            }
+        }
+        if (posisiValid < isi.length && !potongEkorRusak) {
+            throw new IOException("File " + file.getFileName() + " rusak pada posisi " + posisiValid);
+        }
+        if (posisiValid < isi.length) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(posisiValid);
+                channel.force(true);
+            }
+        }
+        return jumlah;
+    }
+
+    private void terapkan(byte[] entri) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(entri));
+        byte op = in.readByte();
+        switch (op) {
+            case OP_SIMPAN -> {
+                Produk produk = new Produk();
+                produk.setKode(bacaTeks(in));
+                produk.setNama(bacaTeks(in));
+                produk.setKategori(bacaTeks(in));
+                produk.setHargaMinor(in.readLong());
+                produk.setStok(in.readInt());
+                produk.setStokMinimum(in.readInt());
+                produk.setAktif(in.readBoolean());
+                // Entri lama (sebelum ada bagian gudang) berakhir di sini
+                if (in.available() > 0) {
+                    bacaGudang(in, produk);
+                }
+                delegate.simpan(produk);
+            }
+            case OP_HAPUS -> delegate.hapus(bacaTeks(in));
+            case OP_UPDATE_STOK -> {
+                String kode = bacaTeks(in);
+                delegate.updateStok(kode, in.readInt());
+            }
+            case OP_UPDATE_AKTIF -> {
+                String kode = bacaTeks(in);
+                delegate.updateAktif(kode, in.readInt() != 0);
+            }
+            default -> throw new IOException("Operasi jurnal tidak dikenal: " + op);
+        }
+    }
+
+    private static byte[] entriSimpan(Produk produk) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(OP_SIMPAN);
+        tulisTeks(out, produk.getKode());
+        tulisTeks(out, produk.getNama());
+        tulisTeks(out, produk.getKategori());
+        out.writeLong(produk.getHargaMinor());
+        out.writeInt(produk.getStok());
+        out.writeInt(produk.getStokMinimum());
+        out.writeBoolean(produk.isAktif());
+        tulisGudang(out, produk);
+        return bytes.toByteArray();
+    }
+
+    // Bagian gudang: [int jumlah gudang]([teks nama][int jarak][int stok])*,
+    // urut jarak sehingga pendaftaran ulang menghasilkan urutan yang sama
+    private static void tulisGudang(DataOutputStream out, Produk produk) throws IOException {
+        List<String> daftarGudang = produk.getDaftarGudang();
+        out.writeInt(daftarGudang.size());
+        for (String gudang : daftarGudang) {
+            tulisTeks(out, gudang);
+            out.writeInt(produk.getJarakGudang(gudang));
+            out.writeInt(produk.getStok(gudang));
+        }
+    }
+
+    private static void bacaGudang(DataInputStream in, Produk produk) throws IOException {
+        int jumlahGudang = in.readInt();
+        if (jumlahGudang == 0) {
+            return;
+        }
+        int total = produk.getStok();
+        produk.setStok(0);
+        for (int i = 0; i < jumlahGudang; i++) {
+            String gudang = bacaTeks(in);
+            int jarak = in.readInt();
+            int stok = in.readInt();
+            produk.tambahGudang(gudang, jarak);
+            if (stok > 0) {
+                produk.tambahStok(gudang, stok);
+            }
+        }
+        if (produk.getStok() != total) {
+            throw new IOException("Stok gudang " + produk.getKode() + " tidak sesuai total");
+        }
+    }
+
+    private static byte[] entriKode(byte op, String kode, int nilai) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(op);
+        tulisTeks(out, kode);
+        if (op != OP_HAPUS) {
+            out.writeInt(nilai);
+        }
+        return bytes.toByteArray();
+    }
+
+    // Bingkai entri: [int panjang][isi][long crc32 isi]
+    private static byte[] bingkai(byte[] entri) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + entri.length + 8);
+        buffer.putInt(entri.length).put(entri).putLong(crc(entri));
+        return buffer.array();
+    }
+
+    private static long crc(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return crc.getValue();
+    }
+
+    private static void tulisTeks(DataOutputStream out, String teks) throws IOException {
+        out.writeBoolean(teks != null);
+        if (teks != null) {
+            out.writeUTF(teks);
+        }
+    }
+
+    private static String bacaTeks(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private void fsyncFolder() throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(folder, StandardOpenOption.READ);
+        } catch (IOException e) {
+            // Sebagian platform (Windows) tidak bisa membuka direktori; di sana
+            // rename sudah durable begitu Files.move selesai
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    private static void tulisPenuh(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.Uang;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// RepositoryProduk berorientasi kolom untuk pemindaian analitik.
+// Setiap produk mendapat id padat; harga (satuan terkecil), stok dan
+// stokMinimum disimpan di array primitif paralel, status aktif dan slot
+// terpakai di bitset long[]. Agregat dan query stok menipis/habis hanya
+// menyapu kolom yang dibutuhkan secara berurutan, tanpa objek Produk.
+// Indeks kode -> id, id bebas, pemindaian dan penguncian ada di
+// RepositoryProdukSlot.
+public class RepositoryProdukKolom extends RepositoryProdukSlot {
+    private static final int KAPASITAS_AWAL = 1024;
+
+    private String[] kode = new String[KAPASITAS_AWAL];
+    private String[] nama = new String[KAPASITAS_AWAL];
+    private String[] kategori = new String[KAPASITAS_AWAL];
+    private long[] hargaMinor = new long[KAPASITAS_AWAL];
+    private int[] stok = new int[KAPASITAS_AWAL];
+    private int[] stokMinimum = new int[KAPASITAS_AWAL];
+    private long[] terpakai = new long[KAPASITAS_AWAL / 64];
+    // Bit aktif hanya menyala untuk slot yang terpakai
+    private long[] aktif = new long[KAPASITAS_AWAL / 64];
+
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null || produk.getKode() == null) {
+            return false;
+        }
+        kunci.writeLock().lock();
+        try {
+            int id = idByKode.get(produk.getKode());
+            if (id == PetaKodeId.TIDAK_ADA) {
+                id = alokasiId();
+                idByKode.put(produk.getKode(), id);
+                setBit(terpakai, id, true);
+            }
+            kode[id] = produk.getKode();
+            nama[id] = produk.getNama();
+            kategori[id] = produk.getKategori();
+            hargaMinor[id] = produk.getHargaMinor();
+            stok[id] = produk.getStok();
+            stokMinimum[id] = produk.getStokMinimum();
+            setBit(aktif, id, produk.isAktif());
+            return true;
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        if (kategori == null) {
+            return new ArrayList<>();
+        }
+        return pindai(id -> kategori.equals(this.kategori[id]));
+    }
+
+    // Hanya kolom bitset aktif dan stok yang disapu
+    @Override
+    public long totalStokAktif() {
+        kunci.readLock().lock();
+        try {
+            long total = 0;
+            for (int blok = 0; blok * 64 < jumlahSlot; blok++) {
+                long bit = aktif[blok];
+                if (bit == -1L) {
+                    int dasar = blok * 64;
+                    for (int i = dasar; i < dasar + 64; i++) {
+                        total += stok[i];
+                    }
+                    continue;
+                }
+                while (bit != 0) {
+                    total += stok[blok * 64 + Long.numberOfTrailingZeros(bit)];
+                    bit &= bit - 1;
+                }
+            }
+            return total;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long totalNilaiAktifMinor() {
+        kunci.readLock().lock();
+        try {
+            long total = 0;
+            for (int blok = 0; blok * 64 < jumlahSlot; blok++) {
+                long bit = aktif[blok];
+                if (bit == -1L) {
+                    int dasar = blok * 64;
+                    for (int i = dasar; i < dasar + 64; i++) {
+                        total = Uang.tambah(total, Uang.kali(hargaMinor[i], stok[i]));
+                    }
+                    continue;
+                }
+                while (bit != 0) {
+                    int i = blok * 64 + Long.numberOfTrailingZeros(bit);
+                    total = Uang.tambah(total, Uang.kali(hargaMinor[i], stok[i]));
+                    bit &= bit - 1;
+                }
+            }
+            return total;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    @Override
+    boolean terpakai(int id) {
+        return getBit(terpakai, id);
+    }
+
+    @Override
+    Produk bentukProduk(int id) {
+        Produk produk = new Produk();
+        produk.setKode(kode[id]);
+        produk.setNama(nama[id]);
+        produk.setKategori(kategori[id]);
+        produk.setHargaMinor(hargaMinor[id]);
+        produk.setStok(stok[id]);
+        produk.setStokMinimum(stokMinimum[id]);
+        produk.setAktif(getBit(aktif, id));
+        return produk;
+    }
+
+    @Override
+    String nama(int id) {
+        return nama[id];
+    }
+
+    @Override
+    int stok(int id) {
+        return stok[id];
+    }
+
+    @Override
+    int stokMinimum(int id) {
+        return stokMinimum[id];
+    }
+
+    @Override
+    void tulisStok(int id, int stokBaru) {
+        stok[id] = stokBaru;
+    }
+
+    @Override
+    void tulisAktif(int id, boolean aktif) {
+        setBit(this.aktif, id, aktif);
+    }
+
+    @Override
+    void siapkanSlot(int id) {
+        if (id == kode.length) {
+            int kapasitas = kode.length * 2;
+            kode = Arrays.copyOf(kode, kapasitas);
+            nama = Arrays.copyOf(nama, kapasitas);
+            kategori = Arrays.copyOf(kategori, kapasitas);
+            hargaMinor = Arrays.copyOf(hargaMinor, kapasitas);
+            stok = Arrays.copyOf(stok, kapasitas);
+            stokMinimum = Arrays.copyOf(stokMinimum, kapasitas);
+            terpakai = Arrays.copyOf(terpakai, kapasitas / 64);
+            aktif = Arrays.copyOf(aktif, kapasitas / 64);
+        }
+    }
+
+    @Override
+    void kosongkan(int id) {
+        setBit(terpakai, id, false);
+        setBit(aktif, id, false);
+        kode[id] = null;
+        nama[id] = null;
+        kategori[id] = null;
+        hargaMinor[id] = 0;
+        stok[id] = 0;
+        stokMinimum[id] = 0;
+    }
+
+    private static boolean getBit(long[] bitset, int id) {
+        return (bitset[id >>> 6] & (1L << id)) != 0;
+    }
+
+    private static void setBit(long[] bitset, int id, boolean nilai) {
+        if (nilai) {
+            bitset[id >>> 6] |= 1L << id;
+        } else {
+            bitset[id >>> 6] &= ~(1L << id);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.Uang;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+// Implementasi RepositoryProduk di memori dengan indeks sekunder.
+// cariByKode O(1) lewat map utama; kategori, stok menipis dan stok habis
+// dilayani dari indeks yang diperbarui setiap simpan, updateStok dan hapus.
+// Pencarian nama (substring/awalan) dilayani IndeksNama; paginasi keyset
+// dilayani himpunan kode terurut.
+// Total stok dan nilai produk aktif juga dipelihara bertahap (O(1) saat dibaca).
+// simpan menyimpan salinan, jadi objek milik pemanggil boleh diubah sesudahnya.
+// Produk yang dikembalikan cari*/stream* adalah instance yang tersimpan (tanpa
+// salinan demi jalur panas): jangan diubah langsung, karena setStok/setAktif/
+// setKategori di luar repository melewati indeks dan agregat. Ubah lewat
+// simpan, updateStok atau updateAktif.
+public class RepositoryProdukMemori implements RepositoryProduk, AgregatInventaris {
+    private final Map<String, Produk> produkByKode = new ConcurrentHashMap<>();
+    private final Map<String, Set<Produk>> indeksKategori = new ConcurrentHashMap<>();
+    private final Set<Produk> indeksStokMenipis = ConcurrentHashMap.newKeySet();
+    private final Set<Produk> indeksStokHabis = ConcurrentHashMap.newKeySet();
+    private final IndeksNama indeksNama = new IndeksNama();
+    private final NavigableSet<String> kodeTerurut = new ConcurrentSkipListSet<>();
+    // Adder tidak berebut antar thread; nilai dijumlah dalam satuan terkecil
+    // (long) sehingga tetap eksak berapa pun urutan update-nya
+    private final LongAdder totalStokAktif = new LongAdder();
+    private final LongAdder totalNilaiAktifMinor = new LongAdder();
+
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null || produk.getKode() == null) {
+            return false;
+        }
+        Produk salinan = produk.salin();
+        // compute mengunci bucket kode ini sehingga indeks untuk satu produk
+        // selalu diperbarui secara atomik terhadap update lain pada kode yang sama.
+        // Isi lambda tidak pernah memblok; indeks nama (ReentrantReadWriteLock)
+        // disinkronkan sesudah monitor bucket dilepas agar virtual thread yang
+        // menunggu kunci indeks tidak mem-pin carrier-nya
+        produkByKode.compute(salinan.getKode(), (kode, lama) -> {
+            if (lama != null) {
+                hapusDariIndeks(lama);
+            }
+            tambahKeIndeks(salinan);
+            kodeTerurut.add(kode);
+            return salinan;
+        });
+        indeksNama.sinkronkan(salinan.getKode(), produkByKode::get);
+        return true;
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        if (kode == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(produkByKode.get(kode));
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        return indeksNama.cariSubstring(nama, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama, int batas) {
+        return indeksNama.cariSubstring(nama, batas);
+    }
+
+    @Override
+    public List<Produk> cariByAwalanNama(String awalan, int batas) {
+        return indeksNama.cariAwalan(awalan, batas);
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        if (kategori == null) {
+            return new ArrayList<>();
+        }
+        Set<Produk> produk = indeksKategori.get(kategori);
+        return produk == null ? new ArrayList<>() : new ArrayList<>(produk);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return new ArrayList<>(indeksStokMenipis);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return new ArrayList<>(indeksStokHabis);
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        if (kode == null) {
+            return false;
+        }
+        boolean[] terhapus = new boolean[1];
+        produkByKode.computeIfPresent(kode, (k, lama) -> {
+            hapusDariIndeks(lama);
+            kodeTerurut.remove(k);
+            terhapus[0] = true;
+            return null;
+        });
+        if (terhapus[0]) {
+            indeksNama.sinkronkan(kode, produkByKode::get);
+        }
+        return terhapus[0];
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        if (kode == null || stokBaru < 0) {
+            return false;
+        }
+        boolean[] berhasil = new boolean[1];
+        produkByKode.computeIfPresent(kode, (k, produk) -> {
+            kurangiAgregat(produk);
+            produk.setStok(stokBaru);
+            tambahAgregat(produk);
+            indeksUlangStok(produk);
+            berhasil[0] = true;
+            return produk;
+        });
+        return berhasil[0];
+    }
+
+    @Override
+    public boolean updateAktif(String kode, boolean aktif) {
+        if (kode == null) {
+            return false;
+        }
+        boolean[] berhasil = new boolean[1];
+        produkByKode.computeIfPresent(kode, (k, produk) -> {
+            kurangiAgregat(produk);
+            produk.setAktif(aktif);
+            tambahAgregat(produk);
+            indeksUlangStok(produk);
+            berhasil[0] = true;
+            return produk;
+        });
+        return berhasil[0];
+    }
+
+    // Jalur bulk: satu get per kode tanpa Optional, map hasil berukuran pas
+    @Override
+    public Map<String, Produk> cariByKodeBatch(Collection<String> daftarKode) {
+        Map<String, Produk> hasil = new HashMap<>(daftarKode.size() * 4 / 3 + 1);
+        for (String kode : daftarKode) {
+            Produk produk = kode == null ? null : produkByKode.get(kode);
+            if (produk != null) {
+                hasil.put(kode, produk);
+            }
+        }
+        return hasil;
+    }
+
+    // Setiap kode tetap diubah atomik di bucket-nya (stok dan indeks stok),
+    // tetapi selisih agregat dikumpulkan dan ditambahkan sekali per batch:
+    // dua LongAdder.add untuk seluruh batch, bukan empat per kode. Selama
+    // batch berjalan agregat bisa tertinggal dari produk yang sudah diubah,
+    // sama seperti pembacaan agregat yang menyela updateStok tunggal
+    @Override
+    public Set<String> updateStokBatch(Map<String, Integer> stokBaruPerKode) {
+        Set<String> berhasil = new HashSet<>(stokBaruPerKode.size() * 4 / 3 + 1);
+        long[] selisih = new long[2];
+        for (Map.Entry<String, Integer> entry : stokBaruPerKode.entrySet()) {
+            String kode = entry.getKey();
+            Integer stokBaru = entry.getValue();
+            if (kode == null || stokBaru == null || stokBaru < 0) {
+                continue;
+            }
+            Produk diubah = produkByKode.computeIfPresent(kode, (k, produk) -> {
+                if (produk.isAktif()) {
+                    selisih[0] += stokBaru - produk.getStok();
+                    selisih[1] += Uang.kali(produk.getHargaMinor(), stokBaru)
+                            - Uang.kali(produk.getHargaMinor(), produk.getStok());
+                }
+                produk.setStok(stokBaru);
+                indeksUlangStok(produk);
+                return produk;
+            });
+            if (diubah != null) {
+                berhasil.add(kode);
+            }
+        }
+        totalStokAktif.add(selisih[0]);
+        totalNilaiAktifMinor.add(selisih[1]);
+        return berhasil;
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        return new ArrayList<>(produkByKode.values());
+    }
+
+    // Stream langsung di atas map/indeks (weakly consistent), tanpa salinan List
+    @Override
+    public Stream<Produk> streamSemua() {
+        return produkByKode.values().stream();
+    }
+
+    @Override
+    public Stream<Produk> streamByKategori(String kategori) {
+        Set<Produk> produk = kategori == null ? null : indeksKategori.get(kategori);
+        return produk == null ? Stream.empty() : produk.stream();
+    }
+
+    @Override
+    public Stream<Produk> streamStokMenipis() {
+        return indeksStokMenipis.stream();
+    }
+
+    @Override
+    public List<Produk> cariSemuaHalaman(String setelahKode, int ukuran) {
+        List<Produk> hasil = new ArrayList<>();
+        NavigableSet<String> sisa = setelahKode == null ? kodeTerurut : kodeTerurut.tailSet(setelahKode, false);
+        for (String kode : sisa) {
+            if (hasil.size() >= ukuran) {
+                break;
+            }
+            // Kode bisa terhapus di antara iterasi dan get
+            Produk produk = produkByKode.get(kode);
+            if (produk != null) {
+                hasil.add(produk);
+            }
+        }
+        return hasil;
+    }
+
+    public int jumlahProduk() {
+        return produkByKode.size();
+    }
+
+    @Override
+    public long totalStokAktif() {
+        return totalStokAktif.sum();
+    }
+
+    @Override
+    public long totalNilaiAktifMinor() {
+        return totalNilaiAktifMinor.sum();
+    }
+
+    private void tambahAgregat(Produk produk) {
+        if (produk.isAktif()) {
+            totalStokAktif.add(produk.getStok());
+            totalNilaiAktifMinor.add(Uang.kali(produk.getHargaMinor(), produk.getStok()));
+        }
+    }
+
+    private void kurangiAgregat(Produk produk) {
+        if (produk.isAktif()) {
+            totalStokAktif.add(-produk.getStok());
+            totalNilaiAktifMinor.add(-Uang.kali(produk.getHargaMinor(), produk.getStok()));
+        }
+    }
+
+    private void tambahKeIndeks(Produk produk) {
+        tambahAgregat(produk);
+        if (produk.getKategori() != null) {
+            indeksKategori.computeIfAbsent(produk.getKategori(), k -> ConcurrentHashMap.newKeySet())
+                    .add(produk);
+        }
+        indeksUlangStok(produk);
+    }
+
+    private void hapusDariIndeks(Produk produk) {
+        kurangiAgregat(produk);
+        if (produk.getKategori() != null) {
+            indeksKategori.computeIfPresent(produk.getKategori(), (k, set) -> {
+                set.remove(produk);
+                return set.isEmpty() ? null : set;
+            });
+        }
+        indeksStokMenipis.remove(produk);
+        indeksStokHabis.remove(produk);
+    }
+
+    private void indeksUlangStok(Produk produk) {
+        if (produk.isStokMenipis()) {
+            indeksStokMenipis.add(produk);
+        } else {
+            indeksStokMenipis.remove(produk);
+        }
+        if (produk.isStokHabis()) {
+            indeksStokHabis.add(produk);
+        } else {
+            indeksStokHabis.remove(produk);
+        }
+    }
+}
@@ -0,0 +1,482 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.KodeProduk;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.Uang;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// RepositoryProduk dengan data produk di luar heap (direct ByteBuffer) agar
+// katalog puluhan juta produk tidak menjadi jutaan objek kecil yang harus
+// dipindai GC. Setiap produk adalah record 48 byte di blok memori tetap:
+// kode terkemas (KodeProduk), harga, stok, stokMinimum, status aktif, id
+// kategori (kamus kecil di heap) dan posisi nama. Nama disimpan UTF-8 di
+// area nama terpisah dengan kapasitas kelas 2^k (minimal 16 byte); area
+// yang dilepas karena produk dihapus atau nama tumbuh melewati kapasitasnya
+// masuk daftar bebas kelasnya dan dipakai ulang sebelum area baru diambil,
+// sehingga area nama tidak tumbuh tanpa batas.
+// Hanya kode yang bisa dikemas (3-10 alfanumerik) yang diterima simpan.
+// getStok, updateStok dan TampilanProduk (flyweight) tidak mengalokasi objek;
+// metode RepositoryProduk lain mengembalikan salinan Produk (lihat
+// RepositoryProdukSlot untuk indeks, id bebas, pemindaian dan penguncian).
+// Dipilih direct ByteBuffer karena MemorySegment (FFM) masih preview di Java 21.
+public class RepositoryProdukOffHeap extends RepositoryProdukSlot {
+    private static final int UKURAN_RECORD = 48;
+    private static final int OFF_KODE = 0;
+    private static final int OFF_HARGA = 8;
+    private static final int OFF_POSISI_NAMA = 16;
+    private static final int OFF_STOK = 24;
+    private static final int OFF_STOK_MINIMUM = 28;
+    private static final int OFF_KATEGORI = 32;
+    private static final int OFF_PANJANG_NAMA = 36;
+    private static final int OFF_KAPASITAS_NAMA = 40;
+    private static final int OFF_AKTIF = 44;
+    private static final int GESER_BLOK = 15;
+    private static final int RECORD_PER_BLOK = 1 << GESER_BLOK;
+    private static final int GESER_BLOK_NAMA = 22;
+    private static final int UKURAN_BLOK_NAMA = 1 << GESER_BLOK_NAMA;
+    private static final int GESER_NAMA_MINIMUM = 4;
+    private static final int JUMLAH_KELAS_NAMA = GESER_BLOK_NAMA - GESER_NAMA_MINIMUM + 1;
+    private static final int TANPA = -1;
+
+    private ByteBuffer[] blokRecord = new ByteBuffer[4];
+    private int jumlahBlokRecord;
+    private ByteBuffer[] blokNama = new ByteBuffer[4];
+    private long ujungNama;
+    // Per kelas kapasitas: tumpukan posisi area nama yang bebas
+    private final long[][] areaNamaBebas = new long[JUMLAH_KELAS_NAMA][];
+    private final int[] jumlahAreaNamaBebas = new int[JUMLAH_KELAS_NAMA];
+    private final List<String> kategoriById = new ArrayList<>();
+    private final Map<String, Integer> idByKategori = new HashMap<>();
+
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null) {
+            return false;
+        }
+        long kode = KodeProduk.kemas(produk.getKode());
+        if (kode == KodeProduk.TIDAK_SAH) {
+            return false;
+        }
+        byte[] nama = produk.getNama() == null ? null : produk.getNama().getBytes(StandardCharsets.UTF_8);
+        if (nama != null && nama.length > UKURAN_BLOK_NAMA) {
+            return false;
+        }
+        kunci.writeLock().lock();
+        try {
+            int id = idByKode.get(kode);
+            if (id == PetaKodeId.TIDAK_ADA) {
+                // Slot baru atau bekas hapus selalu berisi nol
+                id = alokasiId();
+                idByKode.put(kode, id);
+            }
+            ByteBuffer blok = blok(id);
+            int posisi = posisi(id);
+            blok.putLong(posisi + OFF_KODE, kode);
+            blok.putLong(posisi + OFF_HARGA, produk.getHargaMinor());
+            blok.putInt(posisi + OFF_STOK, produk.getStok());
+            blok.putInt(posisi + OFF_STOK_MINIMUM, produk.getStokMinimum());
+            blok.putInt(posisi + OFF_KATEGORI, idKategori(produk.getKategori()));
+            blok.put(posisi + OFF_AKTIF, (byte) (produk.isAktif() ? 1 : 0));
+            tulisNama(blok, posisi, nama);
+            return true;
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    // Stok tanpa membentuk Produk; -1 jika kode tidak ada
+    public int getStok(String kode) {
+        kunci.readLock().lock();
+        try {
+            int id = idByKode.get(kode);
+            return id == PetaKodeId.TIDAK_ADA ? TANPA : blok(id).getInt(posisi(id) + OFF_STOK);
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    // Kategori dibandingkan sebagai id kamus, tanpa membaca String
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        if (kategori == null) {
+            return new ArrayList<>();
+        }
+        Integer idKategori;
+        kunci.readLock().lock();
+        try {
+            idKategori = idByKategori.get(kategori);
+        } finally {
+            kunci.readLock().unlock();
+        }
+        if (idKategori == null) {
+            return new ArrayList<>();
+        }
+        return pindai(id -> blok(id).getInt(posisi(id) + OFF_KATEGORI) == idKategori);
+    }
+
+    @Override
+    public long totalStokAktif() {
+        kunci.readLock().lock();
+        try {
+            long total = 0;
+            for (int id = 0; id < jumlahSlot; id++) {
+                ByteBuffer blok = blok(id);
+                int posisi = posisi(id);
+                if (blok.get(posisi + OFF_AKTIF) != 0) {
+                    total += blok.getInt(posisi + OFF_STOK);
+                }
+            }
+            return total;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long totalNilaiAktifMinor() {
+        kunci.readLock().lock();
+        try {
+            long total = 0;
+            for (int id = 0; id < jumlahSlot; id++) {
+                ByteBuffer blok = blok(id);
+                int posisi = posisi(id);
+                if (blok.get(posisi + OFF_AKTIF) != 0) {
+                    total = Uang.tambah(total,
+                            Uang.kali(blok.getLong(posisi + OFF_HARGA), blok.getInt(posisi + OFF_STOK)));
+                }
+            }
+            return total;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    public TampilanProduk tampilan() {
+        return new TampilanProduk();
+    }
+
+    // Mengunjungi semua produk dengan satu flyweight di bawah read lock.
+    // Aksi tidak boleh menulis ke repository ini (read lock tidak bisa
+    // dinaikkan menjadi write lock) dan tidak boleh menyimpan tampilan
+    public void untukSetiap(Consumer<TampilanProduk> aksi) {
+        TampilanProduk tampilan = new TampilanProduk();
+        kunci.readLock().lock();
+        try {
+            for (int id = 0; id < jumlahSlot; id++) {
+                long kode = blok(id).getLong(posisi(id) + OFF_KODE);
+                if (kode != KodeProduk.TIDAK_SAH) {
+                    tampilan.id = id;
+                    tampilan.kode = kode;
+                    aksi.accept(tampilan);
+                }
+            }
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    // Flyweight yang menunjuk satu record off-heap; getter primitif membaca
+    // langsung tanpa alokasi. Bisa diarahkan ulang ke produk lain. Jika
+    // produknya dihapus, getter melempar IllegalStateException
+    public final class TampilanProduk {
+        private int id = TANPA;
+        private long kode = KodeProduk.TIDAK_SAH;
+
+        private TampilanProduk() {
+        }
+
+        public boolean arahkan(String kodeProduk) {
+            kunci.readLock().lock();
+            try {
+                int idBaru = idByKode.get(kodeProduk);
+                if (idBaru == PetaKodeId.TIDAK_ADA) {
+                    return false;
+                }
+                id = idBaru;
+                kode = blok(idBaru).getLong(posisi(idBaru) + OFF_KODE);
+                return true;
+            } finally {
+                kunci.readLock().unlock();
+            }
+        }
+
+        public long getKunciKode() {
+            return kode;
+        }
+
+        public String getKode() {
+            return KodeProduk.buka(kode);
+        }
+
+        public String getNama() {
+            kunci.readLock().lock();
+            try {
+                return bacaNama(blokValid(), posisi(id));
+            } finally {
+                kunci.readLock().unlock();
+            }
+        }
+
+        public String getKategori() {
+            int idKategori = bacaInt(OFF_KATEGORI);
+            kunci.readLock().lock();
+            try {
+                return idKategori == TANPA ? null : kategoriById.get(idKategori);
+            } finally {
+                kunci.readLock().unlock();
+            }
+        }
+
+        public long getHargaMinor() {
+            kunci.readLock().lock();
+            try {
+                return blokValid().getLong(posisi(id) + OFF_HARGA);
+            } finally {
+                kunci.readLock().unlock();
+            }
+        }
+
+        public int getStok() {
+            return bacaInt(OFF_STOK);
+        }
+
+        public int getStokMinimum() {
+            return bacaInt(OFF_STOK_MINIMUM);
+        }
+
+        public boolean isAktif() {
+            kunci.readLock().lock();
+            try {
+                return blokValid().get(posisi(id) + OFF_AKTIF) != 0;
+            } finally {
+                kunci.readLock().unlock();
+            }
+        }
+
+        public boolean isStokHabis() {
+            return getStok() == 0;
+        }
+
+        public boolean isStokMenipis() {
+            kunci.readLock().lock();
+            try {
+                ByteBuffer blok = blokValid();
+                int stok = blok.getInt(posisi(id) + OFF_STOK);
+                return stok > 0 && stok <= blok.getInt(posisi(id) + OFF_STOK_MINIMUM);
+            } finally {
+                kunci.readLock().unlock();
+            }
+        }
+
+        // Salinan Produk biasa (dialokasi di heap)
+        public Produk keProduk() {
+            kunci.readLock().lock();
+            try {
+                blokValid();
+                return bentukProduk(id);
+            } finally {
+                kunci.readLock().unlock();
+            }
+        }
+
+        private int bacaInt(int offset) {
+            kunci.readLock().lock();
+            try {
+                return blokValid().getInt(posisi(id) + offset);
+            } finally {
+                kunci.readLock().unlock();
+            }
+        }
+
+        // Dipanggil dengan read lock dipegang
+        private ByteBuffer blokValid() {
+            if (id == TANPA) {
+                throw new IllegalStateException("Tampilan belum diarahkan ke produk");
+            }
+            ByteBuffer blok = blok(id);
+            if (blok.getLong(posisi(id) + OFF_KODE) != kode) {
+                throw new IllegalStateException("Produk sudah dihapus");
+            }
+            return blok;
+        }
+    }
+
+    @Override
+    boolean terpakai(int id) {
+        return blok(id).getLong(posisi(id) + OFF_KODE) != KodeProduk.TIDAK_SAH;
+    }
+
+    @Override
+    Produk bentukProduk(int id) {
+        ByteBuffer blok = blok(id);
+        int posisi = posisi(id);
+        int idKategori = blok.getInt(posisi + OFF_KATEGORI);
+        Produk produk = new Produk();
+        produk.setKode(KodeProduk.buka(blok.getLong(posisi + OFF_KODE)));
+        produk.setNama(bacaNama(blok, posisi));
+        produk.setKategori(idKategori == TANPA ? null : kategoriById.get(idKategori));
+        produk.setHargaMinor(blok.getLong(posisi + OFF_HARGA));
+        produk.setStok(blok.getInt(posisi + OFF_STOK));
+        produk.setStokMinimum(blok.getInt(posisi + OFF_STOK_MINIMUM));
+        produk.setAktif(blok.get(posisi + OFF_AKTIF) != 0);
+        return produk;
+    }
+
+    @Override
+    String nama(int id) {
+        return bacaNama(blok(id), posisi(id));
+    }
+
+    @Override
+    int stok(int id) {
+        return blok(id).getInt(posisi(id) + OFF_STOK);
+    }
+
+    @Override
+    int stokMinimum(int id) {
+        return blok(id).getInt(posisi(id) + OFF_STOK_MINIMUM);
+    }
+
+    @Override
+    void tulisStok(int id, int stokBaru) {
+        blok(id).putInt(posisi(id) + OFF_STOK, stokBaru);
+    }
+
+    @Override
+    void tulisAktif(int id, boolean aktif) {
+        blok(id).put(posisi(id) + OFF_AKTIF, (byte) (aktif ? 1 : 0));
+    }
+
+    @Override
+    void siapkanSlot(int id) {
+        if (id == jumlahBlokRecord * RECORD_PER_BLOK) {
+            if (jumlahBlokRecord == blokRecord.length) {
+                blokRecord = Arrays.copyOf(blokRecord, blokRecord.length * 2);
+            }
+            blokRecord[jumlahBlokRecord++] = ByteBuffer.allocateDirect(RECORD_PER_BLOK * UKURAN_RECORD)
+                    .order(ByteOrder.nativeOrder());
+        }
+    }
+
+    // Area nama dikembalikan ke daftar bebas, lalu record dinolkan:
+    // kode 0 = slot kosong, stok 0 tidak ikut agregat
+    @Override
+    void kosongkan(int id) {
+        ByteBuffer blok = blok(id);
+        int posisi = posisi(id);
+        lepasNama(blok, posisi);
+        for (int i = 0; i < UKURAN_RECORD; i += 8) {
+            blok.putLong(posisi + i, 0L);
+        }
+    }
+
+    // Ujung area nama yang pernah dipakai, termasuk area yang sedang bebas
+    long ukuranAreaNama() {
+        kunci.readLock().lock();
+        try {
+            return ujungNama;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    private ByteBuffer blok(int id) {
+        return blokRecord[id >>> GESER_BLOK];
+    }
+
+    private static int posisi(int id) {
+        return (id & (RECORD_PER_BLOK - 1)) * UKURAN_RECORD;
+    }
+
+    private int idKategori(String kategori) {
+        if (kategori == null) {
+            return TANPA;
+        }
+        return idByKategori.computeIfAbsent(kategori, k -> {
+            kategoriById.add(k);
+            return kategoriById.size() - 1;
+        });
+    }
+
+    private String bacaNama(ByteBuffer blok, int posisi) {
+        int panjang = blok.getInt(posisi + OFF_PANJANG_NAMA);
+        if (panjang <= 0) {
+            return panjang == TANPA ? null : "";
+        }
+        long posisiNama = blok.getLong(posisi + OFF_POSISI_NAMA);
+        byte[] isi = new byte[panjang];
+        blokNama[(int) (posisiNama >>> GESER_BLOK_NAMA)].get((int) (posisiNama & (UKURAN_BLOK_NAMA - 1)), isi);
+        return new String(isi, StandardCharsets.UTF_8);
+    }
+
+    // Dipanggil dengan write lock dipegang. Nama ditimpa di tempat jika muat
+    // kapasitas areanya; jika tidak, area lama dilepas dan area kelas yang
+    // cukup diambil
+    private void tulisNama(ByteBuffer blok, int posisi, byte[] nama) {
+        if (nama == null || nama.length == 0) {
+            blok.putInt(posisi + OFF_PANJANG_NAMA, nama == null ? TANPA : 0);
+            return;
+        }
+        if (nama.length > blok.getInt(posisi + OFF_KAPASITAS_NAMA)) {
+            lepasNama(blok, posisi);
+            int kelas = kelasNama(nama.length);
+            blok.putLong(posisi + OFF_POSISI_NAMA, ambilAreaNama(kelas));
+            blok.putInt(posisi + OFF_KAPASITAS_NAMA, 1 << (kelas + GESER_NAMA_MINIMUM));
+        }
+        long posisiNama = blok.getLong(posisi + OFF_POSISI_NAMA);
+        blokNama[(int) (posisiNama >>> GESER_BLOK_NAMA)].put((int) (posisiNama & (UKURAN_BLOK_NAMA - 1)), nama);
+        blok.putInt(posisi + OFF_PANJANG_NAMA, nama.length);
+    }
+
+    private void lepasNama(ByteBuffer blok, int posisi) {
+        int kapasitas = blok.getInt(posisi + OFF_KAPASITAS_NAMA);
+        if (kapasitas == 0) {
+            return;
+        }
+        int kelas = Integer.numberOfTrailingZeros(kapasitas) - GESER_NAMA_MINIMUM;
+        long[] bebas = areaNamaBebas[kelas];
+        if (bebas == null) {
+            bebas = areaNamaBebas[kelas] = new long[16];
+        } else if (jumlahAreaNamaBebas[kelas] == bebas.length) {
+            bebas = areaNamaBebas[kelas] = Arrays.copyOf(bebas, bebas.length * 2);
+        }
+        bebas[jumlahAreaNamaBebas[kelas]++] = blok.getLong(posisi + OFF_POSISI_NAMA);
+        blok.putInt(posisi + OFF_KAPASITAS_NAMA, 0);
+    }
+
+    private long ambilAreaNama(int kelas) {
+        if (jumlahAreaNamaBebas[kelas] > 0) {
+            return areaNamaBebas[kelas][--jumlahAreaNamaBebas[kelas]];
+        }
+        int kapasitas = 1 << (kelas + GESER_NAMA_MINIMUM);
+        // Area tidak pernah melintasi batas blok nama
+        long sisaBlok = UKURAN_BLOK_NAMA - (ujungNama & (UKURAN_BLOK_NAMA - 1));
+        if (kapasitas > sisaBlok) {
+            ujungNama += sisaBlok;
+        }
+        int indeksBlok = (int) (ujungNama >>> GESER_BLOK_NAMA);
+        if (indeksBlok == blokNama.length) {
+            blokNama = Arrays.copyOf(blokNama, blokNama.length * 2);
+        }
+        if (blokNama[indeksBlok] == null) {
+            blokNama[indeksBlok] = ByteBuffer.allocateDirect(UKURAN_BLOK_NAMA);
+        }
+        long posisiNama = ujungNama;
+        ujungNama += kapasitas;
+        return posisiNama;
+    }
+
+    // Kelas k menampung nama sampai 2^(k + GESER_NAMA_MINIMUM) byte
+    private static int kelasNama(int panjang) {
+        return Math.max(0, 32 - Integer.numberOfLeadingZeros(panjang - 1) - GESER_NAMA_MINIMUM);
+    }
+}
@@ -0,0 +1,201 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// Kerangka bersama repository yang menyimpan setiap produk di slot ber-id
+// padat (RepositoryProdukKolom, RepositoryProdukOffHeap): indeks kode -> id
+// (PetaKodeId), daftar id bekas hapus yang dipakai ulang, pemindaian slot,
+// serta operasi satu produk. Subkelas menentukan tata letak data per slot.
+// Produk yang dikembalikan adalah salinan; perubahan harus lewat simpan,
+// updateStok atau updateAktif. Tulis memakai write lock, baca read lock.
+abstract class RepositoryProdukSlot implements RepositoryProduk, AgregatInventaris {
+    final ReentrantReadWriteLock kunci = new ReentrantReadWriteLock();
+    final PetaKodeId idByKode = new PetaKodeId();
+    // Batas atas id yang pernah dipakai; slot di bawahnya bisa kosong
+    int jumlahSlot;
+    private int[] idBebas = new int[16];
+    private int jumlahIdBebas;
+
+    // Semua metode abstrak dipanggil dengan kunci dipegang
+    abstract boolean terpakai(int id);
+
+    abstract Produk bentukProduk(int id);
+
+    abstract String nama(int id);
+
+    abstract int stok(int id);
+
+    abstract int stokMinimum(int id);
+
+    abstract void tulisStok(int id, int stok);
+
+    abstract void tulisAktif(int id, boolean aktif);
+
+    // Menyiapkan penyimpanan untuk id baru (= jumlahSlot)
+    abstract void siapkanSlot(int id);
+
+    // Mengosongkan slot yang baru dihapus; kolom numerik harus nol agar slot
+    // kosong tidak ikut terhitung oleh pemindaian yang tidak mengecek terpakai
+    abstract void kosongkan(int id);
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        kunci.readLock().lock();
+        try {
+            int id = idByKode.get(kode);
+            return id == PetaKodeId.TIDAK_ADA ? Optional.empty() : Optional.of(bentukProduk(id));
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        if (nama == null) {
+            return new ArrayList<>();
+        }
+        String kunciNama = nama.toLowerCase(Locale.ROOT);
+        return pindai(id -> {
+            String namaProduk = nama(id);
+            return namaProduk != null && namaProduk.toLowerCase(Locale.ROOT).contains(kunciNama);
+        });
+    }
+
+    // 0 < stok <= stokMinimum, sama dengan Produk.isStokMenipis
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return pindai(id -> {
+            int stok = stok(id);
+            return stok > 0 && stok <= stokMinimum(id);
+        });
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return pindai(id -> stok(id) == 0);
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        return pindai(id -> true);
+    }
+
+    // Produk dibentuk satu per satu saat stream dikonsumsi
+    @Override
+    public Stream<Produk> streamSemua() {
+        int batas;
+        kunci.readLock().lock();
+        try {
+            batas = jumlahSlot;
+        } finally {
+            kunci.readLock().unlock();
+        }
+        return IntStream.range(0, batas).mapToObj(this::bentukProdukJikaAda).filter(Objects::nonNull);
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        kunci.writeLock().lock();
+        try {
+            int id = idByKode.hapus(kode);
+            if (id == PetaKodeId.TIDAK_ADA) {
+                return false;
+            }
+            kosongkan(id);
+            if (jumlahIdBebas == idBebas.length) {
+                idBebas = Arrays.copyOf(idBebas, idBebas.length * 2);
+            }
+            idBebas[jumlahIdBebas++] = id;
+            return true;
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        if (stokBaru < 0) {
+            return false;
+        }
+        kunci.writeLock().lock();
+        try {
+            int id = idByKode.get(kode);
+            if (id == PetaKodeId.TIDAK_ADA) {
+                return false;
+            }
+            tulisStok(id, stokBaru);
+            return true;
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean updateAktif(String kode, boolean aktif) {
+        kunci.writeLock().lock();
+        try {
+            int id = idByKode.get(kode);
+            if (id == PetaKodeId.TIDAK_ADA) {
+                return false;
+            }
+            tulisAktif(id, aktif);
+            return true;
+        } finally {
+            kunci.writeLock().unlock();
+        }
+    }
+
+    public int jumlahProduk() {
+        kunci.readLock().lock();
+        try {
+            return idByKode.ukuran();
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    // Menyapu semua slot terpakai di bawah read lock
+    List<Produk> pindai(IntPredicate syarat) {
+        kunci.readLock().lock();
+        try {
+            List<Produk> hasil = new ArrayList<>();
+            for (int id = 0; id < jumlahSlot; id++) {
+                if (terpakai(id) && syarat.test(id)) {
+                    hasil.add(bentukProduk(id));
+                }
+            }
+            return hasil;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+
+    // Dipanggil dengan write lock dipegang. Id bekas hapus didahulukan
+    int alokasiId() {
+        if (jumlahIdBebas > 0) {
+            return idBebas[--jumlahIdBebas];
+        }
+        siapkanSlot(jumlahSlot);
+        return jumlahSlot++;
+    }
+
+    private Produk bentukProdukJikaAda(int id) {
+        kunci.readLock().lock();
+        try {
+            return id < jumlahSlot && terpakai(id) ? bentukProduk(id) : null;
+        } finally {
+            kunci.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.util.MetrikInventaris;
+import com.praktikum.whitebox.util.MetrikInventaris.OperasiRepository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Dekorator RepositoryProduk yang mencatat waktu panggilan ke delegate lewat
+// MetrikInventaris.catatRepository. Hanya panggilan yang disampel yang
+// membaca jam; sisanya langsung diteruskan. Varian stream, paginasi dan
+// pencarian berbatas diteruskan tanpa diukur (waktunya bergantung pada
+// pemakai stream, bukan pada repository).
+public class RepositoryProdukTerukur implements RepositoryProduk, AgregatInventaris, Closeable {
+    private final RepositoryProduk delegate;
+    private final MetrikInventaris metrik;
+
+    public RepositoryProdukTerukur(RepositoryProduk delegate, MetrikInventaris metrik) {
+        if (delegate == null || metrik == null) {
+            throw new IllegalArgumentException("Delegate dan metrik wajib diisi");
+        }
+        this.delegate = delegate;
+        this.metrik = metrik;
+    }
+
+    @Override
+    public boolean simpan(Produk produk) {
+        if (!metrik.sampel()) {
+            return delegate.simpan(produk);
+        }
+        return ukur(OperasiRepository.SIMPAN, () -> delegate.simpan(produk));
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        if (!metrik.sampel()) {
+            return delegate.cariByKode(kode);
+        }
+        return ukur(OperasiRepository.CARI_BY_KODE, () -> delegate.cariByKode(kode));
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        if (!metrik.sampel()) {
+            return delegate.cariByNama(nama);
+        }
+        return ukur(OperasiRepository.CARI_BY_NAMA, () -> delegate.cariByNama(nama));
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        if (!metrik.sampel()) {
+            return delegate.cariByKategori(kategori);
+        }
+        return ukur(OperasiRepository.CARI_BY_KATEGORI, () -> delegate.cariByKategori(kategori));
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        if (!metrik.sampel()) {
+            return delegate.cariProdukStokMenipis();
+        }
+        return ukur(OperasiRepository.CARI_STOK_MENIPIS, delegate::cariProdukStokMenipis);
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        if (!metrik.sampel()) {
+            return delegate.cariProdukStokHabis();
+        }
+        return ukur(OperasiRepository.CARI_STOK_HABIS, delegate::cariProdukStokHabis);
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        if (!metrik.sampel()) {
+            return delegate.hapus(kode);
+        }
+        return ukur(OperasiRepository.HAPUS, () -> delegate.hapus(kode));
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        if (!metrik.sampel()) {
+            return delegate.updateStok(kode, stokBaru);
+        }
+        return ukur(OperasiRepository.UPDATE_STOK, () -> delegate.updateStok(kode, stokBaru));
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        if (!metrik.sampel()) {
+            return delegate.cariSemua();
+        }
+        return ukur(OperasiRepository.CARI_SEMUA, delegate::cariSemua);
+    }
+
+    @Override
+    public boolean updateAktif(String kode, boolean aktif) {
+        if (!metrik.sampel()) {
+            return delegate.updateAktif(kode, aktif);
+        }
+        return ukur(OperasiRepository.UPDATE_AKTIF, () -> delegate.updateAktif(kode, aktif));
+    }
+
+    @Override
+    public Map<String, Produk> cariByKodeBatch(Collection<String> daftarKode) {
+        if (!metrik.sampel()) {
+            return delegate.cariByKodeBatch(daftarKode);
+        }
+        return ukur(OperasiRepository.CARI_BY_KODE_BATCH, () -> delegate.cariByKodeBatch(daftarKode));
+    }
+
+    @Override
+    public Set<String> updateStokBatch(Map<String, Integer> stokBaruPerKode) {
+        if (!metrik.sampel()) {
+            return delegate.updateStokBatch(stokBaruPerKode);
+        }
+        return ukur(OperasiRepository.UPDATE_STOK_BATCH, () -> delegate.updateStokBatch(stokBaruPerKode));
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama, int batas) {
+        return delegate.cariByNama(nama, batas);
+    }
+
+    @Override
+    public List<Produk> cariByAwalanNama(String awalan, int batas) {
+        return delegate.cariByAwalanNama(awalan, batas);
+    }
+
+    @Override
+    public Stream<Produk> streamSemua() {
+        return delegate.streamSemua();
+    }
+
+    @Override
+    public Stream<Produk> streamByKategori(String kategori) {
+        return delegate.streamByKategori(kategori);
+    }
+
+    @Override
+    public Stream<Produk> streamStokMenipis() {
+        return delegate.streamStokMenipis();
+    }
+
+    @Override
+    public List<Produk> cariSemuaHalaman(String setelahKode, int ukuran) {
+        return delegate.cariSemuaHalaman(setelahKode, ukuran);
+    }
+
+    @Override
+    public long totalStokAktif() {
+        return AgregatInventaris.totalStokAktifDari(delegate);
+    }
+
+    @Override
+    public long totalNilaiAktifMinor() {
+        return AgregatInventaris.totalNilaiAktifMinorDari(delegate);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (delegate instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    // Panggilan yang gagal dengan exception tetap tercatat waktunya
+    private <T> T ukur(OperasiRepository operasi, Supplier<T> panggilan) {
+        long mulai = System.nanoTime();
+        try {
+            return panggilan.get();
+        } finally {
+            metrik.catatRepository(operasi, System.nanoTime() - mulai);
+        }
+    }
+}
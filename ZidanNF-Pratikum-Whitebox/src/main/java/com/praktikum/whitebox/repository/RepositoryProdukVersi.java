@@ -0,0 +1,150 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.SnapshotProduk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// RepositoryProduk copy-on-write berversi. Isi katalog adalah KatalogVersi
+// yang tidak pernah berubah (SnapshotProduk di atas peta persisten HAMT);
+// penulis membentuk versi baru dari versi terkini lalu menerbitkannya dengan
+// satu compareAndSet, diulang jika kalah balapan dengan penulis lain.
+// Pembaca cukup mengambil versi() sekali dan membaca sebanyak apa pun tanpa
+// kunci: tidak pernah melihat produk setengah diperbarui, dan agregat,
+// daftar produk serta pencarian dari versi yang sama saling konsisten.
+// Produk yang dikembalikan metode RepositoryProduk adalah salinan.
+public class RepositoryProdukVersi implements RepositoryProduk, AgregatInventaris {
+    private final AtomicReference<KatalogVersi> terkini = new AtomicReference<>(KatalogVersi.KOSONG);
+
+    // Versi terbaru yang sudah diterbitkan
+    public KatalogVersi versi() {
+        return terkini.get();
+    }
+
+    @Override
+    public boolean simpan(Produk produk) {
+        if (produk == null || produk.getKode() == null) {
+            return false;
+        }
+        SnapshotProduk baru = SnapshotProduk.dari(produk);
+        return terbitkan(versi -> ganti(versi, versi.get(baru.kode()), baru));
+    }
+
+    @Override
+    public Optional<Produk> cariByKode(String kode) {
+        return versi().cari(kode).map(SnapshotProduk::keProduk);
+    }
+
+    @Override
+    public List<Produk> cariByNama(String nama) {
+        if (nama == null) {
+            return new ArrayList<>();
+        }
+        String kunciNama = nama.toLowerCase(Locale.ROOT);
+        return cari(p -> p.nama() != null && p.nama().toLowerCase(Locale.ROOT).contains(kunciNama));
+    }
+
+    @Override
+    public List<Produk> cariByKategori(String kategori) {
+        if (kategori == null) {
+            return new ArrayList<>();
+        }
+        return cari(p -> kategori.equals(p.kategori()));
+    }
+
+    @Override
+    public List<Produk> cariProdukStokMenipis() {
+        return cari(p -> p.stok() > 0 && p.stok() <= p.stokMinimum());
+    }
+
+    @Override
+    public List<Produk> cariProdukStokHabis() {
+        return cari(p -> p.stok() == 0);
+    }
+
+    @Override
+    public boolean hapus(String kode) {
+        return terbitkan(versi -> {
+            SnapshotProduk lama = versi.get(kode);
+            return lama == null ? null : versi.tanpa(lama);
+        });
+    }
+
+    @Override
+    public boolean updateStok(String kode, int stokBaru) {
+        if (stokBaru < 0) {
+            return false;
+        }
+        return terbitkan(versi -> {
+            SnapshotProduk lama = versi.get(kode);
+            return lama == null ? null : ganti(versi, lama, lama.denganStok(stokBaru));
+        });
+    }
+
+    @Override
+    public boolean updateAktif(String kode, boolean aktif) {
+        return terbitkan(versi -> {
+            SnapshotProduk lama = versi.get(kode);
+            return lama == null ? null : ganti(versi, lama, lama.denganAktif(aktif));
+        });
+    }
+
+    @Override
+    public List<Produk> cariSemua() {
+        return cari(p -> true);
+    }
+
+    @Override
+    public Stream<Produk> streamSemua() {
+        return versi().stream().map(SnapshotProduk::keProduk);
+    }
+
+    @Override
+    public long totalStokAktif() {
+        return versi().getTotalStokAktif();
+    }
+
+    @Override
+    public long totalNilaiAktifMinor() {
+        return versi().getTotalNilaiAktifMinor();
+    }
+
+    private List<Produk> cari(Predicate<SnapshotProduk> syarat) {
+        try (Stream<SnapshotProduk> semua = versi().stream()) {
+            return semua.filter(syarat).map(SnapshotProduk::keProduk)
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    // Nilai yang sama persis tidak menerbitkan versi baru
+    private static KatalogVersi ganti(KatalogVersi versi, SnapshotProduk lama, SnapshotProduk baru) {
+        return baru.equals(lama) ? versi : versi.dengan(lama, baru);
+    }
+
+    // Perubahan tidak boleh punya efek samping karena bisa dijalankan ulang.
+    // null berarti produk tidak ada (false); versi yang sama berarti produk
+    // ada tetapi tidak ada yang berubah (true, tanpa versi baru)
+    private boolean terbitkan(Function<KatalogVersi, KatalogVersi> perubahan) {
+        while (true) {
+            KatalogVersi lama = terkini.get();
+            KatalogVersi baru = perubahan.apply(lama);
+            if (baru == null) {
+                return false;
+            }
+            if (baru == lama) {
+                return true;
+            }
+            if (terkini.compareAndSet(lama, baru)) {
+                return true;
+            }
+        }
+    }
+}
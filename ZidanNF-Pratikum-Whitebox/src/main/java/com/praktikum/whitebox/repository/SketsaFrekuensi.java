@@ -0,0 +1,63 @@
+package com.praktikum.whitebox.repository;
+
+// Count-min sketch dengan counter 4-bit (16 counter per long) untuk
+// memperkirakan frekuensi akses kunci dalam jendela waktu terakhir.
+// Setelah ukuranSampel penambahan, semua counter dibagi dua (aging) sehingga
+// kunci yang dulu populer tapi kini jarang diakses perlahan kehilangan bobot.
+// Tidak thread-safe; pemakai memegang kuncinya sendiri.
+final class SketsaFrekuensi {
+    private static final long[] SEED = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long MASK_SETENGAH = 0x7777_7777_7777_7777L;
+    private static final int MAKS_COUNTER = 15;
+
+    private final long[] tabel;
+    private final int mask;
+    private final int ukuranSampel;
+    private int jumlahTambah;
+
+    SketsaFrekuensi(int kapasitas) {
+        int minimal = Math.max(kapasitas, 16);
+        int panjang = Integer.highestOneBit(minimal - 1) << 1;
+        this.tabel = new long[panjang];
+        this.mask = panjang - 1;
+        this.ukuranSampel = 10 * minimal;
+    }
+
+    int perkiraan(Object kunci) {
+        int hash = kunci.hashCode();
+        int minimum = MAKS_COUNTER;
+        for (long seed : SEED) {
+            long campur = campur(hash, seed);
+            int indeks = (int) (campur >>> 32) & mask;
+            int geser = (int) (campur & 15) << 2;
+            minimum = Math.min(minimum, (int) (tabel[indeks] >>> geser) & MAKS_COUNTER);
+        }
+        return minimum;
+    }
+
+    void tambah(Object kunci) {
+        int hash = kunci.hashCode();
+        for (long seed : SEED) {
+            long campur = campur(hash, seed);
+            int indeks = (int) (campur >>> 32) & mask;
+            int geser = (int) (campur & 15) << 2;
+            if (((tabel[indeks] >>> geser) & MAKS_COUNTER) < MAKS_COUNTER) {
+                tabel[indeks] += 1L << geser;
+            }
+        }
+        if (++jumlahTambah >= ukuranSampel) {
+            for (int i = 0; i < tabel.length; i++) {
+                tabel[i] = (tabel[i] >>> 1) & MASK_SETENGAH;
+            }
+            jumlahTambah /= 2;
+        }
+    }
+
+    private static long campur(int hash, long seed) {
+        long x = (hash + seed) * 0x9E3779B97F4A7C15L;
+        x ^= x >>> 29;
+        x *= 0xBF58476D1CE4E5B9L;
+        return x ^ (x >>> 32);
+    }
+}
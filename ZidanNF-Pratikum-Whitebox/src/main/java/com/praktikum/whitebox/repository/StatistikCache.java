@@ -0,0 +1,8 @@
+package com.praktikum.whitebox.repository;
+
+public record StatistikCache(long hit, long miss, long eviksi, int ukuran) {
+    public double rasioHit() {
+        long total = hit + miss;
+        return total == 0 ? 0.0 : (double) hit / total;
+    }
+}
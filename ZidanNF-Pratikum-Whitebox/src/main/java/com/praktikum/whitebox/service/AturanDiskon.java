@@ -0,0 +1,218 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.util.Uang;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+// Aturan diskon yang sudah "dikompilasi" menjadi tabel lookup:
+// - tier kuantitas sebagai array batas terurut, dicari dengan binary search
+// - tipe pelanggan sebagai kode int (indeks array) lewat satu HashMap
+// Objek ini immutable; KalkulatorDiskon cukup menukar referensinya untuk
+// mengganti promo tanpa redeploy.
+public final class AturanDiskon {
+    public static final int TIPE_TIDAK_DIKENAL = -1;
+    private static final String PREFIX_KUANTITAS = "diskon.kuantitas.";
+    private static final String PREFIX_PELANGGAN = "diskon.pelanggan.";
+    private static final String KUNCI_MAKSIMAL = "diskon.maksimal";
+    // Batas tier di atas ini tidak dibuatkan tabel padat (hemat memori)
+    private static final int BATAS_TABEL_PADAT = 1 << 16;
+
+    private final int[] batasKuantitas;
+    private final double[] diskonKuantitas;
+    private final Map<String, Integer> kodeTipe;
+    private final String[] namaTipe;
+    private final double[] diskonTipe;
+    private final double diskonMaksimal;
+    // Persentase yang sama dalam basis poin untuk jalur uang fixed-point
+    private final long[] basisPoinKuantitas;
+    private final long[] basisPoinTipe;
+    private final long basisPoinMaksimal;
+    // Tabel untuk jalur massal: diskon per kuantitas 0..batas tertinggi
+    // (null jika terlalu besar) dan diskon per (kode tipe + 1), slot 0 = tidak dikenal
+    private final double[] tabelKuantitasPadat;
+    private final double[] tabelTipe;
+
+    public AturanDiskon(Map<Integer, Double> tierKuantitas, Map<String, Double> tipePelanggan,
+                        double diskonMaksimal) {
+        if (!isPersentaseValid(diskonMaksimal)) {
+            throw new IllegalArgumentException("Diskon maksimal harus antara 0 dan 1");
+        }
+        TreeMap<Integer, Double> tierTerurut = new TreeMap<>(tierKuantitas);
+        this.batasKuantitas = new int[tierTerurut.size()];
+        this.diskonKuantitas = new double[tierTerurut.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Double> tier : tierTerurut.entrySet()) {
+            if (tier.getKey() <= 0 || !isPersentaseValid(tier.getValue())) {
+                throw new IllegalArgumentException("Tier kuantitas tidak valid: " + tier.getKey());
+            }
+            batasKuantitas[i] = tier.getKey();
+            diskonKuantitas[i] = tier.getValue();
+            i++;
+        }
+        this.kodeTipe = new HashMap<>();
+        this.namaTipe = new String[tipePelanggan.size()];
+        this.diskonTipe = new double[tipePelanggan.size()];
+        int kode = 0;
+        for (Map.Entry<String, Double> tipe : new TreeMap<>(tipePelanggan).entrySet()) {
+            String nama = tipe.getKey().trim().toUpperCase(Locale.ROOT);
+            if (nama.isEmpty() || !isPersentaseValid(tipe.getValue()) || kodeTipe.containsKey(nama)) {
+                throw new IllegalArgumentException("Tipe pelanggan tidak valid: " + tipe.getKey());
+            }
+            kodeTipe.put(nama, kode);
+            namaTipe[kode] = nama;
+            diskonTipe[kode] = tipe.getValue();
+            kode++;
+        }
+        this.diskonMaksimal = diskonMaksimal;
+        this.tabelKuantitasPadat = buatTabelKuantitasPadat();
+        this.basisPoinKuantitas = new long[diskonKuantitas.length];
+        for (int t = 0; t < diskonKuantitas.length; t++) {
+            basisPoinKuantitas[t] = Uang.keBasisPoin(diskonKuantitas[t]);
+        }
+        this.basisPoinTipe = new long[diskonTipe.length];
+        for (int t = 0; t < diskonTipe.length; t++) {
+            basisPoinTipe[t] = Uang.keBasisPoin(diskonTipe[t]);
+        }
+        this.basisPoinMaksimal = Uang.keBasisPoin(diskonMaksimal);
+        this.tabelTipe = new double[diskonTipe.length + 1];
+        System.arraycopy(diskonTipe, 0, tabelTipe, 1, diskonTipe.length);
+    }
+
+    // Aturan yang berlaku sejak awal: 5/10/50/100 unit dan PREMIUM/REGULER/BARU
+    public static AturanDiskon bawaan() {
+        return new AturanDiskon(
+                Map.of(5, 0.05, 10, 0.10, 50, 0.15, 100, 0.20),
+                Map.of("PREMIUM", 0.10, "REGULER", 0.05, "BARU", 0.02),
+                0.30);
+    }
+
+    // Format: diskon.kuantitas.<batas>=<persen>, diskon.pelanggan.<TIPE>=<persen>,
+    // diskon.maksimal=<persen>; persen ditulis sebagai pecahan (0.05 = 5%)
+    public static AturanDiskon dariProperties(Properties properties) {
+        Map<Integer, Double> tier = new HashMap<>();
+        Map<String, Double> tipe = new HashMap<>();
+        for (String kunci : properties.stringPropertyNames()) {
+            String nilai = properties.getProperty(kunci).trim();
+            try {
+                if (kunci.startsWith(PREFIX_KUANTITAS)) {
+                    tier.put(Integer.parseInt(kunci.substring(PREFIX_KUANTITAS.length())),
+                            Double.parseDouble(nilai));
+                } else if (kunci.startsWith(PREFIX_PELANGGAN)) {
+                    tipe.put(kunci.substring(PREFIX_PELANGGAN.length()), Double.parseDouble(nilai));
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Konfigurasi diskon tidak valid: " + kunci, e);
+            }
+        }
+        double maksimal;
+        try {
+            maksimal = Double.parseDouble(properties.getProperty(KUNCI_MAKSIMAL, "0.30").trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Konfigurasi diskon tidak valid: " + KUNCI_MAKSIMAL, e);
+        }
+        return new AturanDiskon(tier, tipe, maksimal);
+    }
+
+    public static AturanDiskon dariFile(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return dariProperties(properties);
+    }
+
+    // Diskon dari tier tertinggi yang batasnya <= kuantitas, 0 jika tidak ada
+    public double diskonKuantitas(int kuantitas) {
+        int tier = indeksTier(kuantitas);
+        return tier < 0 ? 0.0 : diskonKuantitas[tier];
+    }
+
+    // Total persentase diskon (kuantitas + tipe, dibatasi maksimal) dalam basis poin
+    public long diskonBasisPoin(int kuantitas, int kodeTipe) {
+        int tier = indeksTier(kuantitas);
+        long total = (tier < 0 ? 0 : basisPoinKuantitas[tier])
+                + (kodeTipe < 0 || kodeTipe >= basisPoinTipe.length ? 0 : basisPoinTipe[kodeTipe]);
+        return Math.min(total, basisPoinMaksimal);
+    }
+
+    private int indeksTier(int kuantitas) {
+        int lo = 0;
+        int hi = batasKuantitas.length - 1;
+        int ketemu = -1;
+        while (lo <= hi) {
+            int tengah = (lo + hi) >>> 1;
+            if (batasKuantitas[tengah] <= kuantitas) {
+                ketemu = tengah;
+                lo = tengah + 1;
+            } else {
+                hi = tengah - 1;
+            }
+        }
+        return ketemu;
+    }
+
+    public int kodeTipe(String tipePelanggan) {
+        if (tipePelanggan == null) {
+            return TIPE_TIDAK_DIKENAL;
+        }
+        // Coba apa adanya dulu agar pemanggil yang sudah kapital tidak alokasi
+        Integer kode = kodeTipe.get(tipePelanggan);
+        if (kode == null) {
+            kode = kodeTipe.get(tipePelanggan.toUpperCase(Locale.ROOT));
+        }
+        return kode == null ? TIPE_TIDAK_DIKENAL : kode;
+    }
+
+    public double diskonTipe(int kodeTipe) {
+        return kodeTipe < 0 || kodeTipe >= diskonTipe.length ? 0.0 : diskonTipe[kodeTipe];
+    }
+
+    public double diskonPelanggan(String tipePelanggan) {
+        return diskonTipe(kodeTipe(tipePelanggan));
+    }
+
+    public String namaTipe(int kodeTipe) {
+        return kodeTipe < 0 || kodeTipe >= namaTipe.length ? null : namaTipe[kodeTipe];
+    }
+
+    public int jumlahTipe() {
+        return namaTipe.length;
+    }
+
+    public double getDiskonMaksimal() {
+        return diskonMaksimal;
+    }
+
+    double[] getTabelKuantitasPadat() {
+        return tabelKuantitasPadat;
+    }
+
+    double[] getTabelTipe() {
+        return tabelTipe;
+    }
+
+    private double[] buatTabelKuantitasPadat() {
+        int batasTertinggi = batasKuantitas.length == 0 ? 0 : batasKuantitas[batasKuantitas.length - 1];
+        if (batasTertinggi > BATAS_TABEL_PADAT) {
+            return null;
+        }
+        double[] tabel = new double[batasTertinggi + 1];
+        for (int k = 0; k <= batasTertinggi; k++) {
+            tabel[k] = diskonKuantitas(k);
+        }
+        return tabel;
+    }
+
+    private static boolean isPersentaseValid(Double persen) {
+        return persen != null && persen >= 0 && persen <= 1;
+    }
+}
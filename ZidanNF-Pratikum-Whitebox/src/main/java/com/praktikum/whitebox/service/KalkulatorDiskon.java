@@ -1,31 +1,33 @@
 package com.praktikum.whitebox.service;
+import com.praktikum.whitebox.util.Uang;
 public class KalkulatorDiskon {
+    // volatile: aturan bisa ditukar saat runtime (promo baru) tanpa lock
+    private volatile AturanDiskon aturan;
+    public KalkulatorDiskon() {
+        this(AturanDiskon.bawaan());
+    }
+    public KalkulatorDiskon(AturanDiskon aturan) {
+        this.aturan = wajibAda(aturan);
+    }
+    public AturanDiskon getAturan() { return aturan; }
+    public void setAturan(AturanDiskon aturan) {
+        this.aturan = wajibAda(aturan);
+    }
+    private static AturanDiskon wajibAda(AturanDiskon aturan) {
+        if (aturan == null) {
+            throw new IllegalArgumentException("Aturan diskon tidak boleh null");
+        }
+        return aturan;
+    }
     public double hitungDiskon(double harga, int kuantitas, String
             tipePelanggan) {
         if (harga <= 0 || kuantitas <= 0) {
             throw new IllegalArgumentException("Harga dan kuantitas harus positif");
         }
-        double diskon = 0.0;
-// Diskon berdasarkan kuantitas
-        if (kuantitas >= 100) {
-            diskon += 0.20; // 20%
-        } else if (kuantitas >= 50) {
-            diskon += 0.15; // 15%
-        } else if (kuantitas >= 10) {
-            diskon += 0.10; // 10%
-        } else if (kuantitas >= 5) {
-            diskon += 0.05; // 5%
-        }
-// Diskon berdasarkan tipe pelanggan
-        if ("PREMIUM".equalsIgnoreCase(tipePelanggan)) {
-            diskon += 0.10; // 10% tambahan
-        } else if ("REGULER".equalsIgnoreCase(tipePelanggan)) {
-            diskon += 0.05; // 5% tambahan
-        } else if ("BARU".equalsIgnoreCase(tipePelanggan)) {
-            diskon += 0.02; // 2% tambahan
-        }
-// Maksimal diskon 30%
-        diskon = Math.min(diskon, 0.30);
+        AturanDiskon aturanAktif = aturan;
+        double diskon = aturanAktif.diskonKuantitas(kuantitas)
+                + aturanAktif.diskonPelanggan(tipePelanggan);
+        diskon = Math.min(diskon, aturanAktif.getDiskonMaksimal());
         return harga * kuantitas * diskon;
     }
     public double hitungHargaSetelahDiskon(double harga, int kuantitas,
@@ -34,6 +36,70 @@ public class KalkulatorDiskon {
         double diskon = hitungDiskon(harga, kuantitas, tipePelanggan);
         return totalSebelumDiskon - diskon;
     }
+    // Versi fixed-point: harga dalam satuan terkecil (lihat Uang), hasil eksak
+    // dan dibulatkan setengah ke atas sekali saja, tanpa alokasi
+    public long hitungDiskonMinor(long hargaMinor, int kuantitas, String tipePelanggan) {
+        if (hargaMinor <= 0 || kuantitas <= 0) {
+            throw new IllegalArgumentException("Harga dan kuantitas harus positif");
+        }
+        AturanDiskon aturanAktif = aturan;
+        long basisPoin = aturanAktif.diskonBasisPoin(kuantitas, aturanAktif.kodeTipe(tipePelanggan));
+        return Uang.persen(Uang.kali(hargaMinor, kuantitas), basisPoin);
+    }
+    public long hitungHargaSetelahDiskonMinor(long hargaMinor, int kuantitas, String tipePelanggan) {
+        long diskon = hitungDiskonMinor(hargaMinor, kuantitas, tipePelanggan);
+        return Uang.kali(hargaMinor, kuantitas) - diskon;
+    }
+    // Versi massal hitungDiskon untuk reprice katalog: array primitif masuk,
+    // diskon per baris ditulis ke diskonKeluaran. kodeTipe berasal dari
+    // AturanDiskon.kodeTipe (TIPE_TIDAK_DIKENAL = tanpa diskon pelanggan).
+    // Loop utama tanpa cabang, boxing, maupun alokasi per baris.
+    public void hitungDiskonMassal(double[] harga, int[] kuantitas, int[] kodeTipe,
+                                   double[] diskonKeluaran) {
+        AturanDiskon aturanAktif = aturan;
+        validasiMassal(aturanAktif, harga, kuantitas, kodeTipe, diskonKeluaran);
+        double[] tabelTipe = aturanAktif.getTabelTipe();
+        double[] tabelKuantitas = aturanAktif.getTabelKuantitasPadat();
+        double maksimal = aturanAktif.getDiskonMaksimal();
+        int n = harga.length;
+        if (tabelKuantitas == null) {
+            for (int i = 0; i < n; i++) {
+                double diskon = Math.min(aturanAktif.diskonKuantitas(kuantitas[i])
+                        + tabelTipe[kodeTipe[i] + 1], maksimal);
+                diskonKeluaran[i] = harga[i] * kuantitas[i] * diskon;
+            }
+            return;
+        }
+        int batasAtas = tabelKuantitas.length - 1;
+        for (int i = 0; i < n; i++) {
+            double diskon = Math.min(tabelKuantitas[Math.min(kuantitas[i], batasAtas)]
+                    + tabelTipe[kodeTipe[i] + 1], maksimal);
+            diskonKeluaran[i] = harga[i] * kuantitas[i] * diskon;
+        }
+    }
+    public void hitungHargaSetelahDiskonMassal(double[] harga, int[] kuantitas, int[] kodeTipe,
+                                               double[] hargaKeluaran) {
+        hitungDiskonMassal(harga, kuantitas, kodeTipe, hargaKeluaran);
+        for (int i = 0; i < harga.length; i++) {
+            hargaKeluaran[i] = harga[i] * kuantitas[i] - hargaKeluaran[i];
+        }
+    }
+    private static void validasiMassal(AturanDiskon aturanAktif, double[] harga, int[] kuantitas,
+                                       int[] kodeTipe, double[] keluaran) {
+        int n = harga.length;
+        if (kuantitas.length != n || kodeTipe.length != n || keluaran.length != n) {
+            throw new IllegalArgumentException("Panjang array harus sama");
+        }
+        int jumlahTipe = aturanAktif.jumlahTipe();
+        for (int i = 0; i < n; i++) {
+            if (harga[i] <= 0 || kuantitas[i] <= 0) {
+                throw new IllegalArgumentException("Harga dan kuantitas harus positif");
+            }
+            if (kodeTipe[i] < AturanDiskon.TIPE_TIDAK_DIKENAL || kodeTipe[i] >= jumlahTipe) {
+                throw new IllegalArgumentException("Kode tipe pelanggan tidak valid");
+            }
+        }
+    }
     public String getKategoriDiskon(double persentaseDiskon) {
         if (persentaseDiskon <= 0) {
             return "TANPA_DISKON";
@@ -0,0 +1,220 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.Reservasi;
+import com.praktikum.whitebox.util.ValidationUtils;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Reservasi stok di atas ServiceInventaris: reservasi -> komit (keluarStok)
+// atau lepas, dengan kedaluwarsa otomatis.
+// Stok tersedia = stok produk - total tahanan aktif. Tanpa lock: setiap
+// kode punya satu kata status (AtomicLong) berisi jumlah tertahan (32 bit
+// bawah) dan versi komit (32 bit atas). Reservasi membaca status, membaca
+// stok, lalu menambah tahanan dengan CAS atas status yang dibaca tadi.
+// Komit menjalankan keluarStok dulu, baru melepas tahanan sambil menaikkan
+// versi dalam satu penambahan atomik. Jadi reservasi yang sempat membaca
+// stok sebelum keluarStok pasti gagal CAS dan mengulang, meskipun tahanan
+// kembali ke angka yang sama (ABA). Reservasi yang membaca stok sesudah
+// keluarStok tetapi sebelum tahanan dilepas hanya menghitung unit itu dua
+// kali (konservatif, tidak oversell). Lepas dan kedaluwarsa hanya
+// mengurangi tahanan.
+// Kedaluwarsa diproses hashed timer wheel: reservasi dimasukkan ke
+// slot sesuai tick batas waktunya, dan setiap tick hanya slot itu yang
+// diperiksa (bukan seluruh reservasi aktif). Komit/lepas langsung mencabut
+// reservasi dari slotnya sehingga roda hanya berisi reservasi yang aktif.
+// Penjualan langsung lewat keluarStok tidak melihat tahanan; alur checkout
+// sebaiknya selalu lewat reservasi.
+public class ReservasiStok implements Closeable {
+    private static final int UKURAN_RODA = 512;
+    private static final long MASKER_TERTAHAN = 0xFFFF_FFFFL;
+    private static final long SATU_VERSI = 1L << 32;
+
+    private final ServiceInventaris serviceInventaris;
+    private final LongSupplier jamNanos;
+    private final long resolusiNanos;
+    // Versi komit << 32 | jumlah tertahan
+    private final Map<String, AtomicLong> statusPerKode = new ConcurrentHashMap<>();
+    private final Map<Long, Tahanan> aktif = new ConcurrentHashMap<>();
+    private final AtomicLong idBerikut = new AtomicLong();
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final Set<Tahanan>[] roda = new Set[UKURAN_RODA];
+    private volatile long tickTerproses;
+    private ScheduledExecutorService penjadwal;
+
+    private record Tahanan(Reservasi reservasi, long tickBatas) {
+    }
+
+    public ReservasiStok(ServiceInventaris serviceInventaris, Duration resolusi) {
+        this(serviceInventaris, resolusi, System::nanoTime);
+    }
+
+    // Jam bisa diganti untuk pengujian
+    ReservasiStok(ServiceInventaris serviceInventaris, Duration resolusi, LongSupplier jamNanos) {
+        if (resolusi.isNegative() || resolusi.isZero()) {
+            throw new IllegalArgumentException("Resolusi timer harus positif");
+        }
+        this.serviceInventaris = serviceInventaris;
+        this.jamNanos = jamNanos;
+        this.resolusiNanos = resolusi.toNanos();
+        for (int i = 0; i < UKURAN_RODA; i++) {
+            roda[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.tickTerproses = jamNanos.getAsLong() / resolusiNanos;
+    }
+
+    public Optional<Reservasi> reservasi(String kode, int jumlah, Duration ttl) {
+        if (!ValidationUtils.isValidKodeProduk(kode) || jumlah <= 0 || ttl.isNegative() || ttl.isZero()) {
+            return Optional.empty();
+        }
+        AtomicLong status = statusPerKode.computeIfAbsent(kode, k -> new AtomicLong());
+        while (true) {
+            // Status dibaca sebelum stok: komit yang selesai di antara
+            // keduanya mengubah versi sehingga CAS di bawah gagal
+            long lama = status.get();
+            Optional<Produk> produk = serviceInventaris.cariProdukByKode(kode);
+            if (produk.isEmpty() || !produk.get().isAktif()) {
+                return Optional.empty();
+            }
+            if (produk.get().getStok() - (lama & MASKER_TERTAHAN) < jumlah) {
+                return Optional.empty();
+            }
+            // Tertahan + jumlah <= stok <= Integer.MAX_VALUE, tidak meluap ke versi
+            if (status.compareAndSet(lama, lama + jumlah)) {
+                break;
+            }
+        }
+        Reservasi reservasi = new Reservasi(idBerikut.incrementAndGet(), kode, jumlah);
+        // Pembulatan ke atas: reservasi tidak pernah kedaluwarsa lebih awal dari ttl
+        long tickBatas = (jamNanos.getAsLong() + ttl.toNanos() + resolusiNanos - 1) / resolusiNanos;
+        Tahanan tahanan = new Tahanan(reservasi, Math.max(tickBatas, tickTerproses + 1));
+        aktif.put(reservasi.id(), tahanan);
+        slot(tahanan.tickBatas()).add(tahanan);
+        // prosesKedaluwarsa menerbitkan tickTerproses sebelum menyapu slot.
+        // Jika roda sudah melewati tickBatas di antara pembacaan tickTerproses
+        // di atas dan add, slot itu mungkin sudah disapu tanpa tahanan ini:
+        // batas waktunya memang sudah lewat, jadi langsung kedaluwarsakan di
+        // sini daripada menunggu satu putaran roda penuh
+        VarHandle.fullFence();
+        if (tahanan.tickBatas() <= tickTerproses) {
+            kedaluwarsakan(tahanan);
+        }
+        return Optional.of(reservasi);
+    }
+
+    // Stok benar-benar dikurangi lalu tahanan dilepas bersama kenaikan versi.
+    // Gagal jika reservasi sudah dikomit/dilepas/kedaluwarsa, atau stok
+    // berubah di luar reservasi sehingga tidak cukup (tahanan tetap dilepas)
+    public boolean komit(long idReservasi) {
+        Tahanan tahanan = aktif.remove(idReservasi);
+        if (tahanan == null) {
+            return false;
+        }
+        slot(tahanan.tickBatas()).remove(tahanan);
+        Reservasi reservasi = tahanan.reservasi();
+        boolean berhasil = serviceInventaris.keluarStok(reservasi.kode(), reservasi.jumlah());
+        // Tertahan >= jumlah, jadi pengurangan tidak meminjam dari versi
+        statusPerKode.get(reservasi.kode()).addAndGet(SATU_VERSI - reservasi.jumlah());
+        return berhasil;
+    }
+
+    public boolean lepas(long idReservasi) {
+        Tahanan tahanan = aktif.remove(idReservasi);
+        if (tahanan == null) {
+            return false;
+        }
+        slot(tahanan.tickBatas()).remove(tahanan);
+        lepasTahanan(tahanan.reservasi());
+        return true;
+    }
+
+    public int getStokTertahan(String kode) {
+        AtomicLong status = kode == null ? null : statusPerKode.get(kode);
+        return status == null ? 0 : (int) (status.get() & MASKER_TERTAHAN);
+    }
+
+    public int getStokTersedia(String kode) {
+        Optional<Produk> produk = serviceInventaris.cariProdukByKode(kode);
+        return produk.map(p -> Math.max(0, p.getStok() - getStokTertahan(kode))).orElse(0);
+    }
+
+    public int getJumlahReservasiAktif() {
+        return aktif.size();
+    }
+
+    // Memajukan roda sampai waktu sekarang; mengembalikan jumlah reservasi
+    // yang kedaluwarsa. Dipanggil penjadwal (lihat mulai) atau manual.
+    public synchronized int prosesKedaluwarsa() {
+        long sekarang = jamNanos.getAsLong() / resolusiNanos;
+        int kedaluwarsa = 0;
+        // Jika tertinggal lebih dari satu putaran, setiap slot cukup diperiksa sekali
+        long dari = Math.max(tickTerproses + 1, sekarang - UKURAN_RODA + 1);
+        // Diterbitkan sebelum menyapu, pasangan pengecekan ulang di reservasi
+        tickTerproses = Math.max(tickTerproses, sekarang);
+        VarHandle.fullFence();
+        for (long tick = dari; tick <= sekarang; tick++) {
+            Iterator<Tahanan> iterator = slot(tick).iterator();
+            while (iterator.hasNext()) {
+                Tahanan tahanan = iterator.next();
+                // Tahanan dengan tickBatas di putaran berikutnya tetap di slot
+                if (tahanan.tickBatas() > sekarang) {
+                    continue;
+                }
+                iterator.remove();
+                if (aktif.remove(tahanan.reservasi().id(), tahanan)) {
+                    lepasTahanan(tahanan.reservasi());
+                    kedaluwarsa++;
+                }
+            }
+        }
+        return kedaluwarsa;
+    }
+
+    // Menjalankan prosesKedaluwarsa setiap satu resolusi di thread daemon
+    public synchronized void mulai() {
+        if (penjadwal != null) {
+            return;
+        }
+        penjadwal = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "reservasi-stok-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        penjadwal.scheduleAtFixedRate(this::prosesKedaluwarsa, resolusiNanos, resolusiNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (penjadwal != null) {
+            penjadwal.shutdownNow();
+            penjadwal = null;
+        }
+    }
+
+    private Set<Tahanan> slot(long tick) {
+        return roda[(int) (tick & (UKURAN_RODA - 1))];
+    }
+
+    private void kedaluwarsakan(Tahanan tahanan) {
+        slot(tahanan.tickBatas()).remove(tahanan);
+        if (aktif.remove(tahanan.reservasi().id(), tahanan)) {
+            lepasTahanan(tahanan.reservasi());
+        }
+    }
+
+    private void lepasTahanan(Reservasi reservasi) {
+        statusPerKode.get(reservasi.kode()).addAndGet(-reservasi.jumlah());
+    }
+}
@@ -0,0 +1,175 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.Produk;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+// Fasad asinkron ServiceInventaris: setiap operasi dijalankan di thread
+// sendiri dan dikembalikan sebagai CompletableFuture. Executor bawaan adalah
+// virtual thread per task.
+// Kunci di jalur mutasi stok (StripedLock di ServiceInventaris,
+// RepositoryProdukFile, RepositoryProdukCache, RepositoryProdukJurnal untuk
+// tulis dan fsync, indeks nama RepositoryProdukMemori) adalah ReentrantLock,
+// sehingga virtual thread yang menunggu tidak mem-pin carrier thread.
+// Monitor yang tersisa di jalur itu tidak pernah dipegang sambil memblok:
+// bucket ConcurrentHashMap di RepositoryProdukMemori (hanya update indeks
+// tanpa kunci; indeks nama disinkronkan sesudah bucket dilepas) dan blok
+// pendek buffer jurnal tanpa I/O. Pada JDK 21 virtual thread yang berebut
+// monitor seperti itu tetap mem-pin sebentar selama menunggu giliran, bukan
+// selama menunggu kunci atau I/O. Operasi administratif (langganan event,
+// penjadwal reservasi) masih synchronized.
+// Operasi multi-produk berjalan terstruktur: semua subtugas dimulai bersama
+// dan hasil digabung setelah semuanya selesai.
+public class ServiceInventarisAsync implements Closeable {
+    private final ServiceInventaris serviceInventaris;
+    private final ExecutorService executor;
+
+    public ServiceInventarisAsync(ServiceInventaris serviceInventaris) {
+        this(serviceInventaris, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    public ServiceInventarisAsync(ServiceInventaris serviceInventaris, ExecutorService executor) {
+        this.serviceInventaris = serviceInventaris;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<Optional<Produk>> cariProdukByKode(String kode) {
+        return jalankan(() -> serviceInventaris.cariProdukByKode(kode));
+    }
+
+    public CompletableFuture<Boolean> updateStok(String kode, int stokBaru) {
+        return jalankan(() -> serviceInventaris.updateStok(kode, stokBaru));
+    }
+
+    public CompletableFuture<Boolean> keluarStok(String kode, int jumlah) {
+        return jalankan(() -> serviceInventaris.keluarStok(kode, jumlah));
+    }
+
+    public CompletableFuture<Boolean> masukStok(String kode, int jumlah) {
+        return jalankan(() -> serviceInventaris.masukStok(kode, jumlah));
+    }
+
+    // Satu lookup per kode, semuanya paralel; urutan hasil mengikuti input.
+    // Gagal cepat: lookup pertama yang gagal membatalkan lookup yang belum
+    // mulai (yang sedang berjalan tetap selesai, hasilnya dibuang; aman
+    // karena hanya membaca)
+    public CompletableFuture<Map<String, Optional<Produk>>> cariBanyak(Collection<String> daftarKode) {
+        Map<String, CompletableFuture<Optional<Produk>>> tugas = new LinkedHashMap<>();
+        for (String kode : daftarKode) {
+            tugas.computeIfAbsent(kode, this::cariProdukByKode);
+        }
+        List<CompletableFuture<Optional<Produk>>> semua = new ArrayList<>(tugas.values());
+        for (CompletableFuture<Optional<Produk>> subtugas : semua) {
+            subtugas.whenComplete((hasil, galat) -> {
+                if (galat != null) {
+                    semua.forEach(lain -> lain.cancel(false));
+                }
+            });
+        }
+        return semuaSelesai(semua).thenApply(v -> {
+            Map<String, Optional<Produk>> hasil = new LinkedHashMap<>();
+            tugas.forEach((kode, subtugas) -> hasil.put(kode, subtugas.join()));
+            return hasil;
+        });
+    }
+
+    // Keluar stok beberapa produk paralel; hasil per kode. Bukan transaksi:
+    // produk yang berhasil tidak dikembalikan jika produk lain gagal.
+    // Setelah satu subtugas melempar exception, subtugas yang belum sampai ke
+    // mutasi melewatkannya (hasil false, stok tidak berubah); yang sudah
+    // berjalan diselesaikan. Future lalu gagal dengan KeluarStokSebagian yang
+    // tetap membawa hasil per kode, sehingga pemanggil tahu stok mana yang
+    // sudah keluar
+    public CompletableFuture<Map<String, Boolean>> keluarStokBanyak(Map<String, Integer> jumlahPerKode) {
+        AtomicBoolean batal = new AtomicBoolean();
+        Map<String, CompletableFuture<Boolean>> tugas = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : jumlahPerKode.entrySet()) {
+            String kode = entry.getKey();
+            int jumlah = entry.getValue();
+            tugas.put(kode, jalankan(() -> {
+                if (batal.get()) {
+                    return false;
+                }
+                try {
+                    return serviceInventaris.keluarStok(kode, jumlah);
+                } catch (RuntimeException e) {
+                    batal.set(true);
+                    throw e;
+                }
+            }));
+        }
+        return semuaSelesai(tugas.values()).handle((v, abaikan) -> {
+            Map<String, Boolean> hasil = new LinkedHashMap<>();
+            Throwable galat = null;
+            for (Map.Entry<String, CompletableFuture<Boolean>> entry : tugas.entrySet()) {
+                CompletableFuture<Boolean> subtugas = entry.getValue();
+                if (subtugas.isCompletedExceptionally()) {
+                    hasil.put(entry.getKey(), false);
+                    if (galat == null) {
+                        galat = penyebab(subtugas);
+                    }
+                } else {
+                    hasil.put(entry.getKey(), subtugas.join());
+                }
+            }
+            if (galat != null) {
+                throw new KeluarStokSebagian(hasil, galat);
+            }
+            return hasil;
+        });
+    }
+
+    // Sebagian keluarStokBanyak gagal dengan exception; getHasil() berisi
+    // true untuk kode yang stoknya sudah keluar, false untuk sisanya
+    public static class KeluarStokSebagian extends IllegalStateException {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Map<String, Boolean> hasil;
+
+        KeluarStokSebagian(Map<String, Boolean> hasil, Throwable penyebab) {
+            super("Sebagian keluar stok gagal", penyebab);
+            this.hasil = Map.copyOf(hasil);
+        }
+
+        public Map<String, Boolean> getHasil() {
+            return hasil;
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> jalankan(Supplier<T> operasi) {
+        return CompletableFuture.supplyAsync(operasi, executor);
+    }
+
+    private static CompletableFuture<Void> semuaSelesai(Collection<? extends CompletableFuture<?>> semua) {
+        return CompletableFuture.allOf(semua.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private static Throwable penyebab(CompletableFuture<?> gagal) {
+        try {
+            gagal.join();
+            return null;
+        } catch (CompletionException e) {
+            return e.getCause();
+        } catch (CancellationException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.praktikum.whitebox.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Histogram latensi dengan bucket log-linear ala HdrHistogram: nilai < 64
+// tercatat persis, di atasnya setiap pangkat dua dibagi 64 sub-bucket
+// sehingga galat relatif paling besar 1/64 (~1,6%) untuk rentang 0 sampai
+// Long.MAX_VALUE nanodetik dalam 3712 slot tetap. Mencatat hanya satu
+// increment atomik tanpa alokasi dan tanpa kunci.
+public class HistogramLatensi {
+    private static final int BIT_SUB = 6;
+    private static final int SUB = 1 << BIT_SUB;
+    private static final int JUMLAH_BUCKET = (63 - BIT_SUB + 1) * SUB;
+
+    private final AtomicLongArray bucket = new AtomicLongArray(JUMLAH_BUCKET);
+
+    public void catat(long nilai) {
+        bucket.getAndIncrement(indeks(Math.max(0, nilai)));
+    }
+
+    public void reset() {
+        for (int i = 0; i < JUMLAH_BUCKET; i++) {
+            bucket.set(i, 0);
+        }
+    }
+
+    // Dibaca tanpa menghentikan pencatat; hasilnya bisa sedikit tertinggal
+    // dari catatan yang sedang berlangsung
+    public RingkasanLatensi ringkasan() {
+        long[] isi = new long[JUMLAH_BUCKET];
+        long jumlah = 0;
+        int terakhir = -1;
+        for (int i = 0; i < JUMLAH_BUCKET; i++) {
+            isi[i] = bucket.get(i);
+            if (isi[i] > 0) {
+                jumlah += isi[i];
+                terakhir = i;
+            }
+        }
+        if (jumlah == 0) {
+            return RingkasanLatensi.KOSONG;
+        }
+        return new RingkasanLatensi(jumlah, persentil(isi, jumlah, 0.5), persentil(isi, jumlah, 0.9),
+                persentil(isi, jumlah, 0.99), persentil(isi, jumlah, 0.999), batasAtas(terakhir));
+    }
+
+    static int indeks(long nilai) {
+        if (nilai < SUB) {
+            return (int) nilai;
+        }
+        int eksponen = 63 - Long.numberOfLeadingZeros(nilai);
+        int sub = (int) (nilai >>> (eksponen - BIT_SUB)) - SUB;
+        return (eksponen - BIT_SUB + 1) * SUB + sub;
+    }
+
+    // Nilai terbesar yang jatuh ke bucket ini
+    static long batasAtas(int indeks) {
+        if (indeks < SUB) {
+            return indeks;
+        }
+        int geser = indeks / SUB - 1;
+        long bawah = (long) (SUB + indeks % SUB) << geser;
+        return bawah + ((1L << geser) - 1);
+    }
+
+    private static long persentil(long[] isi, long jumlah, double rasio) {
+        long target = Math.max(1, (long) Math.ceil(jumlah * rasio));
+        long kumulatif = 0;
+        for (int i = 0; i < isi.length; i++) {
+            kumulatif += isi[i];
+            if (kumulatif >= target) {
+                return batasAtas(i);
+            }
+        }
+        return batasAtas(isi.length - 1);
+    }
+}
@@ -0,0 +1,72 @@
+package com.praktikum.whitebox.util;
+
+// SPI metrik jalur panas ServiceInventaris dan repository di bawahnya.
+// Pemanggil bertanya sampel() sekali per panggilan; System.nanoTime() hanya
+// dibaca jika jawabannya true. catatOperasi tetap dipanggil untuk setiap
+// operasi (agar penolakan terhitung semua) dengan durasi TIDAK_DIUKUR jika
+// panggilan itu tidak disampel. Implementasi harus aman dipanggil paralel
+// dan tidak boleh memblok.
+public interface MetrikInventaris {
+    long TIDAK_DIUKUR = -1;
+
+    // Bawaan: tidak mengukur apa pun, jalur panas praktis tanpa biaya
+    MetrikInventaris NOOP = new MetrikInventaris() {
+        @Override
+        public boolean sampel() {
+            return false;
+        }
+
+        @Override
+        public void catatOperasi(Operasi operasi, HasilOperasi hasil, long durasiNanos) {
+        }
+
+        @Override
+        public void catatRepository(OperasiRepository operasi, long durasiNanos) {
+        }
+    };
+
+    enum Operasi {
+        TAMBAH_PRODUK,
+        HAPUS_PRODUK,
+        UPDATE_STOK,
+        KELUAR_STOK,
+        MASUK_STOK
+    }
+
+    // Hasil satu operasi: BERHASIL atau alasan penolakannya
+    enum HasilOperasi {
+        BERHASIL,
+        KODE_TIDAK_VALID,
+        PRODUK_TIDAK_VALID,
+        JUMLAH_TIDAK_VALID,
+        TIDAK_DITEMUKAN,
+        TIDAK_AKTIF,
+        STOK_TIDAK_CUKUP,
+        SUDAH_ADA,
+        MASIH_ADA_STOK,
+        GAGAL_DISIMPAN
+    }
+
+    enum OperasiRepository {
+        SIMPAN,
+        CARI_BY_KODE,
+        CARI_BY_NAMA,
+        CARI_BY_KATEGORI,
+        CARI_STOK_MENIPIS,
+        CARI_STOK_HABIS,
+        CARI_SEMUA,
+        HAPUS,
+        UPDATE_STOK,
+        UPDATE_AKTIF,
+        CARI_BY_KODE_BATCH,
+        UPDATE_STOK_BATCH
+    }
+
+    // true = panggilan ini diukur waktunya
+    boolean sampel();
+
+    void catatOperasi(Operasi operasi, HasilOperasi hasil, long durasiNanos);
+
+    // Hanya dipanggil untuk panggilan yang disampel
+    void catatRepository(OperasiRepository operasi, long durasiNanos);
+}
@@ -0,0 +1,211 @@
+package com.praktikum.whitebox.util;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Implementasi bawaan MetrikInventaris: satu HistogramLatensi per operasi
+// service dan per operasi repository, plus penghitung per (operasi, hasil)
+// yang dinaikkan di setiap panggilan. Latensi diukur kira-kira 1 dari
+// periodeSampel panggilan: satu System.nanoTime() di VM uji berharga
+// ~40 ns, sehingga mengukur setiap panggilan membuat instrumentasi lebih
+// mahal dari operasi yang diukur. Jalur yang tidak disampel tidak memakai
+// instruksi atomik: hitung mundur sampel dan penghitung hasil milik thread
+// pemanggil (satu ThreadLocal), ditulis dengan lazySet oleh thread itu saja
+// dan dijumlahkan saat dibaca. Dengan periode bawaan 256, keluarStok lewat
+// RepositoryProdukTerukur bertambah sekitar 30 ns per panggilan di VM uji
+// (MetrikInventarisBenchmark mati vs bawaan, 3 fork x 10 iterasi x 2 s:
+// 165 -> 194 dan 171 -> 204 ns/op); sisanya pembungkus repository.
+public class MetrikInventarisHistogram implements MetrikInventaris {
+    public static final int PERIODE_SAMPEL_BAWAAN = 256;
+
+    private static final Operasi[] OPERASI = Operasi.values();
+    private static final OperasiRepository[] OPERASI_REPOSITORY = OperasiRepository.values();
+    private static final HasilOperasi[] HASIL = HasilOperasi.values();
+    // Indeks penghitung: operasi * jumlah hasil + hasil
+    private static final int JUMLAH_PENGHITUNG = OPERASI.length * HASIL.length;
+    private static final int BATAS_SAPU_MINIMUM = 64;
+
+    private final int periodeSampel;
+    private final HistogramLatensi[] latensiOperasi = new HistogramLatensi[OPERASI.length];
+    private final HistogramLatensi[] latensiRepository = new HistogramLatensi[OPERASI_REPOSITORY.length];
+    private final ThreadLocal<PencatatThread> pencatat = ThreadLocal.withInitial(this::daftarkanThread);
+
+    // Semua field di bawah dijaga kunciDaftar. Pencatat thread yang sudah
+    // selesai dilipat ke jumlahSelesai saat daftar disapu, sehingga thread
+    // berumur pendek (mis. virtual thread per tugas) tidak menumpuk
+    private final ReentrantLock kunciDaftar = new ReentrantLock();
+    private final List<PencatatThread> daftarPencatat = new ArrayList<>();
+    private final long[] jumlahSelesai = new long[JUMLAH_PENGHITUNG];
+    // Diisi reset(): hitungan saat reset dikurangkan dari setiap pembacaan
+    private final long[] jumlahSaatReset = new long[JUMLAH_PENGHITUNG];
+    private int batasSapu = BATAS_SAPU_MINIMUM;
+
+    // Hanya ditulis thread pemiliknya
+    private static final class PencatatThread {
+        private final WeakReference<Thread> pemilik = new WeakReference<>(Thread.currentThread());
+        private final AtomicLongArray jumlahHasil = new AtomicLongArray(JUMLAH_PENGHITUNG);
+        private int sisaSampel;
+
+        private boolean selesai() {
+            Thread thread = pemilik.get();
+            return thread == null || !thread.isAlive();
+        }
+    }
+
+    public MetrikInventarisHistogram() {
+        this(PERIODE_SAMPEL_BAWAAN);
+    }
+
+    // periodeSampel 1 = setiap panggilan diukur
+    public MetrikInventarisHistogram(int periodeSampel) {
+        if (periodeSampel <= 0) {
+            throw new IllegalArgumentException("Periode sampel harus positif");
+        }
+        this.periodeSampel = periodeSampel;
+        for (int i = 0; i < latensiOperasi.length; i++) {
+            latensiOperasi[i] = new HistogramLatensi();
+        }
+        for (int i = 0; i < latensiRepository.length; i++) {
+            latensiRepository[i] = new HistogramLatensi();
+        }
+    }
+
+    // Tanpa bilangan acak di jalur yang tidak disampel: cukup satu
+    // pengurangan. Jarak ke sampel berikutnya diacak di sekitar periodeSampel
+    // agar pemanggil dengan pola tetap (service lalu beberapa panggilan
+    // repository) tidak selalu tersampel di posisi yang sama
+    @Override
+    public boolean sampel() {
+        if (periodeSampel == 1) {
+            return true;
+        }
+        PencatatThread p = pencatat.get();
+        if (--p.sisaSampel > 0) {
+            return false;
+        }
+        p.sisaSampel = (int) Math.min(Integer.MAX_VALUE,
+                periodeSampel - periodeSampel / 2 + (long) ThreadLocalRandom.current().nextInt(periodeSampel));
+        return true;
+    }
+
+    @Override
+    public void catatOperasi(Operasi operasi, HasilOperasi hasil, long durasiNanos) {
+        AtomicLongArray jumlah = pencatat.get().jumlahHasil;
+        int i = operasi.ordinal() * HASIL.length + hasil.ordinal();
+        jumlah.lazySet(i, jumlah.get(i) + 1);
+        if (durasiNanos != TIDAK_DIUKUR) {
+            latensiOperasi[operasi.ordinal()].catat(durasiNanos);
+        }
+    }
+
+    @Override
+    public void catatRepository(OperasiRepository operasi, long durasiNanos) {
+        latensiRepository[operasi.ordinal()].catat(durasiNanos);
+    }
+
+    public int getPeriodeSampel() {
+        return periodeSampel;
+    }
+
+    public long getJumlah(Operasi operasi, HasilOperasi hasil) {
+        int i = operasi.ordinal() * HASIL.length + hasil.ordinal();
+        kunciDaftar.lock();
+        try {
+            return jumlahMentah(i) - jumlahSaatReset[i];
+        } finally {
+            kunciDaftar.unlock();
+        }
+    }
+
+    public long getJumlah(Operasi operasi) {
+        long total = 0;
+        for (HasilOperasi hasil : HASIL) {
+            total += getJumlah(operasi, hasil);
+        }
+        return total;
+    }
+
+    // Hanya hasil yang pernah terjadi
+    public Map<HasilOperasi, Long> getJumlahPerHasil(Operasi operasi) {
+        Map<HasilOperasi, Long> jumlahPerHasil = new EnumMap<>(HasilOperasi.class);
+        for (HasilOperasi hasil : HASIL) {
+            long jumlah = getJumlah(operasi, hasil);
+            if (jumlah > 0) {
+                jumlahPerHasil.put(hasil, jumlah);
+            }
+        }
+        return jumlahPerHasil;
+    }
+
+    public RingkasanLatensi getLatensi(Operasi operasi) {
+        return latensiOperasi[operasi.ordinal()].ringkasan();
+    }
+
+    public RingkasanLatensi getLatensi(OperasiRepository operasi) {
+        return latensiRepository[operasi.ordinal()].ringkasan();
+    }
+
+    public void reset() {
+        for (HistogramLatensi histogram : latensiOperasi) {
+            histogram.reset();
+        }
+        for (HistogramLatensi histogram : latensiRepository) {
+            histogram.reset();
+        }
+        kunciDaftar.lock();
+        try {
+            for (int i = 0; i < JUMLAH_PENGHITUNG; i++) {
+                jumlahSaatReset[i] = jumlahMentah(i);
+            }
+        } finally {
+            kunciDaftar.unlock();
+        }
+    }
+
+    // Dipanggil dengan kunciDaftar dipegang
+    private long jumlahMentah(int i) {
+        long total = jumlahSelesai[i];
+        for (PencatatThread p : daftarPencatat) {
+            total += p.jumlahHasil.get(i);
+        }
+        return total;
+    }
+
+    // Sekali per thread. Daftar disapu setiap kali ukurannya dua kali lipat
+    // sapuan terakhir, jadi biaya sapu teramortisasi konstan per thread
+    private PencatatThread daftarkanThread() {
+        PencatatThread baru = new PencatatThread();
+        kunciDaftar.lock();
+        try {
+            if (daftarPencatat.size() >= batasSapu) {
+                sapuThreadSelesai();
+                batasSapu = Math.max(BATAS_SAPU_MINIMUM, daftarPencatat.size() * 2);
+            }
+            daftarPencatat.add(baru);
+        } finally {
+            kunciDaftar.unlock();
+        }
+        return baru;
+    }
+
+    // Thread yang sudah selesai tidak menulis lagi, hitungannya final
+    private void sapuThreadSelesai() {
+        Iterator<PencatatThread> iterator = daftarPencatat.iterator();
+        while (iterator.hasNext()) {
+            PencatatThread p = iterator.next();
+            if (p.selesai()) {
+                for (int i = 0; i < JUMLAH_PENGHITUNG; i++) {
+                    jumlahSelesai[i] += p.jumlahHasil.get(i);
+                }
+                iterator.remove();
+            }
+        }
+    }
+}
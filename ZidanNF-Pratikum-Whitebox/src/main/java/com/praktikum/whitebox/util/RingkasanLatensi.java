@@ -0,0 +1,6 @@
+package com.praktikum.whitebox.util;
+
+// Nilai persentil dalam nanodetik, dibulatkan ke atas batas bucket (galat relatif <= 1/64)
+public record RingkasanLatensi(long jumlah, long p50, long p90, long p99, long p999, long maks) {
+    public static final RingkasanLatensi KOSONG = new RingkasanLatensi(0, 0, 0, 0, 0, 0);
+}
@@ -0,0 +1,57 @@
+package com.praktikum.whitebox.util;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Kumpulan lock bergaris (striped): kode produk dipetakan ke salah satu
+// dari sejumlah tetap ReentrantLock, sehingga operasi pada kode yang sama
+// saling eksklusif sementara kode berbeda hampir tidak pernah berebut lock.
+public class StripedLock {
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public StripedLock(int jumlahStripe) {
+        if (jumlahStripe <= 0) {
+            throw new IllegalArgumentException("Jumlah stripe harus positif");
+        }
+        // Dibulatkan ke pangkat dua agar indeks cukup dihitung dengan mask
+        int ukuran = jumlahStripe == 1 ? 1 : Integer.highestOneBit(jumlahStripe - 1) << 1;
+        this.locks = new ReentrantLock[ukuran];
+        for (int i = 0; i < ukuran; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = ukuran - 1;
+    }
+
+    public ReentrantLock get(String kunci) {
+        return locks[indeks(kunci)];
+    }
+
+    // Lock untuk sekumpulan kunci, tanpa duplikat dan selalu berurutan indeks
+    // stripe, sehingga dua batch yang saling tumpang tindih tidak deadlock
+    public List<ReentrantLock> getSemua(Collection<String> daftarKunci) {
+        BitSet terpakai = new BitSet(locks.length);
+        for (String kunci : daftarKunci) {
+            terpakai.set(indeks(kunci));
+        }
+        List<ReentrantLock> hasil = new ArrayList<>(terpakai.cardinality());
+        for (int i = terpakai.nextSetBit(0); i >= 0; i = terpakai.nextSetBit(i + 1)) {
+            hasil.add(locks[i]);
+        }
+        return hasil;
+    }
+
+    private int indeks(String kunci) {
+        int h = kunci == null ? 0 : kunci.hashCode();
+        // Sebar bit atas ke bawah seperti HashMap agar distribusi merata
+        h ^= (h >>> 16);
+        return h & mask;
+    }
+
+    public int jumlahStripe() {
+        return locks.length;
+    }
+}
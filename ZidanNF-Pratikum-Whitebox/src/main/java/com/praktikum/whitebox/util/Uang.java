@@ -0,0 +1,67 @@
+package com.praktikum.whitebox.util;
+
+// Representasi uang fixed-point: nilai disimpan sebagai long dalam satuan
+// terkecil (minor unit) dengan SKALA digit desimal, mis. 1.234,56 = 123456.
+// Semua operasi pada primitif long sehingga eksak dan tanpa alokasi;
+// overflow dilempar sebagai ArithmeticException, bukan dibungkus diam-diam.
+public final class Uang {
+    public static final int SKALA = 2;
+    public static final long SATUAN = 100L;
+    // Persentase diskon dinyatakan dalam basis poin: 10_000 bp = 100%
+    public static final long BASIS_POIN_PENUH = 10_000L;
+
+    // Penanda nilai yang tidak bisa dinyatakan (NaN, tak hingga, di luar
+    // rentang long). keMayor mengembalikannya sebagai NaN sehingga validasi
+    // menolaknya seperti harga NaN
+    public static final long TIDAK_SAH = Long.MIN_VALUE;
+
+    private Uang() {}
+
+    // Seperti dariMayor tetapi tidak pernah melempar: untuk input yang belum
+    // divalidasi (mis. konstruktor Produk), nilai tak terwakili jadi TIDAK_SAH
+    public static long dariMayorAtauTidakSah(double nilaiMayor) {
+        if (Double.isNaN(nilaiMayor) || Double.isInfinite(nilaiMayor)) {
+            return TIDAK_SAH;
+        }
+        double minor = Math.rint(nilaiMayor * SATUAN);
+        if (minor >= 0x1p63 || minor <= -0x1p63) {
+            return TIDAK_SAH;
+        }
+        return (long) minor;
+    }
+
+    // Konversi dari nilai mayor (double), dibulatkan ke satuan terkecil terdekat
+    public static long dariMayor(double nilaiMayor) {
+        if (Double.isNaN(nilaiMayor) || Double.isInfinite(nilaiMayor)) {
+            throw new IllegalArgumentException("Nilai uang tidak valid");
+        }
+        double minor = Math.rint(nilaiMayor * SATUAN);
+        if (minor >= 0x1p63 || minor < -0x1p63) {
+            throw new ArithmeticException("Nilai uang terlalu besar");
+        }
+        return (long) minor;
+    }
+
+    public static double keMayor(long nilaiMinor) {
+        return nilaiMinor == TIDAK_SAH ? Double.NaN : nilaiMinor / (double) SATUAN;
+    }
+
+    public static long kali(long nilaiMinor, long jumlah) {
+        return Math.multiplyExact(nilaiMinor, jumlah);
+    }
+
+    public static long tambah(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    // nilaiMinor x basisPoin / 10_000, dibulatkan setengah ke atas (menjauhi nol)
+    public static long persen(long nilaiMinor, long basisPoin) {
+        long hasilKali = Math.multiplyExact(nilaiMinor, basisPoin);
+        long setengah = hasilKali >= 0 ? BASIS_POIN_PENUH / 2 : -BASIS_POIN_PENUH / 2;
+        return Math.addExact(hasilKali, setengah) / BASIS_POIN_PENUH;
+    }
+
+    public static long keBasisPoin(double pecahan) {
+        return Math.round(pecahan * BASIS_POIN_PENUH);
+    }
+}
@@ -3,12 +3,34 @@ package com.praktikum.whitebox.util;
 import com.praktikum.whitebox.model.Kategori;
 import com.praktikum.whitebox.model.Produk;
 public class ValidationUtils {
+    // Setara dengan kode.trim().matches("^[A-Za-z0-9]{3,10}$"), tetapi dipindai
+    // per karakter tanpa kompilasi regex maupun salinan String hasil trim()
     public static boolean isValidKodeProduk(String kode) {
-        if (kode == null || kode.trim().isEmpty()) {
+        if (kode == null) {
             return false;
         }
-        String kodeBersih = kode.trim();
-        return kodeBersih.matches("^[A-Za-z0-9]{3,10}$");
+        int awal = 0;
+        int akhir = kode.length();
+        // Batas spasi mengikuti String.trim(): semua karakter <= ' '
+        while (awal < akhir && kode.charAt(awal) <= ' ') {
+            awal++;
+        }
+        while (akhir > awal && kode.charAt(akhir - 1) <= ' ') {
+            akhir--;
+        }
+        int panjang = akhir - awal;
+        if (panjang < 3 || panjang > 10) {
+            return false;
+        }
+        for (int i = awal; i < akhir; i++) {
+            if (!isAlfanumerikAscii(kode.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    private static boolean isAlfanumerikAscii(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
     }
     // Validasi nama (3-100 karakter, boleh huruf, angka, spasi)
     public static boolean isValidNama(String nama) {
@@ -0,0 +1,79 @@
+package com.praktikum.whitebox.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Kode Produk Terkemas")
+public class KodeProdukTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ABC", "000", "zzzzzzzzzz", "PROD001", "0AB", "00AB", "aB9"})
+    @DisplayName("Kemas lalu buka mengembalikan kode semula")
+    void testBolakBalik(String kode) {
+        KodeProduk kunci = KodeProduk.dari(kode);
+        assertEquals(kode, kunci.toString());
+        assertEquals(kunci, KodeProduk.dari(new String(kode.toCharArray())));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "AB", "ABCDEFGHIJK", " ABC", "AB-1", "ÄBC"})
+    @DisplayName("Kode tidak sah dikemas menjadi TIDAK_SAH")
+    void testTidakSah(String kode) {
+        assertEquals(KodeProduk.TIDAK_SAH, KodeProduk.kemas(kode));
+        assertThrows(IllegalArgumentException.class, () -> KodeProduk.dari(kode));
+    }
+
+    @Test
+    @DisplayName("Urutan kunci sama dengan urutan String, tanpa tabrakan antar panjang")
+    void testUrutan() {
+        assertNotEquals(KodeProduk.dari("0AB"), KodeProduk.dari("00AB"));
+        assertEquals(KodeProduk.TIDAK_SAH, KodeProduk.kemas(null));
+
+        Random random = new Random(42);
+        String simbol = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+        List<String> daftarKode = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int panjang = 3 + random.nextInt(8);
+            for (int j = 0; j < panjang; j++) {
+                sb.append(simbol.charAt(random.nextInt(simbol.length())));
+            }
+            daftarKode.add(sb.toString());
+        }
+        daftarKode.add("zzzzzzzzzz");
+        List<KodeProduk> daftarKunci = new ArrayList<>();
+        daftarKode.forEach(kode -> daftarKunci.add(KodeProduk.dari(kode)));
+        Collections.sort(daftarKode);
+        Collections.sort(daftarKunci);
+        assertEquals(daftarKode, daftarKunci.stream().map(KodeProduk::toString).toList());
+    }
+
+    @Test
+    @DisplayName("equals/hashCode Produk memakai kode terkemas, kode tak terkemas tetap dibandingkan sebagai String")
+    void testProdukMemakaiKunci() {
+        Produk a = new Produk("PROD001", "Mouse", "Elektronik", 1000, 1, 1);
+        Produk b = new Produk();
+        b.setKode("PROD001");
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(KodeProduk.kemas("PROD001"), a.getKunciKode());
+
+        b.setKode("PROD002");
+        assertNotEquals(a, b);
+
+        Produk spasi1 = new Produk(" PROD001", "Mouse", "Elektronik", 1000, 1, 1);
+        Produk spasi2 = new Produk(" PROD001", "Mouse", "Elektronik", 1000, 1, 1);
+        assertEquals(spasi1, spasi2);
+        assertEquals(spasi1.hashCode(), spasi2.hashCode());
+        assertNotEquals(a, spasi1);
+        assertEquals(new Produk(), new Produk());
+        assertEquals(a, a.salin());
+    }
+}
@@ -1,10 +1,14 @@
 package com.praktikum.whitebox.model;
 
+import com.praktikum.whitebox.util.ValidationUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("Test Class Produk - White Box Testing")
@@ -181,4 +185,99 @@ public class ProdukTest {
         // hashCode()
         assertEquals(produk1.hashCode(), produk2.hashCode());
     }
-}
\ No newline at end of file
+
+    // =======================================================================
+    // MULTI GUDANG
+    // =======================================================================
+    @Test
+    @DisplayName("Multi gudang - stok lama pindah ke gudang pertama, total selalu sinkron")
+    void testMultiGudangTotal() {
+        assertFalse(produk.isMultiGudang());
+        assertThrows(IllegalStateException.class, () -> produk.getStok("JKT"));
+
+        produk.tambahGudang("BDG", 20);
+        produk.tambahGudang("JKT", 5);
+        assertEquals(List.of("JKT", "BDG"), produk.getDaftarGudang());
+        assertEquals(10, produk.getStok("BDG"));
+        assertEquals(0, produk.getStok("JKT"));
+
+        produk.tambahStok("JKT", 3);
+        produk.tambahStok(2); // ke gudang terdekat
+        assertEquals(5, produk.getStok("JKT"));
+        assertEquals(15, produk.getStok());
+
+        produk.kurangiStok("BDG", 10);
+        assertTrue(produk.isStokHabis("BDG"));
+        assertTrue(produk.isStokMenipis("JKT"));
+        assertFalse(produk.isStokAman("JKT"));
+        assertTrue(produk.isStokMenipis());
+        assertThrows(IllegalArgumentException.class, () -> produk.kurangiStok("JKT", 6));
+        assertThrows(IllegalArgumentException.class, () -> produk.tambahStok("SBY", 1));
+        assertThrows(IllegalArgumentException.class, () -> produk.tambahGudang("JKT", 1));
+        assertEquals(5, produk.getStok());
+    }
+
+    @Test
+    @DisplayName("Multi gudang - alokasi dari gudang terdekat yang berisi, terpecah bila kurang")
+    void testMultiGudangAlokasi() {
+        Produk p = new Produk("PROD002", "Mouse", "Elektronik", 150000, 0, 2);
+        p.tambahGudang("JKT", 0);
+        p.tambahGudang("SBY", 50);
+        p.tambahGudang("BDG", 10);
+        p.tambahStok("SBY", 8);
+        p.tambahStok("BDG", 3);
+
+        // JKT kosong dilewati
+        Map<String, Integer> alokasi = p.alokasikanStok(5);
+        assertEquals(Map.of("BDG", 3, "SBY", 2), alokasi);
+        assertEquals(List.of("BDG", "SBY"), new ArrayList<>(alokasi.keySet()));
+        assertEquals(6, p.getStok());
+        assertThrows(IllegalArgumentException.class, () -> p.alokasikanStok(7));
+
+        // setStok (jalur repository) turun = alokasi terdekat, naik = gudang terdekat
+        p.setStok(4);
+        assertEquals(4, p.getStok("SBY"));
+        p.setStok(9);
+        assertEquals(5, p.getStok("JKT"));
+
+        Produk salinan = p.salin();
+        salinan.kurangiStok("JKT", 5);
+        assertEquals(5, p.getStok("JKT"));
+        assertEquals(4, salinan.getStok());
+        assertEquals(p, salinan);
+    }
+
+    @Test
+    @DisplayName("Harga fixed-point - minor unit dan total eksak")
+    void testHargaMinor() {
+        Produk p = new Produk("PROD009", "Permen", "Makanan", 0.10, 5, 1);
+        assertEquals(10, p.getHargaMinor());
+        assertEquals(0.10, p.getHarga());
+        assertEquals(30, p.hitungTotalHargaMinor(3));
+        assertEquals(0.30, p.hitungTotalHarga(3));
+
+        p.setHargaMinor(199);
+        assertEquals(1.99, p.getHarga());
+        assertThrows(IllegalArgumentException.class, () -> p.hitungTotalHargaMinor(0));
+        assertThrows(ArithmeticException.class, () -> {
+            p.setHargaMinor(Long.MAX_VALUE);
+            p.hitungTotalHargaMinor(2);
+        });
+    }
+
+    @Test
+    @DisplayName("Harga tak terwakili tetap bisa dibuat, lalu ditolak validasi")
+    void testHargaTidakSah() {
+        for (double harga : new double[] {Double.NaN, Double.POSITIVE_INFINITY, 1e20}) {
+            Produk p = new Produk("PROD009", "Permen", "Makanan", harga, 5, 1);
+            assertTrue(Double.isNaN(p.getHarga()));
+            assertTrue(Double.isNaN(p.hitungTotalHarga(2)));
+            assertFalse(ValidationUtils.isValidProduk(p));
+        }
+        Produk p = new Produk("PROD009", "Permen", "Makanan", 1.0, 5, 1);
+        p.setHarga(Double.NaN);
+        assertFalse(ValidationUtils.isValidProduk(p));
+        p.setHarga(2.5);
+        assertEquals(250, p.getHargaMinor());
+    }
+}
@@ -0,0 +1,105 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.SnapshotProduk;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Peta Persisten HAMT")
+public class HamtProdukTest {
+
+    private static SnapshotProduk produk(String kode, int stok) {
+        return new SnapshotProduk(kode, "Produk", "Umum", 100, stok, 1, true);
+    }
+
+    private static void assertIsiSama(Map<String, SnapshotProduk> acuan, HamtProduk peta) {
+        assertEquals(acuan.size(), peta.ukuran());
+        assertEquals(acuan, peta.stream().collect(Collectors.toMap(SnapshotProduk::kode, p -> p)));
+        acuan.forEach((kode, p) -> assertSame(p, peta.get(kode)));
+    }
+
+    @Test
+    @DisplayName("Versi lama tidak berubah setelah tambah, ganti dan hapus")
+    void testPersisten() {
+        HamtProduk v0 = HamtProduk.KOSONG;
+        HamtProduk v1 = v0.dengan(produk("PROD001", 1));
+        HamtProduk v2 = v1.dengan(produk("PROD001", 2)).dengan(produk("PROD002", 5));
+        HamtProduk v3 = v2.tanpa("PROD001");
+
+        assertEquals(0, v0.ukuran());
+        assertNull(v0.get("PROD001"));
+        assertEquals(1, v1.get("PROD001").stok());
+        assertEquals(2, v2.get("PROD001").stok());
+        assertEquals(2, v2.ukuran());
+        assertNull(v3.get("PROD001"));
+        assertEquals(1, v3.ukuran());
+        assertSame(v3, v3.tanpa("TIDAKADA"));
+        assertSame(v3, v3.tanpa(null));
+        assertNull(v3.get(null));
+        assertEquals(0, v3.tanpa("PROD002").ukuran());
+    }
+
+    @Test
+    @DisplayName("Kode dengan hashCode sama disimpan di simpul tabrakan")
+    void testTabrakan() {
+        // "Aa" dan "BB" punya hashCode sama, begitu pula gabungannya
+        List<String> kodeTabrakan = List.of("AaAa", "AaBB", "BBAa", "BBBB");
+        Map<String, SnapshotProduk> acuan = new HashMap<>();
+        HamtProduk peta = HamtProduk.KOSONG;
+        for (String kode : kodeTabrakan) {
+            SnapshotProduk p = produk(kode, kode.length());
+            peta = peta.dengan(p);
+            acuan.put(kode, p);
+        }
+        SnapshotProduk lain = produk("PROD001", 9);
+        peta = peta.dengan(lain);
+        acuan.put("PROD001", lain);
+        assertIsiSama(acuan, peta);
+
+        SnapshotProduk pengganti = produk("BBAa", 42);
+        peta = peta.dengan(pengganti);
+        acuan.put("BBAa", pengganti);
+        assertIsiSama(acuan, peta);
+
+        for (String kode : kodeTabrakan) {
+            peta = peta.tanpa(kode);
+            acuan.remove(kode);
+            assertIsiSama(acuan, peta);
+        }
+    }
+
+    @Test
+    @DisplayName("Operasi acak sama dengan HashMap, versi-versi lama tetap utuh")
+    void testAcakSamaDenganHashMap() {
+        Random random = new Random(11);
+        Map<String, SnapshotProduk> acuan = new HashMap<>();
+        HamtProduk peta = HamtProduk.KOSONG;
+        List<Map<String, SnapshotProduk>> acuanLama = new ArrayList<>();
+        List<HamtProduk> versiLama = new ArrayList<>();
+        for (int langkah = 0; langkah < 30_000; langkah++) {
+            String kode = "SKU" + random.nextInt(3000);
+            if (random.nextInt(3) == 0) {
+                peta = peta.tanpa(kode);
+                acuan.remove(kode);
+            } else {
+                SnapshotProduk p = produk(kode, langkah);
+                peta = peta.dengan(p);
+                acuan.put(kode, p);
+            }
+            if (langkah % 5000 == 0) {
+                acuanLama.add(new HashMap<>(acuan));
+                versiLama.add(peta);
+            }
+        }
+        assertIsiSama(acuan, peta);
+        for (int i = 0; i < versiLama.size(); i++) {
+            assertIsiSama(acuanLama.get(i), versiLama.get(i));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Indeks Nama Produk")
+public class IndeksNamaTest {
+    private IndeksNama indeks;
+
+    @BeforeEach
+    void setUp() {
+        indeks = new IndeksNama();
+        indeks.tambah(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        indeks.tambah(new Produk("PROD002", "Mouse Wireless", "Elektronik", 150000, 3, 5));
+        indeks.tambah(new Produk("PROD003", "Mouse Gaming", "Elektronik", 250000, 7, 5));
+        indeks.tambah(new Produk("PROD004", "Meja Kayu", "Furnitur", 750000, 0, 2));
+    }
+
+    private static Set<String> kode(List<Produk> produk) {
+        return produk.stream().map(Produk::getKode).collect(Collectors.toSet());
+    }
+
+    // =================================================================
+    // SUBSTRING
+    // =================================================================
+
+    @Test
+    @DisplayName("Substring tanpa membedakan huruf besar/kecil")
+    void testCariSubstring() {
+        assertEquals(Set.of("PROD001", "PROD003"), kode(indeks.cariSubstring("GAMING", 10)));
+        assertEquals(Set.of("PROD002"), kode(indeks.cariSubstring("less", 10)));
+        assertEquals(Set.of("PROD003"), kode(indeks.cariSubstring("se gam", 10)));
+        assertTrue(indeks.cariSubstring("keyboard", 10).isEmpty());
+        assertTrue(indeks.cariSubstring(null, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Substring pendek (< 3 huruf) dan query kosong")
+    void testCariSubstringPendek() {
+        assertEquals(Set.of("PROD002", "PROD003"), kode(indeks.cariSubstring("ou", 10)));
+        assertEquals(4, indeks.cariSubstring("", 10).size());
+    }
+
+    @Test
+    @DisplayName("Trigram cocok tapi urutan berbeda - diverifikasi, tidak ikut")
+    void testVerifikasiKandidat() {
+        indeks.tambah(new Produk("PROD005", "abcxbcd", "Lain", 1000, 1, 1));
+        assertTrue(indeks.cariSubstring("abcd", 10).isEmpty());
+        assertEquals(Set.of("PROD005"), kode(indeks.cariSubstring("xbcd", 10)));
+    }
+
+    @Test
+    @DisplayName("Batas hasil dihormati")
+    void testBatasHasil() {
+        assertEquals(1, indeks.cariSubstring("mouse", 1).size());
+        assertEquals(2, indeks.cariSubstring("a", 2).size());
+        assertTrue(indeks.cariSubstring("mouse", 0).isEmpty());
+    }
+
+    // =================================================================
+    // AWALAN
+    // =================================================================
+
+    @Test
+    @DisplayName("Awalan terurut berdasarkan nama")
+    void testCariAwalan() {
+        List<Produk> hasil = indeks.cariAwalan("m", 10);
+        assertEquals(List.of("PROD004", "PROD003", "PROD002"), hasil.stream().map(Produk::getKode).toList());
+        assertEquals(List.of("PROD003"), indeks.cariAwalan("MOUSE G", 10).stream().map(Produk::getKode).toList());
+        assertEquals(1, indeks.cariAwalan("m", 1).size());
+        assertTrue(indeks.cariAwalan("gaming", 10).isEmpty());
+        assertTrue(indeks.cariAwalan(null, 10).isEmpty());
+    }
+
+    // =================================================================
+    // PEMBARUAN INDEKS
+    // =================================================================
+
+    @Test
+    @DisplayName("Tambah ulang mengganti nama lama, hapus membersihkan indeks")
+    void testTambahUlangDanHapus() {
+        indeks.tambah(new Produk("PROD002", "Keyboard Mekanik", "Elektronik", 150000, 3, 5));
+        assertEquals(4, indeks.ukuran());
+        assertTrue(indeks.cariSubstring("wireless", 10).isEmpty());
+        assertEquals(Set.of("PROD002"), kode(indeks.cariAwalan("keyboard", 10)));
+
+        indeks.hapus("PROD001");
+        indeks.hapus("TIDAKADA");
+        assertEquals(3, indeks.ukuran());
+        assertEquals(Set.of("PROD003"), kode(indeks.cariSubstring("gaming", 10)));
+        assertTrue(indeks.cariAwalan("laptop", 10).isEmpty());
+
+        // Id yang dibebaskan dipakai ulang tanpa mencampur posting lama
+        indeks.tambah(new Produk("PROD006", "Laptop Kantor", "Elektronik", 9000000, 2, 1));
+        assertEquals(Set.of("PROD006"), kode(indeks.cariSubstring("laptop", 10)));
+        assertEquals(Set.of("PROD003"), kode(indeks.cariSubstring("gaming", 10)));
+    }
+
+    @Test
+    @DisplayName("Sinkronkan mengikuti isi sumber terakhir, null menghapus")
+    void testSinkronkan() {
+        Map<String, Produk> sumber = new HashMap<>();
+        sumber.put("PROD002", new Produk("PROD002", "Keyboard Mekanik", "Elektronik", 150000, 3, 5));
+        indeks.sinkronkan("PROD002", sumber::get);
+        indeks.sinkronkan("PROD002", sumber::get);
+        assertEquals(4, indeks.ukuran());
+        assertTrue(indeks.cariSubstring("wireless", 10).isEmpty());
+        assertEquals(Set.of("PROD002"), kode(indeks.cariAwalan("keyboard", 10)));
+
+        indeks.sinkronkan("PROD001", sumber::get);
+        assertEquals(3, indeks.ukuran());
+        assertTrue(indeks.cariAwalan("laptop", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Nama null diperlakukan sebagai teks kosong")
+    void testNamaNull() {
+        Produk tanpaNama = new Produk("PROD007", null, "Lain", 1000, 1, 1);
+        indeks.tambah(tanpaNama);
+        assertTrue(indeks.cariSubstring("", 10).contains(tanpaNama));
+        indeks.hapus("PROD007");
+        assertEquals(4, indeks.ukuran());
+    }
+}
@@ -0,0 +1,73 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.KodeProduk;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Peta Kode -> Id Open Addressing")
+public class PetaKodeIdTest {
+
+    @Test
+    @DisplayName("put, get, hapus dasar termasuk kode yang tidak bisa dikemas")
+    void testDasar() {
+        PetaKodeId peta = new PetaKodeId();
+        assertEquals(PetaKodeId.TIDAK_ADA, peta.put("PROD001", 7));
+        assertEquals(7, peta.put("PROD001", 8));
+        assertEquals(8, peta.get("PROD001"));
+        assertEquals(8, peta.get(KodeProduk.kemas("PROD001")));
+
+        assertEquals(PetaKodeId.TIDAK_ADA, peta.put("kode bebas", 3));
+        assertEquals(3, peta.get("kode bebas"));
+        assertEquals(2, peta.ukuran());
+
+        assertEquals(PetaKodeId.TIDAK_ADA, peta.get("PROD999"));
+        assertEquals(PetaKodeId.TIDAK_ADA, peta.get((String) null));
+        assertEquals(PetaKodeId.TIDAK_ADA, peta.hapus((String) null));
+        assertEquals(PetaKodeId.TIDAK_ADA, peta.get(KodeProduk.TIDAK_SAH));
+        assertEquals(PetaKodeId.TIDAK_ADA, peta.hapus(KodeProduk.TIDAK_SAH));
+        assertEquals(2, peta.ukuran());
+        assertEquals(8, peta.hapus("PROD001"));
+        assertEquals(PetaKodeId.TIDAK_ADA, peta.hapus("PROD001"));
+        assertEquals(3, peta.hapus("kode bebas"));
+        assertEquals(0, peta.ukuran());
+        assertThrows(IllegalArgumentException.class, () -> peta.put(KodeProduk.TIDAK_SAH, 1));
+    }
+
+    @Test
+    @DisplayName("Operasi acak (termasuk perbesar tabel dan backward shift) sama dengan HashMap")
+    void testAcakSamaDenganHashMap() {
+        PetaKodeId peta = new PetaKodeId();
+        Map<String, Integer> acuan = new HashMap<>();
+        List<String> daftarKode = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            daftarKode.add(String.format("SKU%05d", i));
+        }
+        Random random = new Random(7);
+        for (int langkah = 0; langkah < 200_000; langkah++) {
+            String kode = daftarKode.get(random.nextInt(daftarKode.size()));
+            int operasi = random.nextInt(3);
+            if (operasi == 0) {
+                int id = random.nextInt(1_000_000);
+                Integer lama = acuan.put(kode, id);
+                assertEquals(lama == null ? PetaKodeId.TIDAK_ADA : lama, peta.put(kode, id));
+            } else if (operasi == 1) {
+                Integer lama = acuan.remove(kode);
+                assertEquals(lama == null ? PetaKodeId.TIDAK_ADA : lama, peta.hapus(kode));
+            } else {
+                Integer ada = acuan.get(kode);
+                assertEquals(ada == null ? PetaKodeId.TIDAK_ADA : ada, peta.get(kode));
+            }
+        }
+        assertEquals(acuan.size(), peta.ukuran());
+        for (String kode : daftarKode) {
+            Integer ada = acuan.get(kode);
+            assertEquals(ada == null ? PetaKodeId.TIDAK_ADA : ada, peta.get(kode));
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Test Repository Produk Cache")
+public class RepositoryProdukCacheTest {
+    private RepositoryProdukMemori delegate;
+    private RepositoryProdukCache repository;
+
+    @BeforeEach
+    void setUp() {
+        delegate = spy(new RepositoryProdukMemori());
+        delegate.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        delegate.simpan(new Produk("PROD002", "Mouse Wireless", "Elektronik", 150000, 3, 5));
+        repository = new RepositoryProdukCache(delegate, 100);
+    }
+
+    // =================================================================
+    // READ-THROUGH
+    // =================================================================
+
+    @Test
+    @DisplayName("Baca kedua dilayani cache, termasuk hasil tidak ditemukan")
+    void testReadThroughDanNegatif() {
+        assertEquals("Laptop Gaming", repository.cariByKode("PROD001").get().getNama());
+        assertEquals("Laptop Gaming", repository.cariByKode("PROD001").get().getNama());
+        assertTrue(repository.cariByKode("TIDAKADA").isEmpty());
+        assertTrue(repository.cariByKode("TIDAKADA").isEmpty());
+        assertTrue(repository.cariByKode(null).isEmpty());
+
+        verify(delegate, times(1)).cariByKode("PROD001");
+        verify(delegate, times(1)).cariByKode("TIDAKADA");
+        StatistikCache statistik = repository.statistik();
+        assertEquals(2, statistik.hit());
+        assertEquals(2, statistik.miss());
+        assertEquals(2, statistik.ukuran());
+        assertEquals(0.5, statistik.rasioHit(), 0.0);
+    }
+
+    @Test
+    @DisplayName("Batch hanya memuat kode yang belum ada di cache")
+    void testBatch() {
+        repository.cariByKode("PROD001");
+        Map<String, Produk> hasil = repository.cariByKodeBatch(List.of("PROD001", "PROD002", "TIDAKADA"));
+        assertEquals(Set.of("PROD001", "PROD002"), hasil.keySet());
+        verify(delegate).cariByKodeBatch(List.of("PROD002", "TIDAKADA"));
+
+        assertEquals(Set.of("PROD002"), repository.cariByKodeBatch(List.of("PROD002", "TIDAKADA")).keySet());
+        verify(delegate, times(1)).cariByKodeBatch(anyCollection());
+    }
+
+    // =================================================================
+    // TULIS = BUANG ENTRI
+    // =================================================================
+
+    @Test
+    @DisplayName("simpan, updateStok, updateAktif dan hapus membuang entri; baca berikutnya memuat ulang")
+    void testTulisMembuangEntri() {
+        Produk kabel = new Produk("PROD003", "Kabel", "Elektronik", 10000, 5, 1);
+        assertTrue(repository.cariByKode("PROD003").isEmpty());
+        assertTrue(repository.simpan(kabel));
+        assertEquals(5, repository.cariByKode("PROD003").get().getStok());
+        assertEquals(5, repository.cariByKode("PROD003").get().getStok());
+        verify(delegate, times(2)).cariByKode("PROD003");
+
+        assertTrue(repository.updateStok("PROD003", 9));
+        assertEquals(9, repository.cariByKode("PROD003").get().getStok());
+        verify(delegate, times(3)).cariByKode("PROD003");
+        assertEquals(9, delegate.cariByKode("PROD003").get().getStok());
+
+        assertTrue(repository.updateAktif("PROD003", false));
+        assertFalse(repository.cariByKode("PROD003").get().isAktif());
+
+        assertEquals(Set.of("PROD003"), repository.updateStokBatch(Map.of("PROD003", 2, "TIDAKADA", 1)));
+        assertEquals(2, repository.cariByKode("PROD003").get().getStok());
+
+        assertTrue(repository.hapus("PROD003"));
+        assertTrue(repository.cariByKode("PROD003").isEmpty());
+        assertTrue(delegate.cariByKode("PROD003").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cache tidak pernah mengubah objek Produk milik delegate")
+    void testTidakMengubahObjekDelegate() {
+        Produk hidup = repository.cariByKode("PROD001").get();
+        // Delegate yang "berhasil" tanpa mengubah objeknya: hanya delegate yang boleh menulis
+        doReturn(true).when(delegate).updateStok("PROD001", 99);
+        doReturn(true).when(delegate).updateAktif("PROD001", false);
+        assertTrue(repository.updateStok("PROD001", 99));
+        assertTrue(repository.updateAktif("PROD001", false));
+        assertEquals(10, hidup.getStok());
+        assertTrue(hidup.isAktif());
+    }
+
+    // =================================================================
+    // EVIKSI
+    // =================================================================
+
+    @Test
+    @DisplayName("Produk yang sering diakses bertahan saat scan produk sekali lewat")
+    void testEviksiTinyLfu() {
+        RepositoryProdukCache kecil = new RepositoryProdukCache(delegate, 10);
+        for (int i = 0; i < 5; i++) {
+            kecil.cariByKode("PROD001");
+        }
+        for (int i = 0; i < 50; i++) {
+            kecil.cariByKode("SEKALI" + i);
+        }
+        kecil.cariByKode("PROD001");
+
+        verify(delegate, times(1)).cariByKode("PROD001");
+        StatistikCache statistik = kecil.statistik();
+        assertTrue(statistik.eviksi() > 0);
+        assertTrue(statistik.ukuran() <= 10);
+    }
+
+    @Test
+    @DisplayName("Kapasitas tidak valid dan kosongkan cache")
+    void testKapasitasDanKosongkan() {
+        assertThrows(IllegalArgumentException.class, () -> new RepositoryProdukCache(delegate, 1));
+        repository.cariByKode("PROD001");
+        repository.kosongkan();
+        assertEquals(0, repository.statistik().ukuran());
+        repository.cariByKode("PROD001");
+        verify(delegate, times(2)).cariByKode("PROD001");
+    }
+
+    @Test
+    @DisplayName("Agregat diteruskan dari delegate")
+    void testAgregat() {
+        assertEquals(13, repository.totalStokAktif());
+        assertEquals(150_450_000.0, repository.totalNilaiAktif(), 0.0);
+    }
+
+    @Test
+    @DisplayName("Delegate tanpa agregat dipindai; total nilai yang melebihi long ditolak")
+    void testAgregatPindaiOverflow() {
+        RepositoryProduk tanpaAgregat = mock(RepositoryProduk.class);
+        Produk mahal = new Produk("PROD001", "Berlian", "Perhiasan", 0, 2, 1);
+        mahal.setHargaMinor(Long.MAX_VALUE / 3);
+        Produk nonaktif = new Produk("PROD002", "Arsip", "Umum", 1000, 5, 1);
+        nonaktif.setAktif(false);
+        when(tanpaAgregat.streamSemua()).thenAnswer(i -> Stream.of(mahal, nonaktif));
+        RepositoryProdukCache cache = new RepositoryProdukCache(tanpaAgregat, 100);
+        assertEquals(2, cache.totalStokAktif());
+        assertEquals(Long.MAX_VALUE / 3 * 2, cache.totalNilaiAktifMinor());
+
+        mahal.setStok(3);
+        assertEquals(Long.MAX_VALUE / 3 * 3, cache.totalNilaiAktifMinor());
+        mahal.setStok(4);
+        assertThrows(ArithmeticException.class, cache::totalNilaiAktifMinor);
+    }
+}
@@ -0,0 +1,186 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Produk File Memory-Mapped")
+public class RepositoryProdukFileTest extends RepositoryProdukKontrakTest<RepositoryProdukFile> {
+
+    @TempDir
+    Path folder;
+
+    @Override
+    RepositoryProdukFile buatRepository() throws IOException {
+        return new RepositoryProdukFile(folder.resolve("kontrak.dat"));
+    }
+
+    @Test
+    @DisplayName("Data bertahan setelah repository ditutup dan dibuka ulang")
+    void testPersistenSetelahRestart() throws IOException {
+        Path file = folder.resolve("produk.dat");
+        try (RepositoryProdukFile repository = new RepositoryProdukFile(file)) {
+            assertTrue(repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000.50, 10, 5)));
+            assertTrue(repository.simpan(new Produk("PROD002", "Kopi Arabika Gayo", "Minuman", 85000, 3, 5)));
+            assertTrue(repository.simpan(new Produk("PROD003", "Meja", "Furnitur", 750000, 0, 2)));
+            assertTrue(repository.updateStok("PROD001", 7));
+            assertTrue(repository.updateAktif("PROD002", false));
+            assertTrue(repository.hapus("PROD003"));
+        }
+
+        try (RepositoryProdukFile repository = new RepositoryProdukFile(file)) {
+            assertEquals(2, repository.jumlahProduk());
+            Produk laptop = repository.cariByKode("PROD001").get();
+            assertEquals("Laptop Gaming", laptop.getNama());
+            assertEquals("Elektronik", laptop.getKategori());
+            assertEquals(1500000050L, laptop.getHargaMinor());
+            assertEquals(7, laptop.getStok());
+            assertEquals(5, laptop.getStokMinimum());
+            assertTrue(laptop.isAktif());
+            assertFalse(repository.cariByKode("PROD002").get().isAktif());
+            assertTrue(repository.cariByKode("PROD003").isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Simpan ulang ditulis di tempat, produk baru di-append")
+    void testSimpanUlangDiTempat() throws IOException {
+        Path file = folder.resolve("produk.dat");
+        try (RepositoryProdukFile repository = new RepositoryProdukFile(file)) {
+            repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 1, 1));
+            long ukuranAwal = Files.size(file);
+            repository.simpan(new Produk("PROD001", "Laptop Baru", null, 2000, 9, 1));
+            assertEquals(ukuranAwal, Files.size(file));
+            Produk produk = repository.cariByKode("PROD001").get();
+            assertEquals("Laptop Baru", produk.getNama());
+            assertNull(produk.getKategori());
+            assertEquals(1, repository.cariSemua().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Slot bekas hapus dipakai ulang, juga setelah file dibuka ulang")
+    void testSlotBekasHapusDipakaiUlang() throws IOException {
+        Path file = folder.resolve("produk.dat");
+        try (RepositoryProdukFile repository = new RepositoryProdukFile(file)) {
+            repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 1, 1));
+            repository.simpan(new Produk("PROD002", "Mouse", "Elektronik", 500, 4, 1));
+            long ukuranAwal = Files.size(file);
+            // Lebih dari satu segmen churn: tanpa pemakaian ulang file akan membesar
+            for (int i = 0; i < 20_000; i++) {
+                assertTrue(repository.hapus("PROD002"));
+                assertTrue(repository.simpan(new Produk("PROD002", "Mouse " + i, "Elektronik", 500, i % 9, 1)));
+            }
+            assertEquals(ukuranAwal, Files.size(file));
+            assertTrue(repository.hapus("PROD001"));
+        }
+        try (RepositoryProdukFile repository = new RepositoryProdukFile(file)) {
+            assertEquals(1, repository.jumlahProduk());
+            assertEquals("Mouse 19999", repository.cariByKode("PROD002").get().getNama());
+            long ukuran = Files.size(file);
+            assertTrue(repository.simpan(new Produk("PROD003", "Meja", null, 750000, 0, 2)));
+            assertEquals(ukuran, Files.size(file));
+            assertEquals(List.of("PROD002", "PROD003"), kode(repository.cariSemua()));
+        }
+    }
+
+    @Test
+    @DisplayName("Agregat bertahap sama dengan pindai, juga setelah file dibuka ulang")
+    void testAgregat() throws IOException {
+        Path file = folder.resolve("produk.dat");
+        try (RepositoryProdukFile repository = new RepositoryProdukFile(file)) {
+            repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 10, 1));
+            repository.simpan(new Produk("PROD002", "Mouse", "Elektronik", 500, 4, 1));
+            repository.simpan(new Produk("PROD003", "Meja", "Furnitur", 750, 2, 1));
+            assertEquals(16, repository.totalStokAktif());
+            assertEquals(10 * 1000_00L + 4 * 500_00L + 2 * 750_00L, repository.totalNilaiAktifMinor());
+
+            repository.updateStok("PROD001", 3);
+            repository.updateAktif("PROD002", false);
+            repository.hapus("PROD003");
+            repository.simpan(new Produk("PROD004", "Kursi", "Furnitur", 200, 5, 1));
+            repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 2000, 3, 1));
+            repository.updateAktif("PROD002", true);
+            repository.updateAktif("PROD002", true);
+            assertEquals(12, repository.totalStokAktif());
+            assertEquals(3 * 2000_00L + 4 * 500_00L + 5 * 200_00L, repository.totalNilaiAktifMinor());
+            // Overflow ditolak sebelum record atau agregat berubah
+            repository.simpan(new Produk("PROD005", "Berlian", "Perhiasan", 1e12, 0, 1));
+            assertThrows(ArithmeticException.class, () -> repository.updateStok("PROD005", Integer.MAX_VALUE));
+            assertEquals(0, repository.cariByKode("PROD005").get().getStok());
+        }
+        try (RepositoryProdukFile repository = new RepositoryProdukFile(file)) {
+            try (Stream<Produk> semua = repository.streamSemua()) {
+                assertEquals(semua.filter(Produk::isAktif).mapToLong(Produk::getStok).sum(),
+                        repository.totalStokAktif());
+            }
+            assertEquals(12, repository.totalStokAktif());
+            assertEquals(3 * 2000_00L + 4 * 500_00L + 5 * 200_00L, repository.totalNilaiAktifMinor());
+            assertEquals(3, repository.cariByKode("PROD001").get().getStok());
+            assertTrue(repository.hapus("PROD005"));
+            assertEquals(12, repository.totalStokAktif());
+        }
+    }
+
+    @Test
+    @DisplayName("Banyak produk melewati batas satu segmen mapping")
+    void testMelewatiSatuSegmen() throws IOException {
+        Path file = folder.resolve("produk.dat");
+        int jumlah = 20_000;
+        try (RepositoryProdukFile repository = new RepositoryProdukFile(file)) {
+            for (int i = 0; i < jumlah; i++) {
+                repository.simpan(new Produk("S" + i, "Produk " + i, "Umum", 1000, i % 7, 1));
+            }
+        }
+        try (RepositoryProdukFile repository = new RepositoryProdukFile(file)) {
+            assertEquals(jumlah, repository.jumlahProduk());
+            assertEquals("Produk 19999", repository.cariByKode("S19999").get().getNama());
+            assertEquals(19999 % 7, repository.cariByKode("S19999").get().getStok());
+        }
+    }
+
+    @Test
+    @DisplayName("Input ditolak - kode kosong/terlalu panjang/non-ASCII, teks terlalu panjang")
+    void testInputDitolak() throws IOException {
+        try (RepositoryProdukFile repository = new RepositoryProdukFile(folder.resolve("produk.dat"))) {
+            assertFalse(repository.simpan(new Produk("", "Nama", "Kat", 1, 1, 1)));
+            assertFalse(repository.simpan(new Produk("KODEPANJANG1", "Nama", "Kat", 1, 1, 1)));
+            assertFalse(repository.simpan(new Produk("KÖDE", "Nama", "Kat", 1, 1, 1)));
+            assertFalse(repository.simpan(new Produk("KODE", "é".repeat(151), "Kat", 1, 1, 1)));
+            assertEquals(0, repository.jumlahProduk());
+        }
+    }
+
+    @Test
+    @DisplayName("File dengan format lain ditolak")
+    void testFormatTidakDikenal() throws IOException {
+        Path file = folder.resolve("bukan-repository.dat");
+        Files.write(file, new byte[128]);
+        assertThrows(IOException.class, () -> new RepositoryProdukFile(file));
+    }
+
+    @Test
+    @DisplayName("Stream membaca record satu per satu dan paginasi keyset bawaan")
+    void testStreamDanPaginasi() throws IOException {
+        try (RepositoryProdukFile repository = new RepositoryProdukFile(folder.resolve("produk.dat"))) {
+            repository.simpan(new Produk("PROD003", "Meja", "Furnitur", 750000, 0, 2));
+            repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 1, 1));
+            repository.simpan(new Produk("PROD002", "Mouse", "Elektronik", 500, 4, 1));
+
+            Stream<Produk> semua = repository.streamSemua();
+            // Hapus setelah stream dibuat: record terhapus dilewati
+            repository.hapus("PROD002");
+            assertEquals(List.of("PROD001", "PROD003"), semua.map(Produk::getKode).sorted().toList());
+
+            assertEquals(List.of("PROD001"), kode(repository.cariSemuaHalaman(null, 1)));
+            assertEquals(List.of("PROD003"), kode(repository.cariSemuaHalaman("PROD001", 5)));
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Produk dengan Write-Ahead Log")
+public class RepositoryProdukJurnalTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    @DisplayName("Semua mutasi dipulihkan dari log setelah restart")
+    void testPemulihanDariLog() throws IOException {
+        try (RepositoryProdukJurnal repository = new RepositoryProdukJurnal(new RepositoryProdukMemori(), folder, 0)) {
+            ServiceInventaris service = new ServiceInventaris(repository);
+            assertTrue(service.tambahProduk(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5)));
+            assertTrue(service.tambahProduk(new Produk("PROD002", "Mouse", "Elektronik", 150000.25, 3, 5)));
+            assertTrue(service.tambahProduk(new Produk("PROD003", "Meja", "Furnitur", 750000, 0, 2)));
+            assertTrue(service.keluarStok("PROD001", 4));
+            assertTrue(service.masukStok("PROD002", 2));
+            assertTrue(service.ubahStatusAktif("PROD002", false));
+            assertTrue(service.hapusProduk("PROD003"));
+            assertFalse(repository.updateStok("TIDAKADA", 1));
+        }
+
+        RepositoryProdukMemori pulih = new RepositoryProdukMemori();
+        try (RepositoryProdukJurnal repository = new RepositoryProdukJurnal(pulih, folder, 0)) {
+            assertEquals(2, pulih.jumlahProduk());
+            assertEquals(6, repository.cariByKode("PROD001").get().getStok());
+            Produk mouse = repository.cariByKode("PROD002").get();
+            assertEquals(5, mouse.getStok());
+            assertEquals(15000025L, mouse.getHargaMinor());
+            assertFalse(mouse.isAktif());
+            assertTrue(repository.cariByKode("PROD003").isEmpty());
+            assertEquals(6, repository.totalStokAktif());
+            assertEquals(90_000_000_00L, repository.totalNilaiAktifMinor());
+        }
+    }
+
+    @Test
+    @DisplayName("Rincian stok per gudang dipulihkan dari log dan snapshot")
+    void testPemulihanStokGudang() throws IOException {
+        try (RepositoryProdukJurnal repository = new RepositoryProdukJurnal(new RepositoryProdukMemori(), folder, 0)) {
+            ServiceInventaris service = new ServiceInventaris(repository);
+            Produk produk = new Produk("PROD001", "Laptop", "Elektronik", 1000, 10, 2);
+            produk.tambahGudang("Jakarta", 5);
+            produk.tambahGudang("Bandung", 20);
+            produk.tambahStok("Bandung", 6);
+            assertTrue(service.tambahProduk(produk));
+            assertTrue(service.keluarStok("PROD001", "Bandung", 2));
+            assertTrue(repository.updateStok("PROD001", 11));
+        }
+        for (int putaran = 0; putaran < 2; putaran++) {
+            try (RepositoryProdukJurnal repository = new RepositoryProdukJurnal(new RepositoryProdukMemori(), folder, 0)) {
+                Produk pulih = repository.cariByKode("PROD001").get();
+                assertEquals(List.of("Jakarta", "Bandung"), pulih.getDaftarGudang());
+                assertEquals(20, pulih.getJarakGudang("Bandung"));
+                // updateStok 14 -> 11 diambil dari gudang terdekat
+                assertEquals(7, pulih.getStok("Jakarta"));
+                assertEquals(4, pulih.getStok("Bandung"));
+                assertEquals(11, pulih.getStok());
+                // Putaran kedua membaca dari snapshot
+                repository.buatSnapshot();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Ekor log yang terpotong (crash saat menulis) dibuang")
+    void testEkorLogRusakDibuang() throws IOException {
+        try (RepositoryProdukJurnal repository = new RepositoryProdukJurnal(new RepositoryProdukMemori(), folder, 0)) {
+            repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 10, 5));
+            repository.updateStok("PROD001", 8);
+        }
+        Path log = folder.resolve(RepositoryProdukJurnal.NAMA_LOG);
+        long ukuranValid = Files.size(log);
+        Files.write(log, new byte[]{0, 0, 0, 40, 3, 1}, StandardOpenOption.APPEND);
+
+        try (RepositoryProdukJurnal repository = new RepositoryProdukJurnal(new RepositoryProdukMemori(), folder, 0)) {
+            assertEquals(8, repository.cariByKode("PROD001").get().getStok());
+            assertEquals(ukuranValid, Files.size(log));
+            repository.updateStok("PROD001", 7);
+        }
+        try (RepositoryProdukJurnal repository = new RepositoryProdukJurnal(new RepositoryProdukMemori(), folder, 0)) {
+            assertEquals(7, repository.cariByKode("PROD001").get().getStok());
+        }
+    }
+
+    @Test
+    @DisplayName("Snapshot rusak dilaporkan, tidak dimuat sebagian")
+    void testSnapshotRusakDitolak() throws IOException {
+        try (RepositoryProdukJurnal repository = new RepositoryProdukJurnal(new RepositoryProdukMemori(), folder, 0)) {
+            repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 10, 5));
+            repository.simpan(new Produk("PROD002", "Mouse", "Elektronik", 500, 3, 5));
+            repository.buatSnapshot();
+        }
+        Path snapshot = folder.resolve(RepositoryProdukJurnal.NAMA_SNAPSHOT);
+        byte[] isi = Files.readAllBytes(snapshot);
+        isi[isi.length - 1] ^= 1;
+        Files.write(snapshot, isi);
+        assertThrows(IOException.class, () -> new RepositoryProdukJurnal(new RepositoryProdukMemori(), folder, 0));
+    }
+
+    @Test
+    @DisplayName("Gagal menulis log menutup jurnal: galat langsung dilempar, delegate tidak berubah lagi")
+    void testGagalTulisMenutupJurnal() throws IOException {
+        RepositoryProdukMemori delegate = new RepositoryProdukMemori();
+        RepositoryProdukJurnal repository = new RepositoryProdukJurnal(delegate, folder, 0);
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 10, 5));
+        repository.log.close();
+
+        assertThrows(UncheckedIOException.class, () -> repository.updateStok("PROD001", 4));
+        assertThrows(UncheckedIOException.class, () -> repository.updateStok("PROD001", 3));
+        assertThrows(UncheckedIOException.class, () -> repository.updateStokBatch(Map.of("PROD001", 2)));
+        // Hanya mutasi pertama (yang entrinya hilang) sempat sampai ke delegate
+        assertEquals(4, delegate.cariByKode("PROD001").get().getStok());
+        assertThrows(UncheckedIOException.class, repository::close);
+
+        try (RepositoryProdukJurnal pulih = new RepositoryProdukJurnal(new RepositoryProdukMemori(), folder, 0)) {
+            assertEquals(10, pulih.cariByKode("PROD001").get().getStok());
+        }
+    }
+
+    @Test
+    @DisplayName("Entri yang gagal dibentuk tidak mengubah delegate dan tidak menutup jurnal")
+    void testEntriGagalDibentuk() throws IOException {
+        RepositoryProdukMemori delegate = new RepositoryProdukMemori();
+        try (RepositoryProdukJurnal repository = new RepositoryProdukJurnal(delegate, folder, 0)) {
+            repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 10, 5));
+            // writeUTF menolak teks > 65535 byte
+            Produk namaPanjang = new Produk("PROD001", "x".repeat(70_000), "Elektronik", 1000, 3, 5);
+            assertThrows(UncheckedIOException.class, () -> repository.simpan(namaPanjang));
+            assertEquals("Laptop", delegate.cariByKode("PROD001").get().getNama());
+            assertEquals(10, delegate.cariByKode("PROD001").get().getStok());
+            assertFalse(repository.simpan(null));
+            assertTrue(repository.updateStok("PROD001", 7));
+        }
+        try (RepositoryProdukJurnal pulih = new RepositoryProdukJurnal(new RepositoryProdukMemori(), folder, 0)) {
+            assertEquals(7, pulih.cariByKode("PROD001").get().getStok());
+            assertEquals("Laptop", pulih.cariByKode("PROD001").get().getNama());
+        }
+    }
+
+    @Test
+    @DisplayName("Snapshot otomatis mengosongkan log dan tetap bisa dipulihkan")
+    void testSnapshotMembatasiLog() throws IOException {
+        try (RepositoryProdukJurnal repository = new RepositoryProdukJurnal(new RepositoryProdukMemori(), folder, 10)) {
+            repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 0, 5));
+            repository.simpan(new Produk("PROD002", "Mouse", null, 500, 0, 5));
+            for (int i = 1; i <= 25; i++) {
+                repository.updateStok("PROD001", i);
+            }
+            assertTrue(Files.exists(folder.resolve(RepositoryProdukJurnal.NAMA_SNAPSHOT)));
+            // 27 entri, snapshot setiap 10 -> tersisa 7 entri di log
+            assertTrue(Files.size(folder.resolve(RepositoryProdukJurnal.NAMA_LOG)) < 7 * 40);
+        }
+        try (RepositoryProdukJurnal repository = new RepositoryProdukJurnal(new RepositoryProdukMemori(), folder, 10)) {
+            assertEquals(25, repository.cariByKode("PROD001").get().getStok());
+            assertNull(repository.cariByKode("PROD002").get().getKategori());
+            assertEquals(2, repository.cariSemua().size());
+        }
+    }
+
+    @Test
+    @DisplayName("Group commit - banyak thread berbagi fsync")
+    void testGroupCommit() throws Exception {
+        int jumlahThread = 32;
+        int updatePerThread = 50;
+        try (RepositoryProdukJurnal repository = new RepositoryProdukJurnal(new RepositoryProdukMemori(), folder, 0)) {
+            for (int t = 0; t < jumlahThread; t++) {
+                repository.simpan(new Produk("SKU" + t, "Produk " + t, "Umum", 1000, 0, 1));
+            }
+            long fsyncAwal = repository.jumlahFsync();
+            CountDownLatch mulai = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(jumlahThread);
+            for (int t = 0; t < jumlahThread; t++) {
+                String kode = "SKU" + t;
+                executor.submit(() -> {
+                    mulai.await();
+                    for (int i = 1; i <= updatePerThread; i++) {
+                        repository.updateStok(kode, i);
+                    }
+                    return null;
+                });
+            }
+            mulai.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+            long fsync = repository.jumlahFsync() - fsyncAwal;
+            assertTrue(fsync < (long) jumlahThread * updatePerThread, "fsync: " + fsync);
+        }
+        try (RepositoryProdukJurnal repository = new RepositoryProdukJurnal(new RepositoryProdukMemori(), folder, 0)) {
+            for (int t = 0; t < jumlahThread; t++) {
+                assertEquals(updatePerThread, repository.cariByKode("SKU" + t).get().getStok());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Update stok batch dicatat dan dipulihkan")
+    void testUpdateStokBatch() throws IOException {
+        try (RepositoryProdukJurnal repository = new RepositoryProdukJurnal(new RepositoryProdukMemori(), folder, 0)) {
+            repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 1000, 1, 5));
+            repository.simpan(new Produk("PROD002", "Mouse", "Elektronik", 500, 1, 5));
+            long fsyncAwal = repository.jumlahFsync();
+            assertEquals(Set.of("PROD001", "PROD002"),
+                    repository.updateStokBatch(Map.of("PROD001", 11, "PROD002", 22, "TIDAKADA", 3)));
+            assertEquals(1, repository.jumlahFsync() - fsyncAwal);
+            assertTrue(repository.updateStokBatch(Map.of("TIDAKADA", 3)).isEmpty());
+        }
+        try (RepositoryProdukJurnal repository = new RepositoryProdukJurnal(new RepositoryProdukMemori(), folder, 0)) {
+            assertEquals(2, repository.cariByKodeBatch(Set.of("PROD001", "PROD002")).size());
+            assertEquals(11, repository.cariByKode("PROD001").get().getStok());
+            assertEquals(22, repository.cariByKode("PROD002").get().getStok());
+            assertEquals(2, repository.cariByKategori("Elektronik").size());
+            assertEquals(1, repository.cariByNama("mouse").size());
+            assertTrue(repository.cariProdukStokMenipis().isEmpty());
+            assertTrue(repository.cariProdukStokHabis().isEmpty());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Produk Kolom")
+public class RepositoryProdukKolomTest extends RepositoryProdukKontrakTest<RepositoryProdukKolom> {
+
+    @Override
+    RepositoryProdukKolom buatRepository() {
+        return new RepositoryProdukKolom();
+    }
+
+    @Test
+    @DisplayName("Id bekas hapus dipakai ulang tanpa membawa data lama")
+    void testIdUlang() {
+        assertEquals(3, repository.jumlahProduk());
+        repository.updateAktif("PROD003", false);
+        assertTrue(repository.hapus("PROD003"));
+        assertEquals(2, repository.jumlahProduk());
+        repository.simpan(new Produk("PROD004", "Kursi", null, 200000, 0, 1));
+        Produk kursi = repository.cariByKode("PROD004").get();
+        assertNull(kursi.getKategori());
+        assertTrue(kursi.isAktif());
+        assertEquals(3, repository.jumlahProduk());
+        assertEquals(10 + 3, repository.totalStokAktif());
+    }
+
+    // =================================================================
+    // AGREGAT KOLOM
+    // =================================================================
+
+    @Test
+    @DisplayName("Agregat disapu dari kolom, termasuk blok bitset penuh")
+    void testAgregat() {
+        assertEquals(13, repository.totalStokAktif());
+        assertEquals(150_450_000.0, repository.totalNilaiAktif(), 0.0);
+
+        repository.updateAktif("PROD002", false);
+        assertEquals(10, repository.totalStokAktif());
+        assertEquals(1_500_000_000_00L / 10, repository.totalNilaiAktifMinor());
+
+        RepositoryProdukKolom besar = new RepositoryProdukKolom();
+        for (int i = 0; i < 3000; i++) {
+            besar.simpan(new Produk(String.format("P%05d", i), "Produk", "Umum", 2, 3, 1));
+        }
+        besar.hapus("P00100");
+        besar.updateAktif("P02000", false);
+        assertEquals(3 * 2998, besar.totalStokAktif());
+        assertEquals(600L * 2998, besar.totalNilaiAktifMinor());
+    }
+
+    @Test
+    @DisplayName("ServiceInventaris memakai agregat kolom")
+    void testLewatService() {
+        ServiceInventaris service = new ServiceInventaris(repository);
+        assertTrue(service.keluarStok("PROD001", 4));
+        assertEquals(6, repository.cariByKode("PROD001").get().getStok());
+        assertEquals(9, service.hitungTotalStok());
+        assertEquals(90_450_000.0, service.hitungTotalNilaiInventaris(), 0.0);
+    }
+}
@@ -0,0 +1,114 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Perilaku RepositoryProduk yang sama untuk semua implementasi yang
+// mengembalikan salinan Produk. Subkelas menyediakan repository kosong dan
+// hanya menambah test khusus implementasinya
+public abstract class RepositoryProdukKontrakTest<R extends RepositoryProduk> {
+    R repository;
+
+    abstract R buatRepository() throws IOException;
+
+    @BeforeEach
+    void setUpKontrak() throws IOException {
+        repository = buatRepository();
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        repository.simpan(new Produk("PROD002", "Mouse Wireless", "Elektronik", 150000, 3, 5));
+        repository.simpan(new Produk("PROD003", "Meja Kayu", "Furnitur", 750000, 0, 2));
+    }
+
+    @AfterEach
+    void tearDownKontrak() throws IOException {
+        if (repository instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    static List<String> kode(List<Produk> produk) {
+        return produk.stream().map(Produk::getKode).sorted().toList();
+    }
+
+    // =================================================================
+    // SIMPAN & CARI
+    // =================================================================
+
+    @Test
+    @DisplayName("Kontrak - simpan dan cari")
+    void testSimpanDanCari() {
+        Produk laptop = repository.cariByKode("PROD001").get();
+        assertEquals("Laptop Gaming", laptop.getNama());
+        assertEquals("Elektronik", laptop.getKategori());
+        assertEquals(1_500_000_000L, laptop.getHargaMinor());
+        assertEquals(10, laptop.getStok());
+        assertEquals(5, laptop.getStokMinimum());
+        assertTrue(laptop.isAktif());
+        assertTrue(repository.cariByKode("TIDAKADA").isEmpty());
+        assertTrue(repository.cariByKode(null).isEmpty());
+        assertFalse(repository.simpan(null));
+        assertFalse(repository.simpan(new Produk()));
+
+        assertEquals(List.of("PROD002"), kode(repository.cariByNama("MOUSE")));
+        assertEquals(List.of("PROD001", "PROD002"), kode(repository.cariByKategori("Elektronik")));
+        assertTrue(repository.cariByNama(null).isEmpty());
+        assertTrue(repository.cariByKategori(null).isEmpty());
+        assertTrue(repository.cariByKategori("TidakAda").isEmpty());
+        assertEquals(List.of("PROD002"), kode(repository.cariProdukStokMenipis()));
+        assertEquals(List.of("PROD003"), kode(repository.cariProdukStokHabis()));
+    }
+
+    @Test
+    @DisplayName("Kontrak - produk hasil cari adalah salinan")
+    void testHasilCariSalinan() {
+        Produk salinan = repository.cariByKode("PROD001").get();
+        salinan.setStok(999);
+        salinan.setNama("Diubah");
+        Produk tersimpan = repository.cariByKode("PROD001").get();
+        assertEquals(10, tersimpan.getStok());
+        assertEquals("Laptop Gaming", tersimpan.getNama());
+    }
+
+    // =================================================================
+    // UPDATE & HAPUS
+    // =================================================================
+
+    @Test
+    @DisplayName("Kontrak - update, hapus dan simpan setelah hapus")
+    void testUpdateDanHapus() {
+        assertTrue(repository.updateStok("PROD003", 1));
+        assertTrue(repository.updateStok("PROD003", 1));
+        assertFalse(repository.updateStok("PROD003", -1));
+        assertFalse(repository.updateStok("TIDAKADA", 1));
+        assertFalse(repository.updateStok(null, 1));
+        assertTrue(repository.updateAktif("PROD001", false));
+        assertTrue(repository.updateAktif("PROD001", false));
+        assertFalse(repository.updateAktif("TIDAKADA", false));
+        assertFalse(repository.updateAktif(null, false));
+        assertFalse(repository.cariByKode("PROD001").get().isAktif());
+        assertEquals(List.of("PROD002", "PROD003"), kode(repository.cariProdukStokMenipis()));
+
+        assertTrue(repository.hapus("PROD003"));
+        assertFalse(repository.hapus("PROD003"));
+        assertFalse(repository.hapus(null));
+        assertTrue(repository.cariByKode("PROD003").isEmpty());
+        assertTrue(repository.cariProdukStokHabis().isEmpty());
+        assertTrue(repository.simpan(new Produk("PROD004", "Kursi", "Furnitur", 200000, 0, 1)));
+        Produk kursi = repository.cariByKode("PROD004").get();
+        assertEquals("Kursi", kursi.getNama());
+        assertTrue(kursi.isAktif());
+        assertEquals(List.of("PROD004"), kode(repository.cariProdukStokHabis()));
+        assertEquals(List.of("PROD001", "PROD002", "PROD004"), kode(repository.cariSemua()));
+        try (Stream<Produk> semua = repository.streamSemua()) {
+            assertEquals(3, semua.count());
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Produk Memori")
+public class RepositoryProdukMemoriTest {
+    private RepositoryProdukMemori repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new RepositoryProdukMemori();
+        repository.simpan(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        repository.simpan(new Produk("PROD002", "Mouse Wireless", "Elektronik", 150000, 3, 5));
+        repository.simpan(new Produk("PROD003", "Meja Kayu", "Furnitur", 750000, 0, 2));
+    }
+
+    // =================================================================
+    // SIMPAN & CARI BY KODE
+    // =================================================================
+
+    @Test
+    @DisplayName("Simpan dan cari by kode - ditemukan, tidak ditemukan, null")
+    void testSimpanDanCariByKode() {
+        assertEquals(3, repository.jumlahProduk());
+        assertEquals("Laptop Gaming", repository.cariByKode("PROD001").get().getNama());
+        assertTrue(repository.cariByKode("TIDAKADA").isEmpty());
+        assertTrue(repository.cariByKode(null).isEmpty());
+        assertFalse(repository.simpan(null));
+        assertFalse(repository.simpan(new Produk()));
+    }
+
+    @Test
+    @DisplayName("Simpan menyimpan salinan - objek pemanggil tidak mengubah indeks dan agregat")
+    void testSimpanMenyimpanSalinan() {
+        Produk kursi = new Produk("PROD004", "Kursi", "Furnitur", 100, 4, 2);
+        repository.simpan(kursi);
+        long totalAwal = repository.totalStokAktif();
+        kursi.setStok(0);
+        kursi.setAktif(false);
+        kursi.setKategori("Lain");
+        assertEquals(4, repository.cariByKode("PROD004").get().getStok());
+        assertEquals(totalAwal, repository.totalStokAktif());
+        assertEquals(2, repository.cariByKategori("Furnitur").size());
+        assertTrue(repository.cariProdukStokHabis().stream().noneMatch(p -> p.getKode().equals("PROD004")));
+    }
+
+    @Test
+    @DisplayName("Simpan ulang kode yang sama - indeks lama diganti")
+    void testSimpanUlangMenggantiIndeks() {
+        repository.simpan(new Produk("PROD002", "Mouse Wireless", "Aksesoris", 150000, 50, 5));
+
+        assertEquals(3, repository.jumlahProduk());
+        assertEquals(1, repository.cariByKategori("Elektronik").size());
+        assertEquals(1, repository.cariByKategori("Aksesoris").size());
+        assertTrue(repository.cariProdukStokMenipis().isEmpty());
+    }
+
+    // =================================================================
+    // INDEKS SEKUNDER
+    // =================================================================
+
+    @Test
+    @DisplayName("Cari by kategori dari indeks")
+    void testCariByKategori() {
+        assertEquals(2, repository.cariByKategori("Elektronik").size());
+        assertEquals(1, repository.cariByKategori("Furnitur").size());
+        assertTrue(repository.cariByKategori("Makanan").isEmpty());
+        assertTrue(repository.cariByKategori(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cari by nama - substring tanpa membedakan huruf besar/kecil")
+    void testCariByNama() {
+        List<Produk> hasil = repository.cariByNama("mouse");
+        assertEquals(1, hasil.size());
+        assertEquals("PROD002", hasil.get(0).getKode());
+        assertTrue(repository.cariByNama(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cari by nama dengan batas dan awalan - mengikuti simpan ulang dan hapus")
+    void testCariByNamaTerindeks() {
+        assertEquals(1, repository.cariByNama("e", 1).size());
+        assertEquals(List.of("PROD003", "PROD002"),
+                repository.cariByAwalanNama("M", 10).stream().map(Produk::getKode).toList());
+
+        repository.simpan(new Produk("PROD002", "Keyboard Mekanik", "Elektronik", 150000, 3, 5));
+        assertTrue(repository.cariByNama("mouse").isEmpty());
+        assertEquals(List.of("PROD002"),
+                repository.cariByAwalanNama("keyb", 10).stream().map(Produk::getKode).toList());
+
+        repository.hapus("PROD001");
+        assertTrue(repository.cariByNama("laptop", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Indeks stok menipis/habis ikut berubah saat updateStok")
+    void testIndeksStokMengikutiUpdateStok() {
+        assertEquals(List.of("PROD002"), repository.cariProdukStokMenipis().stream().map(Produk::getKode).toList());
+        assertEquals(List.of("PROD003"), repository.cariProdukStokHabis().stream().map(Produk::getKode).toList());
+
+        assertTrue(repository.updateStok("PROD001", 0));
+        assertTrue(repository.updateStok("PROD002", 20));
+        assertTrue(repository.updateStok("PROD003", 1));
+
+        assertEquals(List.of("PROD003"), repository.cariProdukStokMenipis().stream().map(Produk::getKode).toList());
+        assertEquals(List.of("PROD001"), repository.cariProdukStokHabis().stream().map(Produk::getKode).toList());
+        assertEquals(0, repository.cariByKode("PROD001").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Update stok gagal - kode tidak ada, null, stok negatif")
+    void testUpdateStokGagal() {
+        assertFalse(repository.updateStok("TIDAKADA", 5));
+        assertFalse(repository.updateStok(null, 5));
+        assertFalse(repository.updateStok("PROD001", -1));
+    }
+
+    // =================================================================
+    // HAPUS
+    // =================================================================
+
+    @Test
+    @DisplayName("Hapus produk - indeks ikut dibersihkan")
+    void testHapus() {
+        assertTrue(repository.hapus("PROD003"));
+        assertFalse(repository.hapus("PROD003"));
+        assertFalse(repository.hapus(null));
+
+        assertTrue(repository.cariByKode("PROD003").isEmpty());
+        assertTrue(repository.cariByKategori("Furnitur").isEmpty());
+        assertTrue(repository.cariProdukStokHabis().isEmpty());
+        assertEquals(2, repository.cariSemua().size());
+    }
+
+    // =================================================================
+    // PAGINASI & STREAM
+    // =================================================================
+
+    @Test
+    @DisplayName("Paginasi keyset urut kode dan stream tanpa salinan")
+    void testPaginasiDanStream() {
+        repository.simpan(new Produk("PROD000", "Kabel", "Elektronik", 10000, 20, 5));
+        assertEquals(List.of("PROD000", "PROD001"),
+                repository.cariSemuaHalaman(null, 2).stream().map(Produk::getKode).toList());
+        assertEquals(List.of("PROD002", "PROD003"),
+                repository.cariSemuaHalaman("PROD001", 2).stream().map(Produk::getKode).toList());
+        assertTrue(repository.cariSemuaHalaman("PROD003", 2).isEmpty());
+        assertTrue(repository.cariSemuaHalaman(null, 0).isEmpty());
+
+        repository.hapus("PROD002");
+        assertEquals(List.of("PROD003"),
+                repository.cariSemuaHalaman("PROD001", 2).stream().map(Produk::getKode).toList());
+
+        try (Stream<Produk> semua = repository.streamSemua()) {
+            assertEquals(3, semua.count());
+        }
+        assertEquals(2, repository.streamByKategori("Elektronik").count());
+        assertEquals(0, repository.streamByKategori(null).count());
+        assertEquals(0, repository.streamStokMenipis().count());
+    }
+
+    // =================================================================
+    // OPERASI BATCH
+    // =================================================================
+
+    @Test
+    @DisplayName("Cari dan update stok batch - kode tidak ada dilewati, indeks dan agregat ikut")
+    void testOperasiBatch() {
+        Map<String, Produk> ditemukan = repository.cariByKodeBatch(Arrays.asList("PROD001", "PROD003", "TIDAKADA", null));
+        assertEquals(Set.of("PROD001", "PROD003"), ditemukan.keySet());
+
+        repository.updateAktif("PROD002", false);
+        Map<String, Integer> stokBaru = new HashMap<>(Map.of("PROD001", 2, "PROD002", 0, "PROD003", 9, "TIDAKADA", 1));
+        stokBaru.put("PROD004", -1);
+        Set<String> berhasil = repository.updateStokBatch(stokBaru);
+        assertEquals(Set.of("PROD001", "PROD002", "PROD003"), berhasil);
+        assertEquals(2, repository.cariByKode("PROD001").get().getStok());
+        assertTrue(repository.cariProdukStokMenipis().contains(repository.cariByKode("PROD001").get()));
+        assertEquals(List.of("PROD002"), repository.cariProdukStokHabis().stream().map(Produk::getKode).toList());
+        // Produk nonaktif tidak ikut agregat: 15jt x 2 + 750rb x 9
+        assertEquals(11, repository.totalStokAktif());
+        assertEquals(36_750_000.0, repository.totalNilaiAktif(), 0.0);
+    }
+
+    // =================================================================
+    // AGREGAT BERTAHAP
+    // =================================================================
+
+    @Test
+    @DisplayName("Agregat stok dan nilai aktif mengikuti simpan, updateStok, updateAktif, hapus")
+    void testAgregatBertahap() {
+        // 15jt x 10 + 150rb x 3 + 750rb x 0
+        assertEquals(13, repository.totalStokAktif());
+        assertEquals(150_450_000.0, repository.totalNilaiAktif(), 0.0);
+
+        repository.updateStok("PROD003", 4);
+        assertEquals(17, repository.totalStokAktif());
+        assertEquals(153_450_000.0, repository.totalNilaiAktif(), 0.0);
+
+        assertTrue(repository.updateAktif("PROD001", false));
+        assertEquals(7, repository.totalStokAktif());
+        assertEquals(3_450_000.0, repository.totalNilaiAktif(), 0.0);
+        assertFalse(repository.updateAktif("TIDAKADA", true));
+        assertFalse(repository.updateAktif(null, true));
+
+        repository.simpan(new Produk("PROD002", "Mouse Wireless", "Elektronik", 200000, 1, 5));
+        assertEquals(5, repository.totalStokAktif());
+        assertEquals(3_200_000.0, repository.totalNilaiAktif(), 0.0);
+
+        repository.hapus("PROD003");
+        repository.hapus("PROD001");
+        assertEquals(1, repository.totalStokAktif());
+        assertEquals(200_000.0, repository.totalNilaiAktif(), 0.0);
+    }
+}
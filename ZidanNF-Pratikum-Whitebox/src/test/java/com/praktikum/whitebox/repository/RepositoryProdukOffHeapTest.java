@@ -0,0 +1,159 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Produk Off-Heap")
+public class RepositoryProdukOffHeapTest extends RepositoryProdukKontrakTest<RepositoryProdukOffHeap> {
+
+    @Override
+    RepositoryProdukOffHeap buatRepository() {
+        return new RepositoryProdukOffHeap();
+    }
+
+    // =================================================================
+    // SIMPAN & CARI
+    // =================================================================
+
+    @Test
+    @DisplayName("Hanya kode yang bisa dikemas yang diterima")
+    void testKodeHarusBisaDikemas() {
+        assertEquals(3, repository.jumlahProduk());
+        assertFalse(repository.simpan(new Produk("KODE-X", "Produk", "Umum", 1000, 1, 1)));
+        assertEquals(3, repository.jumlahProduk());
+    }
+
+    @Test
+    @DisplayName("Simpan ulang - nama lebih pendek ditimpa di tempat, lebih panjang dipindah; nama null/kosong")
+    void testSimpanUlangNama() {
+        repository.simpan(new Produk("PROD001", "Laptop", "Elektronik", 15000000, 10, 5));
+        assertEquals("Laptop", repository.cariByKode("PROD001").get().getNama());
+        repository.simpan(new Produk("PROD001", "Laptop Gaming Ultra Tipis 16 inci", null, 15000000, 10, 5));
+        Produk laptop = repository.cariByKode("PROD001").get();
+        assertEquals("Laptop Gaming Ultra Tipis 16 inci", laptop.getNama());
+        assertNull(laptop.getKategori());
+        assertEquals("Mouse Wireless", repository.cariByKode("PROD002").get().getNama());
+
+        Produk tanpaNama = new Produk("PROD004", null, "Umum", 1000, 1, 1);
+        repository.simpan(tanpaNama);
+        assertNull(repository.cariByKode("PROD004").get().getNama());
+        tanpaNama.setNama("Kopi Susu ☕");
+        repository.simpan(tanpaNama);
+        assertEquals("Kopi Susu ☕", repository.cariByKode("PROD004").get().getNama());
+        tanpaNama.setNama("");
+        repository.simpan(tanpaNama);
+        assertEquals("", repository.cariByKode("PROD004").get().getNama());
+    }
+
+    @Test
+    @DisplayName("getStok membaca record tanpa membentuk Produk; slot bekas hapus dipakai ulang")
+    void testGetStokDanSlotUlang() {
+        assertTrue(repository.updateStok("PROD003", 1));
+        assertEquals(1, repository.getStok("PROD003"));
+        assertEquals(-1, repository.getStok("TIDAKADA"));
+        repository.updateAktif("PROD003", false);
+        assertTrue(repository.hapus("PROD003"));
+        assertEquals(-1, repository.getStok("PROD003"));
+        repository.simpan(new Produk("PROD004", "Kursi", null, 200000, 5, 1));
+        Produk kursi = repository.cariByKode("PROD004").get();
+        assertNull(kursi.getKategori());
+        assertTrue(kursi.isAktif());
+        assertEquals(5, repository.getStok("PROD004"));
+        assertEquals(10 + 3 + 5, repository.totalStokAktif());
+    }
+
+    @Test
+    @DisplayName("Area nama bekas hapus dan bekas nama yang tumbuh dipakai ulang")
+    void testAreaNamaDipakaiUlang() {
+        for (int i = 0; i < 100; i++) {
+            repository.simpan(new Produk("PROD001", "Laptop " + "x".repeat(i), "Elektronik", 1000, 1, 1));
+            assertTrue(repository.hapus("PROD003"));
+            repository.simpan(new Produk("PROD003", "Meja Kayu " + i, "Furnitur", 1000, 0, 2));
+        }
+        // Kelas kapasitas 16..128 byte untuk PROD001 + 16..32 byte untuk yang lain
+        assertTrue(repository.ukuranAreaNama() <= 512, "area nama " + repository.ukuranAreaNama());
+        assertEquals("Laptop " + "x".repeat(99), repository.cariByKode("PROD001").get().getNama());
+        assertEquals("Meja Kayu 99", repository.cariByKode("PROD003").get().getNama());
+        assertEquals("Mouse Wireless", repository.cariByKode("PROD002").get().getNama());
+    }
+
+    // =================================================================
+    // FLYWEIGHT
+    // =================================================================
+
+    @Test
+    @DisplayName("Tampilan flyweight membaca record langsung dan menolak produk yang sudah dihapus")
+    void testTampilan() {
+        RepositoryProdukOffHeap.TampilanProduk tampilan = repository.tampilan();
+        assertThrows(IllegalStateException.class, tampilan::getStok);
+        assertFalse(tampilan.arahkan("TIDAKADA"));
+
+        assertTrue(tampilan.arahkan("PROD002"));
+        assertEquals("PROD002", tampilan.getKode());
+        assertEquals("Mouse Wireless", tampilan.getNama());
+        assertEquals("Elektronik", tampilan.getKategori());
+        assertEquals(15_000_000L, tampilan.getHargaMinor());
+        assertEquals(3, tampilan.getStok());
+        assertEquals(5, tampilan.getStokMinimum());
+        assertTrue(tampilan.isAktif());
+        assertTrue(tampilan.isStokMenipis());
+        assertFalse(tampilan.isStokHabis());
+
+        repository.updateStok("PROD002", 0);
+        assertTrue(tampilan.isStokHabis());
+        assertEquals(repository.cariByKode("PROD002").get().getNama(), tampilan.keProduk().getNama());
+
+        repository.hapus("PROD002");
+        repository.simpan(new Produk("PROD009", "Slot Bekas", "Umum", 1000, 7, 1));
+        assertThrows(IllegalStateException.class, tampilan::getStok);
+
+        List<String> dikunjungi = new ArrayList<>();
+        long[] totalStok = {0};
+        repository.untukSetiap(t -> {
+            dikunjungi.add(t.getKode());
+            totalStok[0] += t.getStok();
+        });
+        assertEquals(List.of("PROD001", "PROD003", "PROD009"), dikunjungi.stream().sorted().toList());
+        assertEquals(17, totalStok[0]);
+    }
+
+    // =================================================================
+    // AGREGAT & SERVICE
+    // =================================================================
+
+    @Test
+    @DisplayName("Agregat disapu dari record, melintasi beberapa blok")
+    void testAgregat() {
+        assertEquals(13, repository.totalStokAktif());
+        assertEquals(150_450_000.0, repository.totalNilaiAktif(), 0.0);
+
+        repository.updateAktif("PROD002", false);
+        assertEquals(10, repository.totalStokAktif());
+        assertEquals(1_500_000_000_00L / 10, repository.totalNilaiAktifMinor());
+
+        RepositoryProdukOffHeap besar = new RepositoryProdukOffHeap();
+        for (int i = 0; i < 70_000; i++) {
+            besar.simpan(new Produk(String.format("P%05d", i), "Produk " + i, "Umum", 2, 3, 1));
+        }
+        besar.hapus("P00100");
+        besar.updateAktif("P69000", false);
+        assertEquals(3L * 69_998, besar.totalStokAktif());
+        assertEquals(600L * 69_998, besar.totalNilaiAktifMinor());
+        assertEquals("Produk 68000", besar.cariByKode("P68000").get().getNama());
+    }
+
+    @Test
+    @DisplayName("ServiceInventaris bekerja di atas repository off-heap")
+    void testLewatService() {
+        ServiceInventaris service = new ServiceInventaris(repository);
+        assertTrue(service.keluarStok("PROD001", 4));
+        assertEquals(6, repository.getStok("PROD001"));
+        assertEquals(9, service.hitungTotalStok());
+        assertEquals(90_450_000.0, service.hitungTotalNilaiInventaris(), 0.0);
+    }
+}
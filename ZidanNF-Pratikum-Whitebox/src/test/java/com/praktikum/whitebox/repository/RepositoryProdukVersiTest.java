@@ -0,0 +1,108 @@
+package com.praktikum.whitebox.repository;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.SnapshotProduk;
+import com.praktikum.whitebox.service.ServiceInventaris;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Repository Produk Berversi (Copy-on-Write)")
+public class RepositoryProdukVersiTest extends RepositoryProdukKontrakTest<RepositoryProdukVersi> {
+
+    @Override
+    RepositoryProdukVersi buatRepository() {
+        return new RepositoryProdukVersi();
+    }
+
+    @Test
+    @DisplayName("Agregat dipelihara bertahap oleh setiap versi")
+    void testAgregatBertahap() {
+        assertEquals(13, repository.totalStokAktif());
+        assertEquals(150_450_000.0, repository.totalNilaiAktif(), 0.0);
+        repository.updateStok("PROD003", 4);
+        repository.updateAktif("PROD001", false);
+        assertEquals(7, repository.totalStokAktif());
+        repository.hapus("PROD002");
+        assertEquals(4, repository.totalStokAktif());
+        assertEquals(300_000_000L, repository.totalNilaiAktifMinor());
+    }
+
+    @Test
+    @DisplayName("Snapshot tidak berubah oleh penulisan berikutnya; produk hasil cari adalah salinan")
+    void testSnapshotTerisolasi() {
+        KatalogVersi sebelum = repository.versi();
+        Produk salinan = repository.cariByKode("PROD001").get();
+        salinan.setStok(999);
+        assertEquals(10, repository.cariByKode("PROD001").get().getStok());
+
+        repository.updateStok("PROD001", 1);
+        repository.hapus("PROD003");
+        KatalogVersi sesudah = repository.versi();
+
+        assertEquals(10, sebelum.cari("PROD001").get().stok());
+        assertTrue(sebelum.cari("PROD003").isPresent());
+        assertEquals(3, sebelum.jumlahProduk());
+        assertEquals(13, sebelum.getTotalStokAktif());
+        assertEquals(1, sesudah.cari("PROD001").map(SnapshotProduk::stok).orElseThrow());
+        assertEquals(2, sesudah.jumlahProduk());
+        assertEquals(sebelum.getNomor() + 2, sesudah.getNomor());
+        // Perubahan yang tidak mengubah apa pun tidak menerbitkan versi baru
+        assertFalse(repository.hapus("TIDAKADA"));
+        assertTrue(repository.updateStok("PROD001", 1));
+        assertTrue(repository.updateAktif("PROD001", true));
+        assertTrue(repository.simpan(repository.cariByKode("PROD002").get()));
+        assertSame(sesudah, repository.versi());
+    }
+
+    @Test
+    @DisplayName("Penulis paralel tidak kehilangan update; pembaca selalu melihat agregat konsisten dengan isi")
+    void testKonkuren() throws Exception {
+        RepositoryProdukVersi repo = new RepositoryProdukVersi();
+        for (int i = 0; i < 100; i++) {
+            repo.simpan(new Produk(String.format("P%03d", i), "Produk", "Umum", 1, 0, 1));
+        }
+        ServiceInventaris service = ServiceInventaris.konkuren(repo);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        AtomicBoolean selesai = new AtomicBoolean();
+        try {
+            Future<Integer> pembaca = executor.submit(() -> {
+                int diperiksa = 0;
+                while (!selesai.get()) {
+                    KatalogVersi versi = repo.versi();
+                    long dihitung;
+                    try (Stream<SnapshotProduk> semua = versi.stream()) {
+                        dihitung = semua.mapToLong(SnapshotProduk::stok).sum();
+                    }
+                    assertEquals(versi.getTotalStokAktif(), dihitung);
+                    diperiksa++;
+                }
+                return diperiksa;
+            });
+            List<Future<?>> penulis = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                penulis.add(executor.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        assertTrue(service.masukStok(String.format("P%03d", i % 100), 1));
+                    }
+                }));
+            }
+            for (Future<?> f : penulis) {
+                f.get();
+            }
+            selesai.set(true);
+            assertTrue(pembaca.get() > 0);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(8000, repo.totalStokAktif());
+        assertEquals(80, repo.cariByKode("P042").get().getStok());
+    }
+}
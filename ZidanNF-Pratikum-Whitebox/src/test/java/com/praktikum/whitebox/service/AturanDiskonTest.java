@@ -0,0 +1,119 @@
+package com.praktikum.whitebox.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Aturan Diskon - Tabel Lookup")
+public class AturanDiskonTest {
+
+    @Test
+    @DisplayName("Aturan bawaan identik dengan cascade if/else lama")
+    void testBawaanSetaraCascadeLama() {
+        AturanDiskon aturan = AturanDiskon.bawaan();
+        String[] tipe = {"PREMIUM", "premium", "Reguler", "BARU", "LAINNYA", null};
+        for (int kuantitas = 1; kuantitas <= 150; kuantitas++) {
+            for (String t : tipe) {
+                double hasil = Math.min(aturan.diskonKuantitas(kuantitas) + aturan.diskonPelanggan(t),
+                        aturan.getDiskonMaksimal());
+                assertEquals(diskonLama(kuantitas, t), hasil, 0.0, kuantitas + "/" + t);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Kode tipe pelanggan - dikenal, tidak dikenal, di luar rentang")
+    void testKodeTipe() {
+        AturanDiskon aturan = AturanDiskon.bawaan();
+        assertEquals(3, aturan.jumlahTipe());
+        int premium = aturan.kodeTipe("premium");
+        assertEquals("PREMIUM", aturan.namaTipe(premium));
+        assertEquals(0.10, aturan.diskonTipe(premium));
+        assertEquals(AturanDiskon.TIPE_TIDAK_DIKENAL, aturan.kodeTipe("VIP"));
+        assertEquals(AturanDiskon.TIPE_TIDAK_DIKENAL, aturan.kodeTipe(null));
+        assertEquals(0.0, aturan.diskonTipe(AturanDiskon.TIPE_TIDAK_DIKENAL));
+        assertEquals(0.0, aturan.diskonTipe(99));
+        assertNull(aturan.namaTipe(99));
+        assertNull(aturan.namaTipe(-1));
+    }
+
+    @Test
+    @DisplayName("Muat aturan dari properties dan file")
+    void testDariProperties(@TempDir Path folder) throws IOException {
+        Path file = folder.resolve("diskon.properties");
+        Files.writeString(file, String.join("\n",
+                "diskon.kuantitas.3=0.04",
+                "diskon.kuantitas.20=0.12",
+                "diskon.pelanggan.vip=0.25",
+                "diskon.maksimal=0.35",
+                "lainnya.diabaikan=1"));
+        AturanDiskon aturan = AturanDiskon.dariFile(file);
+
+        assertEquals(0.0, aturan.diskonKuantitas(2));
+        assertEquals(0.04, aturan.diskonKuantitas(19));
+        assertEquals(0.12, aturan.diskonKuantitas(1000));
+        assertEquals(0.25, aturan.diskonPelanggan("VIP"));
+        assertEquals(0.0, aturan.diskonPelanggan("PREMIUM"));
+        assertEquals(0.35, aturan.getDiskonMaksimal());
+
+        Properties tanpaMaksimal = new Properties();
+        assertEquals(0.30, AturanDiskon.dariProperties(tanpaMaksimal).getDiskonMaksimal());
+    }
+
+    @Test
+    @DisplayName("Konfigurasi tidak valid ditolak")
+    void testKonfigurasiTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new AturanDiskon(Map.of(), Map.of(), 1.5));
+        assertThrows(IllegalArgumentException.class, () -> new AturanDiskon(Map.of(0, 0.1), Map.of(), 0.3));
+        assertThrows(IllegalArgumentException.class, () -> new AturanDiskon(Map.of(5, -0.1), Map.of(), 0.3));
+        assertThrows(IllegalArgumentException.class, () -> new AturanDiskon(Map.of(), Map.of(" ", 0.1), 0.3));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AturanDiskon(Map.of(), Map.of("vip", 0.1, "VIP", 0.2), 0.3));
+
+        Properties rusak = new Properties();
+        rusak.setProperty("diskon.kuantitas.lima", "0.05");
+        assertThrows(IllegalArgumentException.class, () -> AturanDiskon.dariProperties(rusak));
+        Properties maksimalRusak = new Properties();
+        maksimalRusak.setProperty("diskon.maksimal", "tiga puluh");
+        assertThrows(IllegalArgumentException.class, () -> AturanDiskon.dariProperties(maksimalRusak));
+    }
+
+    @Test
+    @DisplayName("Kalkulator memakai aturan yang ditukar saat runtime")
+    void testTukarAturanKalkulator() {
+        KalkulatorDiskon kalkulator = new KalkulatorDiskon();
+        assertEquals(100, kalkulator.hitungDiskon(1000, 1, "PREMIUM"), 0.001);
+
+        kalkulator.setAturan(new AturanDiskon(Map.of(1, 0.5), Map.of(), 0.5));
+        assertEquals(500, kalkulator.hitungDiskon(1000, 1, "PREMIUM"), 0.001);
+        assertEquals(0.5, kalkulator.getAturan().getDiskonMaksimal());
+        assertThrows(IllegalArgumentException.class, () -> kalkulator.setAturan(null));
+    }
+
+    private static double diskonLama(int kuantitas, String tipePelanggan) {
+        double diskon = 0.0;
+        if (kuantitas >= 100) {
+            diskon += 0.20;
+        } else if (kuantitas >= 50) {
+            diskon += 0.15;
+        } else if (kuantitas >= 10) {
+            diskon += 0.10;
+        } else if (kuantitas >= 5) {
+            diskon += 0.05;
+        }
+        if ("PREMIUM".equalsIgnoreCase(tipePelanggan)) {
+            diskon += 0.10;
+        } else if ("REGULER".equalsIgnoreCase(tipePelanggan)) {
+            diskon += 0.05;
+        } else if ("BARU".equalsIgnoreCase(tipePelanggan)) {
+            diskon += 0.02;
+        }
+        return Math.min(diskon, 0.30);
+    }
+}
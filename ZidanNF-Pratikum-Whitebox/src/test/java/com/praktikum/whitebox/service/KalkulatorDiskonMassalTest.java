@@ -0,0 +1,76 @@
+package com.praktikum.whitebox.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Kalkulator Diskon - Jalur Massal")
+public class KalkulatorDiskonMassalTest {
+    private static final String[] TIPE = {"PREMIUM", "REGULER", "BARU", "LAINNYA"};
+
+    @Test
+    @DisplayName("Hasil massal identik dengan hitungDiskon per baris")
+    void testMassalSetaraSkalar() {
+        assertSetaraSkalar(new KalkulatorDiskon());
+    }
+
+    @Test
+    @DisplayName("Tier di atas batas tabel padat memakai binary search")
+    void testMassalTanpaTabelPadat() {
+        assertSetaraSkalar(new KalkulatorDiskon(new AturanDiskon(
+                Map.of(5, 0.05, 200_000, 0.25), Map.of("PREMIUM", 0.10), 0.30)));
+    }
+
+    @Test
+    @DisplayName("Harga setelah diskon massal")
+    void testHargaSetelahDiskonMassal() {
+        KalkulatorDiskon kalkulator = new KalkulatorDiskon();
+        int reguler = kalkulator.getAturan().kodeTipe("REGULER");
+        double[] hasil = new double[1];
+        kalkulator.hitungHargaSetelahDiskonMassal(new double[]{1000}, new int[]{10}, new int[]{reguler}, hasil);
+        assertEquals(8500, hasil[0], 0.001);
+    }
+
+    @Test
+    @DisplayName("Input massal tidak valid ditolak")
+    void testMassalTidakValid() {
+        KalkulatorDiskon kalkulator = new KalkulatorDiskon();
+        double[] keluaran = new double[1];
+        assertThrows(IllegalArgumentException.class, () -> kalkulator.hitungDiskonMassal(
+                new double[]{1000}, new int[]{1, 2}, new int[]{0}, keluaran));
+        assertThrows(IllegalArgumentException.class, () -> kalkulator.hitungDiskonMassal(
+                new double[]{1000}, new int[]{1}, new int[]{0}, new double[2]));
+        assertThrows(IllegalArgumentException.class, () -> kalkulator.hitungDiskonMassal(
+                new double[]{1000}, new int[]{1}, new int[0], keluaran));
+        assertThrows(IllegalArgumentException.class, () -> kalkulator.hitungDiskonMassal(
+                new double[]{0}, new int[]{1}, new int[]{0}, keluaran));
+        assertThrows(IllegalArgumentException.class, () -> kalkulator.hitungDiskonMassal(
+                new double[]{1000}, new int[]{0}, new int[]{0}, keluaran));
+        assertThrows(IllegalArgumentException.class, () -> kalkulator.hitungDiskonMassal(
+                new double[]{1000}, new int[]{1}, new int[]{3}, keluaran));
+        assertThrows(IllegalArgumentException.class, () -> kalkulator.hitungDiskonMassal(
+                new double[]{1000}, new int[]{1}, new int[]{-2}, keluaran));
+    }
+
+    private static void assertSetaraSkalar(KalkulatorDiskon kalkulator) {
+        Random random = new Random(42);
+        int n = 5_000;
+        double[] harga = new double[n];
+        int[] kuantitas = new int[n];
+        int[] kodeTipe = new int[n];
+        String[] namaTipe = new String[n];
+        for (int i = 0; i < n; i++) {
+            harga[i] = 1 + random.nextInt(1_000_000) / 100.0;
+            kuantitas[i] = 1 + random.nextInt(i % 10 == 0 ? 300_000 : 150);
+            namaTipe[i] = TIPE[random.nextInt(TIPE.length)];
+            kodeTipe[i] = kalkulator.getAturan().kodeTipe(namaTipe[i]);
+        }
+        double[] diskon = new double[n];
+        kalkulator.hitungDiskonMassal(harga, kuantitas, kodeTipe, diskon);
+        for (int i = 0; i < n; i++) {
+            assertEquals(kalkulator.hitungDiskon(harga[i], kuantitas[i], namaTipe[i]), diskon[i], 0.0);
+        }
+    }
+}
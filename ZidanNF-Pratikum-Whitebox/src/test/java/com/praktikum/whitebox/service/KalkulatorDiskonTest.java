@@ -110,4 +110,18 @@ public class KalkulatorDiskonTest {
                 "BARU");
         assertTrue(diskon100 > diskon99);
     }
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Test hitung diskon fixed-point - sama dengan double dan eksak")
+    void testHitungDiskonMinor() {
+        // 1000.00 x 10 REGULER = 15% dari 10000.00
+        assertEquals(150_000, kalkulatorDiskon.hitungDiskonMinor(100_000, 10, "REGULER"));
+        assertEquals(850_000, kalkulatorDiskon.hitungHargaSetelahDiskonMinor(100_000, 10, "reguler"));
+        // 0.33 x 3 BARU = 2% dari 0.99 -> 0.0198, dibulatkan 0.02
+        assertEquals(2, kalkulatorDiskon.hitungDiskonMinor(33, 3, "BARU"));
+        assertEquals(0, kalkulatorDiskon.hitungDiskonMinor(100, 1, "LAINNYA"));
+        assertThrows(IllegalArgumentException.class,
+                () -> kalkulatorDiskon.hitungDiskonMinor(0, 1, "BARU"));
+        assertThrows(IllegalArgumentException.class,
+                () -> kalkulatorDiskon.hitungDiskonMinor(100, 0, "BARU"));
+    }
+}
@@ -0,0 +1,263 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.Reservasi;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Reservasi Stok")
+public class ReservasiStokTest {
+    private static final Duration DETIK = Duration.ofSeconds(1);
+
+    private final AtomicLong jam = new AtomicLong(1_000_000_000L);
+    private ServiceInventaris service;
+    private ReservasiStok reservasi;
+
+    @BeforeEach
+    void setUp() {
+        service = ServiceInventaris.konkuren(new RepositoryProdukMemori());
+        service.tambahProduk(new Produk("PROD001", "Mouse", "Elektronik", 150000, 10, 2));
+        reservasi = new ReservasiStok(service, Duration.ofMillis(100), jam::get);
+    }
+
+    private void majukanJam(Duration durasi) {
+        jam.addAndGet(durasi.toNanos());
+    }
+
+    // =================================================================
+    // RESERVASI, KOMIT, LEPAS
+    // =================================================================
+
+    @Test
+    @DisplayName("Reservasi mengurangi stok tersedia, bukan stok produk")
+    void testReservasiMenahanStok() {
+        Reservasi r = reservasi.reservasi("PROD001", 7, DETIK).get();
+        assertEquals("PROD001", r.kode());
+        assertEquals(3, reservasi.getStokTersedia("PROD001"));
+        assertEquals(7, reservasi.getStokTertahan("PROD001"));
+        assertEquals(10, service.cariProdukByKode("PROD001").get().getStok());
+
+        assertTrue(reservasi.reservasi("PROD001", 4, DETIK).isEmpty());
+        assertTrue(reservasi.reservasi("PROD001", 3, DETIK).isPresent());
+        assertEquals(0, reservasi.getStokTersedia("PROD001"));
+    }
+
+    @Test
+    @DisplayName("Komit mengurangi stok sekali; lepas mengembalikan tahanan")
+    void testKomitDanLepas() {
+        Reservasi dikomit = reservasi.reservasi("PROD001", 4, DETIK).get();
+        Reservasi dilepas = reservasi.reservasi("PROD001", 5, DETIK).get();
+
+        assertTrue(reservasi.komit(dikomit.id()));
+        assertFalse(reservasi.komit(dikomit.id()));
+        assertEquals(6, service.cariProdukByKode("PROD001").get().getStok());
+        assertEquals(5, reservasi.getStokTertahan("PROD001"));
+
+        assertTrue(reservasi.lepas(dilepas.id()));
+        assertFalse(reservasi.lepas(dilepas.id()));
+        assertFalse(reservasi.komit(dilepas.id()));
+        assertEquals(6, reservasi.getStokTersedia("PROD001"));
+        assertEquals(0, reservasi.getJumlahReservasiAktif());
+    }
+
+    @Test
+    @DisplayName("Input tidak valid, produk tidak ada atau non-aktif")
+    void testReservasiGagal() {
+        assertTrue(reservasi.reservasi("X", 1, DETIK).isEmpty());
+        assertTrue(reservasi.reservasi("PROD001", 0, DETIK).isEmpty());
+        assertTrue(reservasi.reservasi("PROD001", 1, Duration.ZERO).isEmpty());
+        assertTrue(reservasi.reservasi("TIDAKADA", 1, DETIK).isEmpty());
+        service.ubahStatusAktif("PROD001", false);
+        assertTrue(reservasi.reservasi("PROD001", 1, DETIK).isEmpty());
+        assertEquals(0, reservasi.getStokTersedia("TIDAKADA"));
+        assertThrows(IllegalArgumentException.class, () -> new ReservasiStok(service, Duration.ZERO));
+    }
+
+    // =================================================================
+    // KEDALUWARSA (TIMER WHEEL)
+    // =================================================================
+
+    @Test
+    @DisplayName("Reservasi kedaluwarsa tepat setelah TTL, tidak lebih awal")
+    void testKedaluwarsa() {
+        Reservasi pendek = reservasi.reservasi("PROD001", 3, DETIK).get();
+        Reservasi panjang = reservasi.reservasi("PROD001", 2, Duration.ofMinutes(5)).get();
+
+        majukanJam(Duration.ofMillis(900));
+        assertEquals(0, reservasi.prosesKedaluwarsa());
+        majukanJam(Duration.ofMillis(100));
+        assertEquals(1, reservasi.prosesKedaluwarsa());
+        assertFalse(reservasi.komit(pendek.id()));
+        assertEquals(2, reservasi.getStokTertahan("PROD001"));
+
+        // 5 menit > satu putaran roda (512 x 100ms): harus tetap aktif sampai waktunya
+        majukanJam(Duration.ofSeconds(60));
+        assertEquals(0, reservasi.prosesKedaluwarsa());
+        majukanJam(Duration.ofMinutes(4));
+        assertEquals(1, reservasi.prosesKedaluwarsa());
+        assertFalse(reservasi.lepas(panjang.id()));
+        assertEquals(10, reservasi.getStokTersedia("PROD001"));
+    }
+
+    @Test
+    @DisplayName("Reservasi yang sudah dikomit tidak dilepas lagi saat kedaluwarsa")
+    void testKomitSebelumKedaluwarsa() {
+        Reservasi r = reservasi.reservasi("PROD001", 3, DETIK).get();
+        reservasi.reservasi("PROD001", 1, DETIK);
+        assertTrue(reservasi.komit(r.id()));
+        majukanJam(Duration.ofSeconds(2));
+        assertEquals(1, reservasi.prosesKedaluwarsa());
+        assertEquals(0, reservasi.getStokTertahan("PROD001"));
+        assertEquals(7, reservasi.getStokTersedia("PROD001"));
+    }
+
+    // =================================================================
+    // KONKUREN
+    // =================================================================
+
+    @Test
+    @DisplayName("Reservasi paralel tidak pernah melebihi stok")
+    void testReservasiKonkuren() throws Exception {
+        service.updateStok("PROD001", 1000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> hasil = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                hasil.add(executor.submit(() -> {
+                    int berhasil = 0;
+                    for (int i = 0; i < 500; i++) {
+                        if (reservasi.reservasi("PROD001", 1, DETIK).isPresent()) {
+                            berhasil++;
+                        }
+                    }
+                    return berhasil;
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> f : hasil) {
+                total += f.get();
+            }
+            assertEquals(1000, total);
+            assertEquals(1000, reservasi.getStokTertahan("PROD001"));
+            assertEquals(0, reservasi.getStokTersedia("PROD001"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Reservasi yang menyela komit tidak mendapat unit yang sedang dikomit")
+    void testReservasiMenyelaKomit() throws Exception {
+        AtomicReference<ReservasiStok> acuan = new AtomicReference<>();
+        AtomicReference<Thread> penyela = new AtomicReference<>();
+        AtomicReference<Optional<Reservasi>> hasilSelaan = new AtomicReference<>();
+        ServiceInventaris lambat = new ServiceInventaris(new RepositoryProdukMemori()) {
+            @Override
+            public boolean keluarStok(String kode, int jumlah) {
+                // Reservasi lain dijalankan tepat di tengah komit
+                Thread thread = new Thread(() -> hasilSelaan.set(acuan.get().reservasi(kode, 1, DETIK)));
+                penyela.set(thread);
+                thread.start();
+                try {
+                    thread.join(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.keluarStok(kode, jumlah);
+            }
+        };
+        lambat.tambahProduk(new Produk("PROD001", "Mouse", "Elektronik", 150000, 5, 2));
+        ReservasiStok reservasiLambat = new ReservasiStok(lambat, Duration.ofMillis(100), jam::get);
+        acuan.set(reservasiLambat);
+
+        Reservasi semua = reservasiLambat.reservasi("PROD001", 5, DETIK).get();
+        assertTrue(reservasiLambat.komit(semua.id()));
+        penyela.get().join();
+        assertTrue(hasilSelaan.get().isEmpty());
+        assertEquals(0, lambat.cariProdukByKode("PROD001").get().getStok());
+        assertEquals(0, reservasiLambat.getStokTertahan("PROD001"));
+    }
+
+    @Test
+    @DisplayName("Komit paralel dengan reservasi: setiap reservasi yang diberikan bisa dikomit (tidak oversell)")
+    void testKomitDanReservasiKonkuren() throws Exception {
+        service.updateStok("PROD001", 2000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<int[]>> hasil = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                hasil.add(executor.submit(() -> {
+                    int dikomit = 0;
+                    int gagalKomit = 0;
+                    for (int i = 0; i < 400; i++) {
+                        Optional<Reservasi> r = reservasi.reservasi("PROD001", 1 + i % 3, DETIK);
+                        if (r.isEmpty()) {
+                            continue;
+                        }
+                        if (reservasi.komit(r.get().id())) {
+                            dikomit += r.get().jumlah();
+                        } else {
+                            gagalKomit++;
+                        }
+                    }
+                    return new int[] {dikomit, gagalKomit};
+                }));
+            }
+            int totalDikomit = 0;
+            for (Future<int[]> f : hasil) {
+                int[] h = f.get();
+                totalDikomit += h[0];
+                assertEquals(0, h[1], "reservasi diberikan tetapi stoknya sudah terjual");
+            }
+            assertEquals(2000, totalDikomit);
+            assertEquals(0, service.cariProdukByKode("PROD001").get().getStok());
+            assertEquals(0, reservasi.getStokTertahan("PROD001"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Reservasi yang bersamaan dengan majunya roda tetap kedaluwarsa tepat waktu")
+    void testReservasiSaatRodaMaju() throws Exception {
+        service.updateStok("PROD001", 1_000_000);
+        Duration satuTick = Duration.ofMillis(100);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> pemesan = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                pemesan.add(executor.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        reservasi.reservasi("PROD001", 1, satuTick);
+                    }
+                }));
+            }
+            while (!pemesan.stream().allMatch(Future::isDone)) {
+                majukanJam(satuTick);
+                reservasi.prosesKedaluwarsa();
+            }
+            for (Future<?> f : pemesan) {
+                f.get();
+            }
+            // Beberapa tick saja, jauh di bawah satu putaran roda
+            majukanJam(Duration.ofSeconds(1));
+            reservasi.prosesKedaluwarsa();
+            assertEquals(0, reservasi.getJumlahReservasiAktif());
+            assertEquals(0, reservasi.getStokTertahan("PROD001"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Test Fasad Asinkron Service Inventaris")
+public class ServiceInventarisAsyncTest {
+    private ServiceInventaris service;
+    private ServiceInventarisAsync async;
+
+    @BeforeEach
+    void setUp() {
+        service = ServiceInventaris.konkuren(new RepositoryProdukMemori());
+        service.tambahProduk(new Produk("PROD001", "Mouse", "Elektronik", 150000, 10, 2));
+        service.tambahProduk(new Produk("PROD002", "Keyboard", "Elektronik", 300000, 5, 1));
+        async = new ServiceInventarisAsync(service);
+    }
+
+    @AfterEach
+    void tearDown() {
+        async.close();
+    }
+
+    @Test
+    @DisplayName("Operasi tunggal diteruskan ke service")
+    void testOperasiTunggal() throws Exception {
+        assertEquals("Mouse", async.cariProdukByKode("PROD001").get(5, TimeUnit.SECONDS).get().getNama());
+        assertTrue(async.keluarStok("PROD001", 4).get(5, TimeUnit.SECONDS));
+        assertTrue(async.masukStok("PROD001", 1).get(5, TimeUnit.SECONDS));
+        assertFalse(async.keluarStok("PROD001", 100).get(5, TimeUnit.SECONDS));
+        assertTrue(async.updateStok("PROD002", 9).get(5, TimeUnit.SECONDS));
+        assertEquals(7, service.cariProdukByKode("PROD001").get().getStok());
+        assertEquals(9, service.cariProdukByKode("PROD002").get().getStok());
+    }
+
+    @Test
+    @DisplayName("cariBanyak dan keluarStokBanyak mengembalikan hasil per kode sesuai urutan input")
+    void testOperasiBanyak() throws Exception {
+        Map<String, Optional<Produk>> produk = async.cariBanyak(List.of("PROD002", "TIDAKADA", "PROD001", "PROD002"))
+                .get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("PROD002", "TIDAKADA", "PROD001"), new ArrayList<>(produk.keySet()));
+        assertTrue(produk.get("TIDAKADA").isEmpty());
+
+        Map<String, Integer> jumlah = new LinkedHashMap<>();
+        jumlah.put("PROD001", 3);
+        jumlah.put("PROD002", 50);
+        Map<String, Boolean> hasil = async.keluarStokBanyak(jumlah).get(5, TimeUnit.SECONDS);
+        assertEquals(Map.of("PROD001", true, "PROD002", false), hasil);
+        assertEquals(7, service.cariProdukByKode("PROD001").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Keluar stok paralel dari banyak task tidak pernah menjual melebihi stok")
+    void testKeluarStokKonkuren() {
+        service.updateStok("PROD001", 500);
+        List<CompletableFuture<Boolean>> semua = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            semua.add(async.keluarStok("PROD001", 1));
+        }
+        long berhasil = semua.stream().filter(CompletableFuture::join).count();
+        assertEquals(500, berhasil);
+        assertEquals(0, service.cariProdukByKode("PROD001").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Satu subtugas gagal menggagalkan operasi banyak")
+    void testSubtugasGagal() {
+        RepositoryProduk repo = mock(RepositoryProduk.class);
+        when(repo.cariByKode(anyString())).thenReturn(Optional.empty());
+        when(repo.cariByKode("RUSAK")).thenThrow(new IllegalStateException("Repository tidak tersedia"));
+        try (ServiceInventarisAsync asyncRusak = new ServiceInventarisAsync(new ServiceInventaris(repo))) {
+            CompletionException galat = assertThrows(CompletionException.class,
+                    () -> asyncRusak.cariBanyak(List.of("PROD001", "RUSAK", "PROD002")).join());
+            assertInstanceOf(IllegalStateException.class, galat.getCause());
+        }
+    }
+
+    @Test
+    @DisplayName("Subtugas keluar stok yang belum jalan dilewati setelah satu gagal, hasil per kode tetap ada")
+    void testKeluarStokBanyakGagalSebagian() {
+        ServiceInventaris serviceRusak = new ServiceInventaris(new RepositoryProdukMemori()) {
+            @Override
+            public boolean keluarStok(String kode, int jumlah) {
+                if (kode.equals("RUSAK")) {
+                    throw new IllegalStateException("Repository tidak tersedia");
+                }
+                return super.keluarStok(kode, jumlah);
+            }
+        };
+        serviceRusak.tambahProduk(new Produk("PROD001", "Mouse", "Elektronik", 150000, 10, 2));
+        serviceRusak.tambahProduk(new Produk("PROD002", "Keyboard", "Elektronik", 300000, 5, 1));
+        // Satu thread: urutan eksekusi subtugas mengikuti urutan input
+        ExecutorService satuThread = Executors.newSingleThreadExecutor();
+        try (ServiceInventarisAsync asyncRusak = new ServiceInventarisAsync(serviceRusak, satuThread)) {
+            Map<String, Integer> jumlah = new LinkedHashMap<>();
+            jumlah.put("PROD001", 3);
+            jumlah.put("RUSAK", 1);
+            jumlah.put("PROD002", 2);
+            CompletionException galat = assertThrows(CompletionException.class,
+                    () -> asyncRusak.keluarStokBanyak(jumlah).join());
+            ServiceInventarisAsync.KeluarStokSebagian sebagian =
+                    assertInstanceOf(ServiceInventarisAsync.KeluarStokSebagian.class, galat.getCause());
+            assertInstanceOf(IllegalStateException.class, sebagian.getCause());
+            assertEquals(Map.of("PROD001", true, "RUSAK", false, "PROD002", false), sebagian.getHasil());
+        }
+        assertEquals(7, serviceRusak.cariProdukByKode("PROD001").get().getStok());
+        assertEquals(5, serviceRusak.cariProdukByKode("PROD002").get().getStok());
+    }
+}
@@ -0,0 +1,109 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.MutasiStok;
+import com.praktikum.whitebox.model.PerubahanStatusStok;
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.StatusStok;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Event Perubahan Status Stok")
+public class ServiceInventarisEventTest {
+    private ServiceInventaris service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ServiceInventaris(new RepositoryProdukMemori());
+        service.tambahProduk(new Produk("PROD001", "Mouse", "Elektronik", 150000, 10, 5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.tutupStatusStok();
+    }
+
+    // Pelanggan yang meminta sejumlah event di awal lalu mengumpulkannya
+    private static class Pengumpul implements Flow.Subscriber<PerubahanStatusStok> {
+        final BlockingQueue<PerubahanStatusStok> event = new LinkedBlockingQueue<>();
+        private final long permintaan;
+
+        Pengumpul(long permintaan) {
+            this.permintaan = permintaan;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            if (permintaan > 0) {
+                subscription.request(permintaan);
+            }
+        }
+
+        @Override
+        public void onNext(PerubahanStatusStok item) {
+            event.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        PerubahanStatusStok ambil() throws InterruptedException {
+            return event.poll(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    @DisplayName("Event hanya dikirim saat status stok berpindah")
+    void testTransisiStatus() throws InterruptedException {
+        Pengumpul pengumpul = new Pengumpul(Long.MAX_VALUE);
+        service.langgananStatusStok(pengumpul);
+
+        assertTrue(service.keluarStok("PROD001", 3));
+        assertTrue(service.keluarStok("PROD001", 3));
+        assertEquals(new PerubahanStatusStok("PROD001", StatusStok.AMAN, StatusStok.MENIPIS, 7, 4), pengumpul.ambil());
+
+        assertTrue(service.keluarStok("PROD001", 4));
+        assertEquals(new PerubahanStatusStok("PROD001", StatusStok.MENIPIS, StatusStok.HABIS, 4, 0), pengumpul.ambil());
+
+        assertTrue(service.masukStok("PROD001", 20));
+        assertEquals(StatusStok.AMAN, pengumpul.ambil().sesudah());
+
+        assertTrue(service.updateStok("PROD001", 0));
+        assertEquals(StatusStok.HABIS, pengumpul.ambil().sesudah());
+
+        service.prosesMutasiBatch(List.of(new MutasiStok("PROD001", 2), new MutasiStok("PROD001", 1)));
+        assertEquals(new PerubahanStatusStok("PROD001", StatusStok.HABIS, StatusStok.MENIPIS, 0, 3), pengumpul.ambil());
+
+        // Mutasi gagal tidak menghasilkan event
+        assertFalse(service.keluarStok("PROD001", 100));
+        assertNull(pengumpul.event.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(0, service.getJumlahEventTerbuang());
+    }
+
+    @Test
+    @DisplayName("Pelanggan lambat tidak memblok mutasi - event berlebih dibuang dan dihitung")
+    void testBackPressure() {
+        Pengumpul lambat = new Pengumpul(0);
+        service.langgananStatusStok(lambat);
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(service.updateStok("PROD001", i % 2 == 0 ? 0 : 100));
+        }
+
+        assertTrue(lambat.event.isEmpty());
+        assertTrue(service.getJumlahEventTerbuang() > 0);
+    }
+}
@@ -0,0 +1,76 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Stress Test Service Inventaris Mode Konkuren")
+public class ServiceInventarisKonkurenTest {
+    private static final int JUMLAH_THREAD = 32;
+    private static final int OPERASI_PER_THREAD = 5_000;
+    private static final int JUMLAH_PRODUK = 8;
+    private static final int STOK_AWAL = 1_000;
+
+    @Test
+    @DisplayName("32 thread keluar/masuk stok - tidak ada stok negatif dan update hilang")
+    void testTidakAdaOversellAtauUpdateHilang() throws Exception {
+        RepositoryProdukMemori repository = new RepositoryProdukMemori();
+        for (int i = 0; i < JUMLAH_PRODUK; i++) {
+            repository.simpan(new Produk(kode(i), "Produk " + i, "Umum", 1000, STOK_AWAL, 10));
+        }
+        ServiceInventaris service = ServiceInventaris.konkuren(repository);
+
+        AtomicIntegerArray totalKeluar = new AtomicIntegerArray(JUMLAH_PRODUK);
+        AtomicIntegerArray totalMasuk = new AtomicIntegerArray(JUMLAH_PRODUK);
+        AtomicInteger stokNegatifTerlihat = new AtomicInteger();
+        CountDownLatch mulai = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(JUMLAH_THREAD);
+
+        for (int t = 0; t < JUMLAH_THREAD; t++) {
+            executor.submit(() -> {
+                mulai.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int n = 0; n < OPERASI_PER_THREAD; n++) {
+                    int idx = random.nextInt(JUMLAH_PRODUK);
+                    int jumlah = 1 + random.nextInt(5);
+                    // Dominan keluar agar stok sering habis dan pengecekan oversell teruji
+                    if (random.nextInt(4) == 0) {
+                        if (service.masukStok(kode(idx), jumlah)) {
+                            totalMasuk.addAndGet(idx, jumlah);
+                        }
+                    } else if (service.keluarStok(kode(idx), jumlah)) {
+                        totalKeluar.addAndGet(idx, jumlah);
+                    }
+                    if (repository.cariByKode(kode(idx)).get().getStok() < 0) {
+                        stokNegatifTerlihat.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        mulai.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        assertEquals(0, stokNegatifTerlihat.get());
+        for (int i = 0; i < JUMLAH_PRODUK; i++) {
+            int stokAkhir = repository.cariByKode(kode(i)).get().getStok();
+            assertTrue(stokAkhir >= 0);
+            assertEquals(STOK_AWAL + totalMasuk.get(i) - totalKeluar.get(i), stokAkhir,
+                    "Update stok hilang pada " + kode(i));
+        }
+    }
+
+    private static String kode(int i) {
+        return "SKU" + i;
+    }
+}
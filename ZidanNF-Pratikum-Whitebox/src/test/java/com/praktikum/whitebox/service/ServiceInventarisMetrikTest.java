@@ -0,0 +1,97 @@
+package com.praktikum.whitebox.service;
+
+import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
+import com.praktikum.whitebox.repository.RepositoryProdukTerukur;
+import com.praktikum.whitebox.util.MetrikInventaris;
+import com.praktikum.whitebox.util.MetrikInventaris.HasilOperasi;
+import com.praktikum.whitebox.util.MetrikInventaris.Operasi;
+import com.praktikum.whitebox.util.MetrikInventaris.OperasiRepository;
+import com.praktikum.whitebox.util.MetrikInventarisHistogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Metrik ServiceInventaris")
+public class ServiceInventarisMetrikTest {
+    private MetrikInventarisHistogram metrik;
+    private ServiceInventaris service;
+
+    @BeforeEach
+    void setUp() {
+        metrik = new MetrikInventarisHistogram(1);
+        service = new ServiceInventaris(new RepositoryProdukTerukur(new RepositoryProdukMemori(), metrik));
+        service.setMetrik(metrik);
+        service.tambahProduk(new Produk("PROD001", "Laptop Gaming", "Elektronik", 15000000, 10, 5));
+        service.tambahProduk(new Produk("PROD002", "Mouse Wireless", "Elektronik", 150000, 0, 5));
+        service.ubahStatusAktif("PROD002", false);
+        metrik.reset();
+    }
+
+    @Test
+    @DisplayName("Setiap alasan penolakan dihitung terpisah")
+    void testAlasanPenolakan() {
+        assertTrue(service.keluarStok("PROD001", 3));
+        assertFalse(service.keluarStok("PROD001", 100));
+        assertFalse(service.keluarStok("TIDAKADA", 1));
+        assertFalse(service.keluarStok("PROD002", 1));
+        assertFalse(service.keluarStok("", 1));
+        assertFalse(service.keluarStok("PROD001", 0));
+        assertEquals(Map.of(
+                HasilOperasi.BERHASIL, 1L,
+                HasilOperasi.STOK_TIDAK_CUKUP, 1L,
+                HasilOperasi.TIDAK_DITEMUKAN, 1L,
+                HasilOperasi.TIDAK_AKTIF, 1L,
+                HasilOperasi.KODE_TIDAK_VALID, 1L,
+                HasilOperasi.JUMLAH_TIDAK_VALID, 1L), metrik.getJumlahPerHasil(Operasi.KELUAR_STOK));
+
+        assertFalse(service.masukStok("PROD002", 1));
+        assertFalse(service.updateStok("PROD001", -1));
+        assertFalse(service.tambahProduk(new Produk("PROD001", "Lain", "Elektronik", 1, 1, 1)));
+        assertFalse(service.tambahProduk(null));
+        assertFalse(service.hapusProduk("PROD001"));
+        assertTrue(service.hapusProduk("PROD002"));
+        assertEquals(1, metrik.getJumlah(Operasi.MASUK_STOK, HasilOperasi.TIDAK_AKTIF));
+        assertEquals(1, metrik.getJumlah(Operasi.UPDATE_STOK, HasilOperasi.JUMLAH_TIDAK_VALID));
+        assertEquals(1, metrik.getJumlah(Operasi.TAMBAH_PRODUK, HasilOperasi.SUDAH_ADA));
+        assertEquals(1, metrik.getJumlah(Operasi.TAMBAH_PRODUK, HasilOperasi.PRODUK_TIDAK_VALID));
+        assertEquals(1, metrik.getJumlah(Operasi.HAPUS_PRODUK, HasilOperasi.MASIH_ADA_STOK));
+        assertEquals(1, metrik.getJumlah(Operasi.HAPUS_PRODUK, HasilOperasi.BERHASIL));
+    }
+
+    @Test
+    @DisplayName("Latensi operasi dan panggilan repository tercatat")
+    void testLatensi() {
+        for (int i = 0; i < 5; i++) {
+            service.masukStok("PROD001", 1);
+        }
+        service.updateStok("PROD001", 7);
+        assertEquals(5, metrik.getLatensi(Operasi.MASUK_STOK).jumlah());
+        assertEquals(1, metrik.getLatensi(Operasi.UPDATE_STOK).jumlah());
+        assertTrue(metrik.getLatensi(Operasi.MASUK_STOK).maks() > 0);
+        // Setiap mutasi = satu cariByKode + satu updateStok ke repository
+        assertEquals(6, metrik.getLatensi(OperasiRepository.CARI_BY_KODE).jumlah());
+        assertEquals(6, metrik.getLatensi(OperasiRepository.UPDATE_STOK).jumlah());
+        assertEquals(0, metrik.getLatensi(OperasiRepository.SIMPAN).jumlah());
+        assertEquals(7, service.cariProdukByKode("PROD001").get().getStok());
+    }
+
+    @Test
+    @DisplayName("Tanpa sampel hanya penghitung yang naik; setMetrik(null) mematikan metrik")
+    void testSampelDanNonaktif() {
+        MetrikInventarisHistogram tanpaSampel = new MetrikInventarisHistogram(Integer.MAX_VALUE);
+        service.setMetrik(tanpaSampel);
+        for (int i = 0; i < 100; i++) {
+            service.keluarStok("PROD001", 100);
+        }
+        assertEquals(100, tanpaSampel.getJumlah(Operasi.KELUAR_STOK, HasilOperasi.STOK_TIDAK_CUKUP));
+        assertTrue(tanpaSampel.getLatensi(Operasi.KELUAR_STOK).jumlah() < 100);
+
+        service.setMetrik(null);
+        service.keluarStok("PROD001", 1);
+        assertEquals(100, tanpaSampel.getJumlah(Operasi.KELUAR_STOK));
+        assertFalse(MetrikInventaris.NOOP.sampel());
+    }
+}
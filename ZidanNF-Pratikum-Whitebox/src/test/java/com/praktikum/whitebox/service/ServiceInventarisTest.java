@@ -1,7 +1,11 @@
 package com.praktikum.whitebox.service;
 
+import com.praktikum.whitebox.model.HasilMutasiStok;
+import com.praktikum.whitebox.model.MutasiStok;
 import com.praktikum.whitebox.model.Produk;
+import com.praktikum.whitebox.model.StatusMutasi;
 import com.praktikum.whitebox.repository.RepositoryProduk;
+import com.praktikum.whitebox.repository.RepositoryProdukMemori;
 import com.praktikum.whitebox.util.ValidationUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,10 +15,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -80,6 +89,15 @@ public class ServiceInventarisTest {
         }
     }
 
+    @Test
+    @DisplayName("Tambah produk gagal - harga NaN/tak hingga/terlalu besar ditolak tanpa exception")
+    void testTambahProdukGagalHargaTidakSah() {
+        for (double harga : new double[] {Double.NaN, Double.POSITIVE_INFINITY, 1e20}) {
+            assertFalse(serviceInventaris.tambahProduk(new Produk("PROD001", "Laptop", "Elektronik", harga, 10, 5)));
+        }
+        verify(mockRepositoryProduk, never()).simpan(any(Produk.class));
+    }
+
     // =================================================================
     // HAPUS PRODUK
     // =================================================================
@@ -249,11 +267,23 @@ public class ServiceInventarisTest {
         Produk p3 = new Produk("P3", "C", "Kat3", 1000, 100, 1);
         p3.setAktif(false);
 
-        when(mockRepositoryProduk.cariSemua()).thenReturn(Arrays.asList(p1, p2, p3));
+        when(mockRepositoryProduk.streamSemua()).thenReturn(Stream.of(p1, p2, p3));
 
         assertEquals(17, serviceInventaris.hitungTotalStok());
     }
 
+    @Test
+    @DisplayName("Hitung total stok - total melebihi int tidak dibungkus diam-diam")
+    void testHitungTotalStokMelebihiInt() {
+        RepositoryProdukMemori repository = new RepositoryProdukMemori();
+        repository.simpan(new Produk("P1", "A", "Kat1", 1, Integer.MAX_VALUE, 1));
+        repository.simpan(new Produk("P2", "B", "Kat1", 1, Integer.MAX_VALUE, 1));
+        ServiceInventaris service = new ServiceInventaris(repository);
+
+        assertEquals(2L * Integer.MAX_VALUE, service.hitungTotalStokAktif());
+        assertThrows(ArithmeticException.class, service::hitungTotalStok);
+    }
+
     @Test
     @DisplayName("Hitung total nilai inventaris - melewati filter non-aktif")
     void testHitungTotalNilaiInventaris() {
@@ -262,8 +292,7 @@ public class ServiceInventarisTest {
         Produk p3 = new Produk("P3", "C", "Kat3", 1000, 10, 1);
         p3.setAktif(false);
 
-        List<Produk> semuaProduk = Arrays.asList(p1, p2, p3);
-        when(mockRepositoryProduk.cariSemua()).thenReturn(semuaProduk);
+        when(mockRepositoryProduk.streamSemua()).thenReturn(Stream.of(p1, p2, p3));
 
         double expected = (100 * 2) + (50 * 5);
         assertEquals(450.0, serviceInventaris.hitungTotalNilaiInventaris(), 0.001);
@@ -351,4 +380,181 @@ public class ServiceInventarisTest {
         assertEquals("A1", hasil.get(0).getKode());
         verify(mockRepositoryProduk).cariSemua();
     }
-}
\ No newline at end of file
+
+    // =================================================================
+    // MUTASI STOK BATCH
+    // =================================================================
+
+    @Test
+    @DisplayName("Mutasi batch - status per baris dan satu kali updateStokBatch")
+    void testProsesMutasiBatch() {
+        Produk produkLain = new Produk("PROD003", "Monitor", "Elektronik", 2000000, 4, 1);
+        when(mockRepositoryProduk.cariByKodeBatch(any())).thenReturn(Map.of(
+                "PROD001", produkTest, "PROD002", produkNonAktif, "PROD003", produkLain));
+        when(mockRepositoryProduk.updateStokBatch(any())).thenReturn(Set.of("PROD001"));
+
+        List<HasilMutasiStok> hasil = serviceInventaris.prosesMutasiBatch(Arrays.asList(
+                new MutasiStok("PROD001", -4),
+                new MutasiStok("PROD001", -7),
+                new MutasiStok("PROD001", 5),
+                new MutasiStok("X", 1),
+                new MutasiStok("PROD001", 0),
+                new MutasiStok("PROD002", 1),
+                new MutasiStok("PROD009", 1),
+                new MutasiStok("PROD003", 2),
+                null));
+
+        assertEquals(StatusMutasi.BERHASIL, hasil.get(0).status());
+        assertEquals(StatusMutasi.STOK_TIDAK_CUKUP, hasil.get(1).status());
+        assertTrue(hasil.get(2).isBerhasil());
+        assertEquals(StatusMutasi.KODE_TIDAK_VALID, hasil.get(3).status());
+        assertEquals(StatusMutasi.JUMLAH_TIDAK_VALID, hasil.get(4).status());
+        assertEquals(StatusMutasi.TIDAK_AKTIF, hasil.get(5).status());
+        assertEquals(StatusMutasi.TIDAK_DITEMUKAN, hasil.get(6).status());
+        assertEquals(StatusMutasi.GAGAL_DISIMPAN, hasil.get(7).status());
+        assertEquals(StatusMutasi.KODE_TIDAK_VALID, hasil.get(8).status());
+        // 10 - 4 + 5 = 11; PROD003 4 + 2 = 6
+        verify(mockRepositoryProduk).updateStokBatch(Map.of("PROD001", 11, "PROD003", 6));
+        verify(mockRepositoryProduk, never()).cariByKode(anyString());
+        verify(mockRepositoryProduk, never()).updateStok(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Mutasi batch - daftar kosong dan semua baris ditolak")
+    void testProsesMutasiBatchTanpaPerubahan() {
+        assertTrue(serviceInventaris.prosesMutasiBatch(null).isEmpty());
+        assertTrue(serviceInventaris.prosesMutasiBatch(Collections.emptyList()).isEmpty());
+
+        when(mockRepositoryProduk.cariByKodeBatch(any())).thenReturn(Map.of("PROD001", produkTest));
+        List<HasilMutasiStok> hasil = serviceInventaris.prosesMutasiBatch(
+                List.of(new MutasiStok("PROD001", -11), new MutasiStok("PROD001", Integer.MAX_VALUE)));
+
+        assertEquals(StatusMutasi.STOK_TIDAK_CUKUP, hasil.get(0).status());
+        assertEquals(StatusMutasi.JUMLAH_TIDAK_VALID, hasil.get(1).status());
+        verify(mockRepositoryProduk, never()).updateStokBatch(any());
+    }
+
+    // =================================================================
+    // STATUS AKTIF & AGREGAT
+    // =================================================================
+
+    @Test
+    @DisplayName("Ubah status aktif - kode tidak valid dan diteruskan ke repository")
+    void testUbahStatusAktif() {
+        assertFalse(serviceInventaris.ubahStatusAktif("X", false));
+        when(mockRepositoryProduk.updateAktif("PROD001", false)).thenReturn(true);
+        assertTrue(serviceInventaris.ubahStatusAktif("PROD001", false));
+        verify(mockRepositoryProduk).updateAktif("PROD001", false);
+    }
+
+    @Test
+    @DisplayName("Total stok dan nilai dari agregat repository tanpa cariSemua")
+    void testHitungTotalDariAgregat() {
+        RepositoryProdukMemori repository = spy(new RepositoryProdukMemori());
+        ServiceInventaris service = new ServiceInventaris(repository);
+        service.tambahProduk(new Produk("P01", "Mouse", "Elektronik", 100, 2, 1));
+        service.tambahProduk(new Produk("P02", "Keyboard", "Elektronik", 50, 5, 1));
+        service.tambahProduk(new Produk("P03", "Monitor", "Elektronik", 1000, 10, 1));
+        service.ubahStatusAktif("P03", false);
+        service.keluarStok("P02", 1);
+
+        assertEquals(6, service.hitungTotalStok());
+        assertEquals(400.0, service.hitungTotalNilaiInventaris(), 0.0);
+        verify(repository, never()).cariSemua();
+    }
+
+    @Test
+    @DisplayName("Total nilai inventaris minor - eksak lewat jalur scan")
+    void testHitungTotalNilaiInventarisMinor() {
+        Produk p1 = new Produk("P1", "Permen", "Makanan", 0.10, 3, 1);
+        Produk p2 = new Produk("P2", "Coklat", "Makanan", 0.20, 1, 1);
+        Produk p3 = new Produk("P3", "Roti", "Makanan", 5.00, 10, 1);
+        p3.setAktif(false);
+        when(mockRepositoryProduk.streamSemua()).thenAnswer(inv -> Stream.of(p1, p2, p3));
+
+        assertEquals(50, serviceInventaris.hitungTotalNilaiInventarisMinor());
+        assertEquals(0.50, serviceInventaris.hitungTotalNilaiInventaris());
+    }
+
+    @Test
+    @DisplayName("Paginasi keyset produk aktif - melewati produk non-aktif lintas halaman")
+    void testGetProdukAktifHalaman() {
+        RepositoryProdukMemori repository = new RepositoryProdukMemori();
+        ServiceInventaris service = new ServiceInventaris(repository);
+        for (int i = 1; i <= 7; i++) {
+            service.tambahProduk(new Produk("P0" + i, "Produk " + i, "Umum", 100, 5, 1));
+        }
+        service.ubahStatusAktif("P02", false);
+        service.ubahStatusAktif("P03", false);
+
+        List<Produk> halaman1 = service.getProdukAktifHalaman(null, 3);
+        assertEquals(List.of("P01", "P04", "P05"), halaman1.stream().map(Produk::getKode).toList());
+        List<Produk> halaman2 = service.getProdukAktifHalaman("P05", 3);
+        assertEquals(List.of("P06", "P07"), halaman2.stream().map(Produk::getKode).toList());
+        assertTrue(service.getProdukAktifHalaman("P07", 3).isEmpty());
+
+        assertEquals(List.of("P02", "P03"),
+                service.getSemuaProdukHalaman("P01", 2).stream().map(Produk::getKode).toList());
+        try (Stream<Produk> aktif = service.streamProdukAktif()) {
+            assertEquals(5, aktif.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Multi gudang - keluar stok dari gudang terdekat, gudang tertentu, dan rincian alokasi")
+    void testKeluarStokMultiGudang() {
+        RepositoryProdukMemori repository = new RepositoryProdukMemori();
+        ServiceInventaris service = new ServiceInventaris(repository);
+        Produk produk = new Produk("PROD001", "Mouse", "Elektronik", 150000, 0, 3);
+        produk.tambahGudang("SBY", 30);
+        produk.tambahGudang("JKT", 0);
+        produk.tambahStok("JKT", 4);
+        produk.tambahStok("SBY", 10);
+        service.tambahProduk(produk);
+
+        assertTrue(service.keluarStok("PROD001", 3));
+        assertEquals(1, service.cariProdukByKode("PROD001").get().getStok("JKT"));
+
+        assertEquals(Map.of("JKT", 1, "SBY", 4), service.alokasiKeluarStok("PROD001", 5));
+        assertTrue(service.keluarStok("PROD001", "SBY", 6));
+        assertFalse(service.keluarStok("PROD001", "SBY", 1));
+        assertFalse(service.keluarStok("PROD001", "BDG", 1));
+        assertTrue(service.alokasiKeluarStok("PROD001", 1).isEmpty());
+
+        Produk tersimpan = service.cariProdukByKode("PROD001").get();
+        assertEquals(0, tersimpan.getStok());
+        assertTrue(tersimpan.isStokHabis("JKT"));
+        assertEquals(0, service.hitungTotalStok());
+        assertEquals(1, repository.cariProdukStokHabis().size());
+    }
+
+    @Test
+    @DisplayName("Agregasi paralel opt-in - hasil identik dengan jalur sekuensial")
+    void testAgregasiParalel() {
+        List<Produk> katalog = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            Produk produk = new Produk("P" + i, "Produk", "Umum", 0.01 * (i % 997) + 0.10, i % 13, 1);
+            produk.setAktif(i % 7 != 0);
+            katalog.add(produk);
+        }
+        when(mockRepositoryProduk.streamSemua()).thenAnswer(inv -> katalog.stream());
+        when(mockRepositoryProduk.cariSemua()).thenReturn(katalog);
+
+        long nilaiSekuensial = serviceInventaris.hitungTotalNilaiInventarisMinor();
+        int stokSekuensial = serviceInventaris.hitungTotalStok();
+        int jumlahAktif = serviceInventaris.getProdukAktif().size();
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            serviceInventaris.setPoolAgregasi(pool);
+            for (int ulang = 0; ulang < 5; ulang++) {
+                assertEquals(nilaiSekuensial, serviceInventaris.hitungTotalNilaiInventarisMinor());
+                assertEquals(stokSekuensial, serviceInventaris.hitungTotalStok());
+                assertEquals(jumlahAktif, serviceInventaris.getProdukAktif().size());
+            }
+        } finally {
+            serviceInventaris.setPoolAgregasi(null);
+            pool.shutdown();
+        }
+    }
+}
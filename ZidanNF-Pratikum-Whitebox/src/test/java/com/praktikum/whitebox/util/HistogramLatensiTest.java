@@ -0,0 +1,101 @@
+package com.praktikum.whitebox.util;
+
+import com.praktikum.whitebox.util.MetrikInventaris.HasilOperasi;
+import com.praktikum.whitebox.util.MetrikInventaris.Operasi;
+import com.praktikum.whitebox.util.MetrikInventaris.OperasiRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Histogram Latensi")
+public class HistogramLatensiTest {
+
+    @Test
+    @DisplayName("Bucket menutup seluruh rentang long dengan galat relatif <= 1/64")
+    void testBucket() {
+        for (long nilai = 0; nilai < 64; nilai++) {
+            assertEquals(nilai, HistogramLatensi.batasAtas(HistogramLatensi.indeks(nilai)));
+        }
+        Random random = new Random(3);
+        for (int i = 0; i < 100_000; i++) {
+            long nilai = random.nextLong() >>> (1 + random.nextInt(63));
+            long batas = HistogramLatensi.batasAtas(HistogramLatensi.indeks(nilai));
+            assertTrue(batas >= nilai);
+            assertTrue(batas - nilai <= nilai / 64, () -> "nilai " + nilai + " batas " + batas);
+        }
+        assertEquals(Long.MAX_VALUE, HistogramLatensi.batasAtas(HistogramLatensi.indeks(Long.MAX_VALUE)));
+        // Indeks naik monoton terhadap nilai
+        assertTrue(HistogramLatensi.indeks(127) < HistogramLatensi.indeks(128));
+        assertEquals(HistogramLatensi.indeks(128), HistogramLatensi.indeks(129));
+    }
+
+    @Test
+    @DisplayName("Persentil dari 1..10000 sesuai dalam galat bucket")
+    void testRingkasan() {
+        HistogramLatensi histogram = new HistogramLatensi();
+        assertEquals(RingkasanLatensi.KOSONG, histogram.ringkasan());
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.catat(i);
+        }
+        histogram.catat(-5);
+        RingkasanLatensi ringkasan = histogram.ringkasan();
+        assertEquals(10_001, ringkasan.jumlah());
+        assertEquals(5_000, ringkasan.p50(), 5_000 / 64.0);
+        assertEquals(9_000, ringkasan.p90(), 9_000 / 64.0);
+        assertEquals(9_900, ringkasan.p99(), 9_900 / 64.0);
+        assertEquals(9_990, ringkasan.p999(), 9_990 / 64.0);
+        assertEquals(10_000, ringkasan.maks(), 10_000 / 64.0);
+        histogram.reset();
+        assertEquals(0, histogram.ringkasan().jumlah());
+    }
+
+    @Test
+    @DisplayName("Metrik menghitung setiap status tetapi hanya mencatat latensi yang diukur")
+    void testMetrikHistogram() {
+        MetrikInventarisHistogram metrik = new MetrikInventarisHistogram(1);
+        assertTrue(metrik.sampel());
+        metrik.catatOperasi(Operasi.KELUAR_STOK, HasilOperasi.BERHASIL, 100);
+        metrik.catatOperasi(Operasi.KELUAR_STOK, HasilOperasi.STOK_TIDAK_CUKUP, MetrikInventaris.TIDAK_DIUKUR);
+        metrik.catatRepository(OperasiRepository.CARI_BY_KODE, 40);
+        assertEquals(2, metrik.getJumlah(Operasi.KELUAR_STOK));
+        assertEquals(1, metrik.getLatensi(Operasi.KELUAR_STOK).jumlah());
+        assertEquals(40, metrik.getLatensi(OperasiRepository.CARI_BY_KODE).maks());
+        metrik.reset();
+        assertEquals(0, metrik.getJumlah(Operasi.KELUAR_STOK));
+
+        // Sampling 1 dari 8 mendekati 1/8 panggilan
+        MetrikInventarisHistogram jarang = new MetrikInventarisHistogram(8);
+        int disampel = 0;
+        for (int i = 0; i < 80_000; i++) {
+            if (jarang.sampel()) {
+                disampel++;
+            }
+        }
+        assertEquals(10_000, disampel, 1_000);
+        assertThrows(IllegalArgumentException.class, () -> new MetrikInventarisHistogram(0));
+    }
+
+    @Test
+    @DisplayName("Hitungan dari thread yang sudah selesai tetap terjumlah setelah daftar disapu")
+    void testMetrikBanyakThread() throws InterruptedException {
+        MetrikInventarisHistogram metrik = new MetrikInventarisHistogram();
+        metrik.catatOperasi(Operasi.MASUK_STOK, HasilOperasi.BERHASIL, MetrikInventaris.TIDAK_DIUKUR);
+        metrik.reset();
+        // Lebih dari batas sapu awal (64) agar thread selesai ikut dilipat
+        for (int i = 0; i < 200; i++) {
+            Thread thread = new Thread(() -> {
+                metrik.sampel();
+                metrik.catatOperasi(Operasi.MASUK_STOK, HasilOperasi.BERHASIL, MetrikInventaris.TIDAK_DIUKUR);
+                metrik.catatOperasi(Operasi.MASUK_STOK, HasilOperasi.TIDAK_AKTIF, MetrikInventaris.TIDAK_DIUKUR);
+            });
+            thread.start();
+            thread.join();
+        }
+        metrik.catatOperasi(Operasi.MASUK_STOK, HasilOperasi.BERHASIL, MetrikInventaris.TIDAK_DIUKUR);
+        assertEquals(201, metrik.getJumlah(Operasi.MASUK_STOK, HasilOperasi.BERHASIL));
+        assertEquals(200, metrik.getJumlah(Operasi.MASUK_STOK, HasilOperasi.TIDAK_AKTIF));
+        metrik.reset();
+        assertEquals(0, metrik.getJumlah(Operasi.MASUK_STOK));
+    }
+}
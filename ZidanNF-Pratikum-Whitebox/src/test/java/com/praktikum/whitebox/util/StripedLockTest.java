@@ -0,0 +1,46 @@
+package com.praktikum.whitebox.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Striped Lock")
+public class StripedLockTest {
+
+    @Test
+    @DisplayName("Jumlah stripe dibulatkan ke pangkat dua")
+    void testJumlahStripeDibulatkan() {
+        assertEquals(1, new StripedLock(1).jumlahStripe());
+        assertEquals(2, new StripedLock(2).jumlahStripe());
+        assertEquals(8, new StripedLock(5).jumlahStripe());
+        assertEquals(64, new StripedLock(64).jumlahStripe());
+    }
+
+    @Test
+    @DisplayName("Kode yang sama selalu mendapat lock yang sama")
+    void testKodeSamaLockSama() {
+        StripedLock kunci = new StripedLock(16);
+        assertSame(kunci.get("PROD001"), kunci.get("PROD001"));
+        assertSame(kunci.get(null), kunci.get(null));
+    }
+
+    @Test
+    @DisplayName("Jumlah stripe tidak valid ditolak")
+    void testJumlahStripeTidakValid() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedLock(0));
+        assertThrows(IllegalArgumentException.class, () -> new StripedLock(-4));
+    }
+
+    @Test
+    @DisplayName("getSemua - tanpa duplikat dan berurutan stabil")
+    void testGetSemua() {
+        StripedLock kunci = new StripedLock(4);
+        List<ReentrantLock> locks = kunci.getSemua(List.of("A", "B", "C", "D", "E", "A"));
+        assertTrue(locks.size() <= 4);
+        assertEquals(locks.size(), locks.stream().distinct().count());
+        assertEquals(locks, kunci.getSemua(List.of("E", "D", "C", "B", "A")));
+        assertEquals(List.of(kunci.get("A")), kunci.getSemua(List.of("A", "A")));
+    }
+}
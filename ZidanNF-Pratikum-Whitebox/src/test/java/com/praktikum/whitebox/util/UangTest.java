@@ -0,0 +1,61 @@
+package com.praktikum.whitebox.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Test Uang Fixed-Point")
+public class UangTest {
+
+    @Test
+    @DisplayName("Konversi mayor <-> minor dan pembulatan")
+    void testKonversi() {
+        assertEquals(123456, Uang.dariMayor(1234.56));
+        assertEquals(10, Uang.dariMayor(0.1));
+        assertEquals(-250, Uang.dariMayor(-2.5));
+        assertEquals(1234.56, Uang.keMayor(123456));
+        assertThrows(IllegalArgumentException.class, () -> Uang.dariMayor(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> Uang.dariMayor(Double.POSITIVE_INFINITY));
+        assertThrows(ArithmeticException.class, () -> Uang.dariMayor(1e18));
+        assertThrows(ArithmeticException.class, () -> Uang.dariMayor(-1e18));
+
+        assertEquals(123456, Uang.dariMayorAtauTidakSah(1234.56));
+        assertEquals(Uang.TIDAK_SAH, Uang.dariMayorAtauTidakSah(Double.NaN));
+        assertEquals(Uang.TIDAK_SAH, Uang.dariMayorAtauTidakSah(Double.NEGATIVE_INFINITY));
+        assertEquals(Uang.TIDAK_SAH, Uang.dariMayorAtauTidakSah(1e18));
+        assertEquals(Uang.TIDAK_SAH, Uang.dariMayorAtauTidakSah(-1e18));
+        assertTrue(Double.isNaN(Uang.keMayor(Uang.TIDAK_SAH)));
+    }
+
+    @Test
+    @DisplayName("Penjumlahan 0.10 sejuta kali tetap eksak")
+    void testTidakAdaDrift() {
+        long total = 0;
+        double totalDouble = 0;
+        for (int i = 0; i < 1_000_000; i++) {
+            total = Uang.tambah(total, Uang.dariMayor(0.10));
+            totalDouble += 0.10;
+        }
+        assertEquals(100_000.0, Uang.keMayor(total));
+        assertNotEquals(100_000.0, totalDouble);
+    }
+
+    @Test
+    @DisplayName("Persen basis poin dibulatkan setengah menjauhi nol")
+    void testPersen() {
+        assertEquals(150, Uang.persen(1000, 1500));
+        assertEquals(1, Uang.persen(5, 1000));
+        assertEquals(-1, Uang.persen(-5, 1000));
+        assertEquals(0, Uang.persen(4, 1000));
+        assertEquals(1500, Uang.keBasisPoin(0.15));
+        assertEquals(3000, Uang.keBasisPoin(0.1 + 0.2));
+    }
+
+    @Test
+    @DisplayName("Overflow dilempar, tidak dibungkus")
+    void testOverflow() {
+        assertThrows(ArithmeticException.class, () -> Uang.kali(Long.MAX_VALUE, 2));
+        assertThrows(ArithmeticException.class, () -> Uang.tambah(Long.MAX_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> Uang.persen(Long.MAX_VALUE / 2, 10_000));
+    }
+}
@@ -32,6 +32,17 @@ public class ValidationUtilsTest {
         assertFalse(ValidationUtils.isValidKodeProduk("KODE*"));
     }
 
+    // Validator pindai-karakter harus identik dengan versi regex lama
+    @Test
+    void testIsValidKodeProduk_SetaraDenganRegex() {
+        String[] sampel = {"ABC", " ABC ", "\tKODE12\n", "A B C", "AB", " AB ", "ABCDEFGHIJ",
+                "ABCDEFGHIJK", "  ABCDEFGHIJ  ", "kode-1", "KÖDE1", "١٢٣٤", "abc\u0000", "\u0000abc", "A_1"};
+        for (String kode : sampel) {
+            boolean regex = kode.trim().matches("^[A-Za-z0-9]{3,10}$");
+            assertEquals(regex, ValidationUtils.isValidKodeProduk(kode), "Kode: " + kode);
+        }
+    }
+
     // ----------- isValidNama (Target Boundary Value) -----------
     @Test
     void testIsValidNama_ValidDanBoundary() {